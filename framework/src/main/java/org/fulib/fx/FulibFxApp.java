@@ -3,9 +3,7 @@ package org.fulib.fx;
 import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.disposables.DisposableContainer;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -14,9 +12,13 @@ import javafx.stage.Stage;
 import javafx.util.Pair;
 import org.fulib.fx.annotation.controller.Component;
 import org.fulib.fx.controller.AutoRefresher;
+import org.fulib.fx.controller.LeakDetector;
+import org.fulib.fx.controller.LifecycleScope;
 import org.fulib.fx.dagger.DaggerFrameworkComponent;
 import org.fulib.fx.dagger.FrameworkComponent;
 import org.fulib.fx.data.Either;
+import org.fulib.fx.scheduler.BatchingFxExecutor;
+import org.fulib.fx.scheduler.FxPriority;
 import org.fulib.fx.util.ControllerUtil;
 import org.fulib.fx.util.ReflectionUtil;
 import org.jetbrains.annotations.ApiStatus;
@@ -40,7 +42,12 @@ import static org.fulib.fx.util.FrameworkUtil.error;
  */
 public abstract class FulibFxApp extends Application {
 
-    public static final Scheduler FX_SCHEDULER = Schedulers.from(Platform::runLater);
+    /**
+     * The executor running tasks on the FX thread. Tasks are executed in batches, see {@link BatchingFxExecutor}.
+     * Use {@link BatchingFxExecutor#scheduler(FxPriority)} for scheduling tasks with a different priority.
+     */
+    public static final BatchingFxExecutor FX_EXECUTOR = new BatchingFxExecutor();
+    public static final Scheduler FX_SCHEDULER = FX_EXECUTOR.scheduler(FxPriority.NORMAL);
     public static final Logger LOGGER = Logger.getLogger(FulibFxApp.class.getName());
 
     private static Path resourcesPath = Path.of("src/main/resources");
@@ -202,6 +209,9 @@ public abstract class FulibFxApp extends Application {
 
         this.frameworkComponent = DaggerFrameworkComponent.builder().framework(this).build();
 
+        // Let background tasks yield to user input
+        FX_EXECUTOR.trackInput();
+
         Scene scene = new Scene(new Pane()); // Show default scene
 
         this.stage.setScene(scene);
@@ -248,6 +258,7 @@ public abstract class FulibFxApp extends Application {
         }
         // Render the new controller and check if it's a parent
         cleanup();
+        this.frameworkComponent.leakDetector().setCurrentRoute(null);
         Node renderedNode = this.frameworkComponent().controllerManager().initAndRender(controller, params);
         if (!(renderedNode instanceof Parent renderedParent)) {
             throw new IllegalArgumentException(error(1011).formatted(controller.getClass().getName()));
@@ -268,6 +279,7 @@ public abstract class FulibFxApp extends Application {
     public @NotNull Parent show(@NotNull String route, @NotNull Map<@NotNull String, @Nullable Object> params) {
         // Get the controller instance and display it (most logic is in renderRoute)
         cleanup();
+        this.frameworkComponent.leakDetector().setCurrentRoute(route);
         Pair<Object, Parent> rendered = this.frameworkComponent.router().renderRoute(route, params);
         prepareDisplay(route, rendered.getValue(), rendered.getKey(), params);
         return rendered.getValue();
@@ -366,6 +378,34 @@ public abstract class FulibFxApp extends Application {
         return this.frameworkComponent.autoRefresher();
     }
 
+    /**
+     * Returns the leak detector of the application.
+     *
+     * @return The leak detector of the application
+     */
+    public LeakDetector leakDetector() {
+        return this.frameworkComponent.leakDetector();
+    }
+
+    /**
+     * Returns the lifecycle scope of an initialized controller/component, which can be used for diagnostics.
+     *
+     * @param instance The controller/component instance
+     * @return The scope or null if the instance is not initialized
+     */
+    public @Nullable LifecycleScope scope(@NotNull Object instance) {
+        return this.frameworkComponent.controllerManager().getScope(instance);
+    }
+
+    /**
+     * Returns the root of the lifecycle scope tree, containing the scopes of all initialized controllers.
+     *
+     * @return The root scope
+     */
+    public @NotNull LifecycleScope rootScope() {
+        return this.frameworkComponent.controllerManager().getRootScope();
+    }
+
     /**
      * Returns to the previous controller in the history if possible.
      *
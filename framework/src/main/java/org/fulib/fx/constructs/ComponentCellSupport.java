@@ -0,0 +1,185 @@
+package org.fulib.fx.constructs;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Parent;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.data.LayeredMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Provider;
+import java.util.Map;
+
+/**
+ * Manages the component displayed by a cell of a virtualized control (list, table, tree or tree table).
+ * <p>
+ * The component is created using a provider or acquired from a {@link ComponentPool} and initialized and rendered like every other component.
+ * If the component implements {@link ReusableItemComponent}, it is kept when the cell is rebound to another item and updated using {@link ReusableItemComponent#setItem(Object)}.
+ * Otherwise, it will be destroyed (or released to the pool) and recreated when the item changes.
+ * <p>
+ * Disposing the support releases the current component, so that cells can be cleaned up deterministically
+ * (e.g. when the controller containing the control is destroyed).
+ *
+ * @param <Item>      The type of the items of the cell
+ * @param <Component> The type of the component to display for the items
+ */
+public class ComponentCellSupport<Item, Component extends Parent> implements Disposable {
+
+    private final FulibFxApp app;
+    private final Provider<? extends Component> provider;
+    private final ComponentPool<? extends Component> pool;
+    private final Map<String, Object> extraParams; // extra parameters to pass to the component
+
+    private Component component;
+    private boolean disposed;
+
+    /**
+     * Creates a new cell support creating the components using a provider.
+     *
+     * @param app         The FulibFX app
+     * @param provider    The provider to create the components
+     * @param extraParams Extra parameters to pass to the components
+     */
+    public ComponentCellSupport(@NotNull FulibFxApp app, @NotNull Provider<? extends Component> provider, @NotNull Map<@NotNull String, @Nullable Object> extraParams) {
+        this.app = app;
+        this.provider = provider;
+        this.pool = null;
+        this.extraParams = extraParams;
+    }
+
+    /**
+     * Creates a new cell support acquiring the components from a pool.
+     *
+     * @param app         The FulibFX app
+     * @param pool        The pool to acquire the components from
+     * @param extraParams Extra parameters to pass to newly created components
+     */
+    public ComponentCellSupport(@NotNull FulibFxApp app, @NotNull ComponentPool<? extends Component> pool, @NotNull Map<@NotNull String, @Nullable Object> extraParams) {
+        this.app = app;
+        this.provider = null;
+        this.pool = pool;
+        this.extraParams = extraParams;
+    }
+
+    /**
+     * Keeps the given cell in the container as long as it belongs to a control.
+     * <p>
+     * Virtualized controls discard cells (e.g. when their skin recreates the cells), so cells shouldn't be kept in the container
+     * for the whole lifetime of the controller. When the cell leaves its control, the given action releases its component
+     * and the cell is removed from the container. If the cell is added to a control again, it is added to the container again.
+     *
+     * @param cell      The cell
+     * @param control   The property holding the control of the cell (e.g. {@link javafx.scene.control.TableCell#tableViewProperty()})
+     * @param release   The action removing the component from the cell and releasing it
+     * @param container The container to add the cell to (e.g. a subscriber)
+     */
+    public static void register(@NotNull Disposable cell, @NotNull ObservableValue<?> control, @NotNull Runnable release, @NotNull DisposableContainer container) {
+        if (control.getValue() != null) {
+            container.add(cell);
+        }
+        control.addListener((observable, oldControl, newControl) -> {
+            if (newControl == null) {
+                container.delete(cell);
+                release.run();
+            } else if (oldControl == null) {
+                container.add(cell);
+            }
+        });
+    }
+
+    /**
+     * Updates the component for the new item of the cell and returns the node the cell should display.
+     * <p>
+     * If a new component has to be created, the parameters "item" and the given additional parameter are added to
+     * the extra parameters (if they are not already present).
+     *
+     * @param item       The new item of the cell
+     * @param empty      Whether the cell is empty
+     * @param paramKey   The key of an additional parameter describing the context of the cell (e.g. "list")
+     * @param paramValue The value of the additional parameter
+     * @return The component to display or null if the cell should be empty
+     */
+    public @Nullable Component update(@Nullable Item item, boolean empty, @NotNull String paramKey, @Nullable Object paramValue) {
+        // Destroy component if the cell is emptied
+        if (empty || item == null || this.disposed) {
+            release();
+            return null;
+        }
+
+        // Destroy old component if necessary (if it is not reusable)
+        if (this.component != null && !(this.component instanceof ReusableItemComponent<?>)) {
+            release();
+        }
+
+        // Create and render new component if necessary
+        if (this.component == null) {
+            // Add item and context to parameters if they are not already present
+            final Map<String, Object> params = LayeredMap.of(this.extraParams, "item", item, paramKey, paramValue);
+            if (this.pool != null) {
+                this.component = this.pool.acquire(params);
+            } else {
+                this.component = this.app.initAndRender(this.provider.get(), params);
+            }
+        }
+
+        // Update component if possible
+        if (this.component instanceof ReusableItemComponent<?>) {
+            //noinspection unchecked
+            ((ReusableItemComponent<Item>) this.component).setItem(item);
+        }
+        return this.component;
+    }
+
+    /**
+     * Returns whether updating the cell with the given item releases the current component.
+     * In this case, the cell should remove the component from its graphic before calling {@link #update(Object, boolean, String, Object)}.
+     *
+     * @param item  The new item of the cell
+     * @param empty Whether the cell is empty
+     * @return True if the current component will be released
+     */
+    public boolean releases(@Nullable Item item, boolean empty) {
+        return this.component != null && (empty || item == null || this.disposed || !(this.component instanceof ReusableItemComponent<?>));
+    }
+
+    /**
+     * Returns the component which is currently displayed.
+     *
+     * @return The current component or null if the cell is empty
+     */
+    public @Nullable Component getComponent() {
+        return this.component;
+    }
+
+    /**
+     * Destroys the current component or gives it back to the pool.
+     * <b>Important:</b> The component should be removed from the cell before.
+     */
+    public void release() {
+        if (this.component == null) {
+            return;
+        }
+        if (this.pool != null) {
+            this.pool.release(this.component);
+        } else {
+            this.app.destroy(this.component);
+        }
+        this.component = null;
+    }
+
+    /**
+     * Releases the current component. Afterward, no components will be created anymore.
+     */
+    @Override
+    public void dispose() {
+        this.disposed = true;
+        release();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+}
@@ -0,0 +1,223 @@
+package org.fulib.fx.constructs;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.scene.Node;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.controller.ControllerManager;
+import org.fulib.fx.util.ControllerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Provider;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A bounded pool of initialized and rendered components which can be shared by multiple constructs like
+ * {@link org.fulib.fx.constructs.forloop.For} loops or {@link org.fulib.fx.constructs.listview.ComponentListCell}s.
+ * <p>
+ * Components implementing {@link ReusableItemComponent} are parked in the pool when they are released instead of being destroyed.
+ * When a new component is required, a parked component will be returned and rebound using {@link ReusableItemComponent#setItem(Object)}.
+ * This saves the cost of initializing and rendering (and loading the FXML file of) a new component.
+ * <p>
+ * Components which are not reusable or don't fit into the pool anymore are destroyed as usual.
+ * Disposing the pool destroys all parked components.
+ *
+ * @param <Component> The type of the pooled component
+ */
+public class ComponentPool<Component extends Node> implements Disposable {
+
+    private final FulibFxApp app;
+    private final Provider<? extends Component> provider;
+
+    // The parked components, the most recently parked component is at the head
+    private final Deque<Component> parked = new ArrayDeque<>();
+
+    // The class of the components created by the provider, only components of this class are parked
+    private Class<?> componentClass;
+
+    private int maxSize;
+    private boolean disposed = false;
+
+    /**
+     * Creates a new component pool.
+     *
+     * @param app      The FulibFX app
+     * @param provider The provider to create new components
+     * @param maxSize  The maximum amount of parked components
+     */
+    public ComponentPool(@NotNull FulibFxApp app, @NotNull Provider<? extends Component> provider, int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Size must not be negative");
+        this.app = app;
+        this.provider = provider;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a component from the pool or creates, initializes and renders a new one if the pool is empty.
+     * <p>
+     * Components returned from the pool have been initialized with the parameters they were created with.
+     * They should be updated using {@link ReusableItemComponent#setItem(Object)}.
+     *
+     * @param params The parameters to initialize a new component with
+     * @return A rendered component
+     */
+    public @NotNull Component acquire(@NotNull Map<@NotNull String, @Nullable Object> params) {
+        return acquire(params, null);
+    }
+
+    /**
+     * Returns a component from the pool or creates, initializes and renders a new one if the pool is empty.
+     * <p>
+     * Components returned from the pool have been initialized with the parameters they were created with.
+     * They should be updated using {@link ReusableItemComponent#setItem(Object)}.
+     *
+     * @param params     The parameters to initialize a new component with
+     * @param beforeInit The method to call before a new component is initialized (not called for parked components)
+     * @return A rendered component
+     */
+    public @NotNull Component acquire(@NotNull Map<@NotNull String, @Nullable Object> params, @Nullable Consumer<? super Component> beforeInit) {
+        Component component = this.parked.poll();
+        if (component != null) {
+            return component;
+        }
+        return create(params, beforeInit);
+    }
+
+    /**
+     * Releases a component which is no longer displayed.
+     * <p>
+     * If the component is reusable and the pool isn't full, it will be parked for later use.
+     * Otherwise, the component will be destroyed.
+     * <p>
+     * <b>Important:</b> The component should be removed from its parent before it is released.
+     *
+     * @param component The component to release
+     */
+    public void release(@NotNull Node component) {
+        // Components may be released before the pool created any, e.g. if they have been created outside the pool
+        if (this.componentClass == null && component instanceof ReusableItemComponent<?>) {
+            this.componentClass = component.getClass();
+        }
+        if (this.disposed || this.parked.size() >= this.maxSize || !(component instanceof ReusableItemComponent<?>) || component.getClass() != this.componentClass) {
+            destroy(component);
+            return;
+        }
+
+        @SuppressWarnings("unchecked") // The class has been checked above
+        Component pooled = (Component) component;
+        this.parked.push(pooled);
+    }
+
+    /**
+     * Creates and parks new components until the pool contains the given amount of components (or is full).
+     * <p>
+     * As the components are not created for a specific item, the parameter "item" will not be present when initializing them.
+     *
+     * @param count  The amount of components the pool should contain
+     * @param params The parameters to initialize the components with
+     */
+    public void prewarm(int count, @NotNull Map<@NotNull String, @Nullable Object> params) {
+        while (!this.disposed && this.parked.size() < Math.min(count, this.maxSize)) {
+            Component component = create(params, null);
+            if (!(component instanceof ReusableItemComponent<?>)) {
+                // Non-reusable components can't be parked, so there is no point in creating more of them
+                destroy(component);
+                return;
+            }
+            this.parked.push(component);
+        }
+    }
+
+    /**
+     * Destroys all parked components.
+     */
+    public void evict() {
+        evict(this.parked.size());
+    }
+
+    /**
+     * Destroys the given amount of parked components, starting with the component that has been parked the longest.
+     *
+     * @param count The amount of components to destroy
+     */
+    public void evict(int count) {
+        for (int i = 0; i < count && !this.parked.isEmpty(); i++) {
+            destroy(this.parked.pollLast());
+        }
+    }
+
+    /**
+     * Returns the amount of currently parked components.
+     *
+     * @return The amount of parked components
+     */
+    public int size() {
+        return this.parked.size();
+    }
+
+    /**
+     * Returns the maximum amount of parked components.
+     *
+     * @return The maximum size of the pool
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Sets the maximum amount of parked components.
+     * If more components are parked than allowed, the oldest components will be destroyed.
+     *
+     * @param maxSize The maximum size of the pool
+     */
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("Size must not be negative");
+        this.maxSize = maxSize;
+        evict(this.parked.size() - maxSize);
+    }
+
+    private @NotNull Component create(@NotNull Map<@NotNull String, @Nullable Object> params, @Nullable Consumer<? super Component> beforeInit) {
+        Component component = this.provider.get();
+        if (this.componentClass == null) {
+            this.componentClass = component.getClass();
+        }
+
+        // If logic is needed before the controller is initialized, call the method
+        if (beforeInit != null) {
+            beforeInit.accept(component);
+        }
+
+        // Initialize and render the controller if the node is a component
+        // Pooled components outlive the constructs using them, so they are created in the root scope
+        if (ControllerUtil.isComponent(component)) {
+            ControllerManager controllerManager = this.app.frameworkComponent().controllerManager();
+            controllerManager.runInScope(controllerManager.getRootScope(), () -> {
+                this.app.initAndRender(component, params);
+            });
+        }
+        return component;
+    }
+
+    private void destroy(@NotNull Node component) {
+        if (ControllerUtil.isComponent(component)) {
+            this.app.destroy(component);
+        }
+    }
+
+    /**
+     * Destroys all parked components. Components released after the pool has been disposed will be destroyed directly.
+     */
+    @Override
+    public void dispose() {
+        this.disposed = true;
+        evict();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+}
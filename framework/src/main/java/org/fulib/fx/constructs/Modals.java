@@ -6,10 +6,12 @@ import javafx.scene.Scene;
 import javafx.scene.paint.Paint;
 import javafx.stage.*;
 import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.controller.ControllerManager;
+import org.fulib.fx.controller.LifecycleScope;
+import org.fulib.fx.data.LayeredMap;
 import org.fulib.fx.util.ControllerUtil;
 
 import javax.inject.Inject;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -164,18 +166,22 @@ public class Modals {
 
             modalStage.getProperties().put(MODAL_STAGE, true);
 
+            // The modal owns a scope containing the scope of the component
+            ControllerManager controllerManager = app.frameworkComponent().controllerManager();
+            LifecycleScope scope = controllerManager.getRootScope().child("Modal", modalStage, null);
+
             if (destroyOnClose) {
-                modalStage.addEventHandler(WindowEvent.WINDOW_HIDING, event -> app.frameworkComponent().controllerManager().destroy(component));
+                modalStage.addEventHandler(WindowEvent.WINDOW_HIDING, event -> scope.dispose());
             }
 
             // Add additional default parameters
-            Map<String, Object> parameters = params == null ? new HashMap<>() : new HashMap<>(params);
-            parameters.putIfAbsent("modalStage", modalStage);
-            parameters.putIfAbsent("ownerStage", owner);
+            Map<String, Object> parameters = LayeredMap.of(params == null ? Map.<String, Object>of() : params, "modalStage", modalStage, "ownerStage", owner);
 
             // Initialize and render the component
-            app.frameworkComponent().controllerManager().init(component, parameters);
-            Node rendered = app.frameworkComponent().controllerManager().render(component, parameters);
+            Node rendered = controllerManager.runInScope(scope, () -> {
+                controllerManager.init(component, parameters);
+                return controllerManager.render(component, parameters);
+            });
 
             // As the displayed component will be the root of a stage, it has to be a parent
             if (!(rendered instanceof Parent parent)) {
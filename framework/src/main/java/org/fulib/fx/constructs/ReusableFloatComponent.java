@@ -0,0 +1,11 @@
+package org.fulib.fx.constructs;
+
+/**
+ * Interface for components displaying a single float value, e.g. the components of an {@link org.fulib.fx.constructs.forloop.ArrayFor} loop.
+ * If a component implements this interface, it is updated when its value changes instead of being destroyed and recreated.
+ * <p>
+ * The value is passed as a primitive, so updating the component doesn't require boxing the value.
+ */
+public interface ReusableFloatComponent {
+    void setValue(float value);
+}
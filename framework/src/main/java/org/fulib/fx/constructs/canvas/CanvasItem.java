@@ -0,0 +1,184 @@
+package org.fulib.fx.constructs.canvas;
+
+import javafx.event.EventHandler;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A lightweight item which is drawn onto the canvas of a {@link CanvasLayer} instead of being a node in the scene graph.
+ * <p>
+ * Every item has bounds which are used for repainting only the changed parts of the canvas and for hit-testing mouse events.
+ * Whenever the appearance of the item changes, {@link #invalidate()} has to be called, changing the bounds invalidates the item automatically.
+ * <p>
+ * Items can react to being added to or removed from a layer by overriding {@link #onAdded()} and {@link #onRemoved()},
+ * similar to the init and destroy methods of components.
+ * Items bound to a list using {@link CanvasLayer#bind(javafx.collections.ObservableList, java.util.function.Function)}
+ * are reused for other items if they implement {@link org.fulib.fx.constructs.ReusableItemComponent}.
+ */
+public abstract class CanvasItem {
+
+    private CanvasLayer layer;
+
+    private double x;
+    private double y;
+    private double width;
+    private double height;
+    private boolean visible = true;
+
+    private EventHandler<? super MouseEvent> onMouseClicked;
+    private EventHandler<? super MouseEvent> onMouseEntered;
+    private EventHandler<? super MouseEvent> onMouseExited;
+
+    /**
+     * Draws the item. The graphics context is clipped to the region which is repainted.
+     *
+     * @param graphics The graphics context of the canvas
+     */
+    protected abstract void draw(@NotNull GraphicsContext graphics);
+
+    /**
+     * Called after the item has been added to a layer.
+     */
+    protected void onAdded() {
+    }
+
+    /**
+     * Called after the item has been removed from its layer.
+     */
+    protected void onRemoved() {
+    }
+
+    /**
+     * Checks whether the given point (in the coordinates of the layer) hits the item.
+     * By default, every point inside the bounds hits the item. Override this method for items which don't fill their bounds.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return True if the point hits the item
+     */
+    public boolean contains(double x, double y) {
+        return x >= this.x && y >= this.y && x < this.x + this.width && y < this.y + this.height;
+    }
+
+    /**
+     * Sets the bounds of the item and repaints the old and the new region.
+     *
+     * @param x      The x coordinate
+     * @param y      The y coordinate
+     * @param width  The width
+     * @param height The height
+     */
+    public void setBounds(double x, double y, double width, double height) {
+        if (this.x == x && this.y == y && this.width == width && this.height == height) {
+            return;
+        }
+        invalidate();
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        invalidate();
+    }
+
+    /**
+     * Moves the item and repaints the old and the new region.
+     *
+     * @param x The new x coordinate
+     * @param y The new y coordinate
+     */
+    public void relocate(double x, double y) {
+        setBounds(x, y, this.width, this.height);
+    }
+
+    /**
+     * Marks the region of the item as dirty, so that it is repainted in the next pulse.
+     */
+    public void invalidate() {
+        if (this.layer != null && this.visible) {
+            this.layer.markDirty(this.x, this.y, this.width, this.height);
+        }
+    }
+
+    public @NotNull Bounds getBounds() {
+        return new BoundingBox(this.x, this.y, this.width, this.height);
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getY() {
+        return this.y;
+    }
+
+    public double getWidth() {
+        return this.width;
+    }
+
+    public double getHeight() {
+        return this.height;
+    }
+
+    public boolean isVisible() {
+        return this.visible;
+    }
+
+    /**
+     * Sets whether the item is drawn and can be hit by mouse events.
+     *
+     * @param visible True if the item should be visible
+     */
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) {
+            return;
+        }
+        invalidate();
+        this.visible = visible;
+        invalidate();
+    }
+
+    /**
+     * Returns the layer the item is drawn on.
+     *
+     * @return The layer or null if the item hasn't been added to a layer
+     */
+    public @Nullable CanvasLayer getLayer() {
+        return this.layer;
+    }
+
+    void setLayer(@Nullable CanvasLayer layer) {
+        this.layer = layer;
+    }
+
+    public @Nullable EventHandler<? super MouseEvent> getOnMouseClicked() {
+        return this.onMouseClicked;
+    }
+
+    public void setOnMouseClicked(@Nullable EventHandler<? super MouseEvent> onMouseClicked) {
+        this.onMouseClicked = onMouseClicked;
+    }
+
+    public @Nullable EventHandler<? super MouseEvent> getOnMouseEntered() {
+        return this.onMouseEntered;
+    }
+
+    public void setOnMouseEntered(@Nullable EventHandler<? super MouseEvent> onMouseEntered) {
+        this.onMouseEntered = onMouseEntered;
+    }
+
+    public @Nullable EventHandler<? super MouseEvent> getOnMouseExited() {
+        return this.onMouseExited;
+    }
+
+    public void setOnMouseExited(@Nullable EventHandler<? super MouseEvent> onMouseExited) {
+        this.onMouseExited = onMouseExited;
+    }
+
+    boolean intersects(double minX, double minY, double maxX, double maxY) {
+        return this.x < maxX && this.y < maxY && this.x + this.width > minX && this.y + this.height > minY;
+    }
+}
@@ -0,0 +1,350 @@
+package org.fulib.fx.constructs.canvas;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.animation.AnimationTimer;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import org.fulib.fx.constructs.ReusableItemComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.fulib.fx.util.FrameworkUtil.error;
+
+/**
+ * A region drawing lightweight {@link CanvasItem}s onto a single canvas instead of adding a node per item to the scene graph.
+ * <p>
+ * This is useful for views displaying a large amount of simple shapes (like the fields of a game board),
+ * where thousands of nodes (with listeners and effects) would be expensive. Drawing the items only costs draw calls.
+ * <p>
+ * Only the regions which have changed (the bounds of invalidated items) are repainted, once per pulse.
+ * Mouse events on the layer are hit-tested against the items and forwarded to the topmost item at the position of the event.
+ * The items are drawn in the order of {@link #getItems()}, so later items are drawn on top of earlier ones.
+ * <p>
+ * The layer doesn't compute a preferred size from its items, so its size should be set explicitly or by its parent.
+ */
+public class CanvasLayer extends Region {
+
+    // Margin added to dirty regions, as antialiased edges can exceed the bounds of an item
+    private static final double DIRTY_MARGIN = 1;
+
+    private final Canvas canvas = new Canvas();
+    private final ObservableList<CanvasItem> items = new Items();
+
+    // The region which has to be repainted
+    private double dirtyMinX = Double.POSITIVE_INFINITY;
+    private double dirtyMinY = Double.POSITIVE_INFINITY;
+    private double dirtyMaxX = Double.NEGATIVE_INFINITY;
+    private double dirtyMaxY = Double.NEGATIVE_INFINITY;
+    private boolean scheduled;
+
+    // Whether items are only moved within the list (their lifecycle methods shouldn't be called)
+    private boolean moving;
+
+    // The item the mouse is currently over
+    private CanvasItem hovered;
+
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            scheduled = false;
+            paint();
+        }
+    };
+
+    public CanvasLayer() {
+        getChildren().add(this.canvas);
+        this.items.addListener(this::onItemsChanged);
+
+        addEventHandler(MouseEvent.MOUSE_CLICKED, event -> forward(itemAt(event.getX(), event.getY()), CanvasItem::getOnMouseClicked, event));
+        addEventHandler(MouseEvent.MOUSE_MOVED, event -> hover(itemAt(event.getX(), event.getY()), event));
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> hover(itemAt(event.getX(), event.getY()), event));
+        addEventHandler(MouseEvent.MOUSE_EXITED, event -> hover(null, event));
+    }
+
+    /**
+     * Returns the items drawn on this layer. Items can only be drawn on a single layer at once.
+     * Adding an item which is drawn on another layer throws an {@link IllegalArgumentException} without modifying the list.
+     *
+     * @return The modifiable list of items
+     */
+    public @NotNull ObservableList<CanvasItem> getItems() {
+        return this.items;
+    }
+
+    /**
+     * Returns the topmost visible item at the given position.
+     *
+     * @param x The x coordinate in the coordinates of the layer
+     * @param y The y coordinate in the coordinates of the layer
+     * @return The item or null if no item is hit
+     */
+    public @Nullable CanvasItem itemAt(double x, double y) {
+        for (int i = this.items.size() - 1; i >= 0; i--) {
+            CanvasItem item = this.items.get(i);
+            if (item.isVisible() && item.contains(x, y)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Displays a canvas item for every item of the given list, like a {@link org.fulib.fx.constructs.forloop.For} loop.
+     * <p>
+     * Canvas items implementing {@link ReusableItemComponent} are updated when their item is replaced instead of being recreated.
+     * Like For loops, the binding expects to be the only one modifying the items of the layer.
+     *
+     * @param list    The list of items
+     * @param factory The function creating the canvas item for an item
+     * @param <Item>  The type of the items
+     * @return A disposable removing all canvas items and stopping the binding
+     */
+    public <Item> @NotNull Disposable bind(@NotNull ObservableList<Item> list, @NotNull Function<? super Item, ? extends CanvasItem> factory) {
+        ListChangeListener<Item> listener = change -> {
+            while (change.next()) {
+                int from = change.getFrom();
+                if (change.wasPermutated()) {
+                    List<CanvasItem> reordered = new ArrayList<>(this.items.subList(from, change.getTo()));
+                    for (int i = from; i < change.getTo(); i++) {
+                        reordered.set(change.getPermutation(i) - from, this.items.get(i));
+                    }
+                    this.moving = true;
+                    try {
+                        this.items.remove(from, change.getTo());
+                        this.items.addAll(from, reordered);
+                    } finally {
+                        this.moving = false;
+                    }
+                    continue;
+                }
+
+                // Reuse the canvas items of replaced items if possible
+                int replaced = change.wasReplaced() ? Math.min(change.getRemovedSize(), change.getAddedSize()) : 0;
+                for (int i = 0; i < replaced; i++) {
+                    CanvasItem canvasItem = this.items.get(from + i);
+                    Item item = change.getAddedSubList().get(i);
+                    if (canvasItem instanceof ReusableItemComponent<?>) {
+                        //noinspection unchecked
+                        ((ReusableItemComponent<Item>) canvasItem).setItem(item);
+                        canvasItem.invalidate();
+                    } else {
+                        this.items.set(from + i, factory.apply(item));
+                    }
+                }
+
+                if (change.getRemovedSize() > replaced) {
+                    this.items.remove(from + replaced, from + change.getRemovedSize());
+                }
+                if (change.getAddedSize() > replaced) {
+                    this.items.addAll(from + replaced, create(change.getAddedSubList().subList(replaced, change.getAddedSize()), factory));
+                }
+            }
+        };
+
+        this.items.setAll(create(list, factory));
+        list.addListener(listener);
+        return Disposable.fromRunnable(() -> {
+            list.removeListener(listener);
+            this.items.clear();
+        });
+    }
+
+    private static <Item> List<CanvasItem> create(List<? extends Item> list, Function<? super Item, ? extends CanvasItem> factory) {
+        List<CanvasItem> created = new ArrayList<>(list.size());
+        for (Item item : list) {
+            created.add(factory.apply(item));
+        }
+        return created;
+    }
+
+    /**
+     * Marks the given region as dirty, so that it is repainted in the next pulse.
+     *
+     * @param x      The x coordinate of the region
+     * @param y      The y coordinate of the region
+     * @param width  The width of the region
+     * @param height The height of the region
+     */
+    public void markDirty(double x, double y, double width, double height) {
+        this.dirtyMinX = Math.min(this.dirtyMinX, x - DIRTY_MARGIN);
+        this.dirtyMinY = Math.min(this.dirtyMinY, y - DIRTY_MARGIN);
+        this.dirtyMaxX = Math.max(this.dirtyMaxX, x + width + DIRTY_MARGIN);
+        this.dirtyMaxY = Math.max(this.dirtyMaxY, y + height + DIRTY_MARGIN);
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.painter.start();
+        }
+    }
+
+    /**
+     * Marks the whole layer as dirty.
+     */
+    public void markDirty() {
+        markDirty(0, 0, this.canvas.getWidth(), this.canvas.getHeight());
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (this.canvas.getWidth() != width || this.canvas.getHeight() != height) {
+            this.canvas.setWidth(width);
+            this.canvas.setHeight(height);
+            markDirty();
+        }
+    }
+
+    /**
+     * Repaints the dirty region. Only items intersecting the region are drawn.
+     */
+    private void paint() {
+        double minX = Math.max(0, this.dirtyMinX);
+        double minY = Math.max(0, this.dirtyMinY);
+        double maxX = Math.min(this.canvas.getWidth(), this.dirtyMaxX);
+        double maxY = Math.min(this.canvas.getHeight(), this.dirtyMaxY);
+        this.dirtyMinX = this.dirtyMinY = Double.POSITIVE_INFINITY;
+        this.dirtyMaxX = this.dirtyMaxY = Double.NEGATIVE_INFINITY;
+        if (minX >= maxX || minY >= maxY) {
+            return;
+        }
+
+        GraphicsContext graphics = this.canvas.getGraphicsContext2D();
+        graphics.save();
+        graphics.beginPath();
+        graphics.rect(minX, minY, maxX - minX, maxY - minY);
+        graphics.clip();
+        graphics.clearRect(minX, minY, maxX - minX, maxY - minY);
+        for (CanvasItem item : this.items) {
+            if (item.isVisible() && item.intersects(minX, minY, maxX, maxY)) {
+                graphics.save();
+                item.draw(graphics);
+                graphics.restore();
+            }
+        }
+        graphics.restore();
+    }
+
+    private void onItemsChanged(ListChangeListener.Change<? extends CanvasItem> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                markDirty();
+                continue;
+            }
+            for (CanvasItem item : change.getRemoved()) {
+                item.invalidate();
+                item.setLayer(null);
+                if (item == this.hovered) {
+                    this.hovered = null;
+                }
+                if (!this.moving) {
+                    item.onRemoved();
+                }
+            }
+            for (CanvasItem item : change.getAddedSubList()) {
+                item.setLayer(this);
+                item.invalidate();
+                if (!this.moving) {
+                    item.onAdded();
+                }
+            }
+        }
+    }
+
+    private void checkLayer(CanvasItem item) {
+        if (item.getLayer() != null && item.getLayer() != this) {
+            throw new IllegalArgumentException(error(9011).formatted(item));
+        }
+    }
+
+    private void checkLayers(Collection<? extends CanvasItem> items) {
+        for (CanvasItem item : items) {
+            checkLayer(item);
+        }
+    }
+
+    private void hover(CanvasItem item, MouseEvent event) {
+        if (item == this.hovered) {
+            return;
+        }
+        CanvasItem previous = this.hovered;
+        this.hovered = item;
+        forward(previous, CanvasItem::getOnMouseExited, event);
+        forward(item, CanvasItem::getOnMouseEntered, event);
+    }
+
+    private void forward(CanvasItem item, Function<CanvasItem, EventHandler<? super MouseEvent>> handler, MouseEvent event) {
+        if (item == null) {
+            return;
+        }
+        EventHandler<? super MouseEvent> eventHandler = handler.apply(item);
+        if (eventHandler != null) {
+            eventHandler.handle(event);
+        }
+    }
+
+    /**
+     * The list of items, which checks the layer of added items before the list is modified.
+     * Bulk operations check all items first, so they either add all items or none.
+     */
+    private class Items extends ModifiableObservableListBase<CanvasItem> {
+
+        private final List<CanvasItem> elements = new ArrayList<>();
+
+        @Override
+        public boolean addAll(Collection<? extends CanvasItem> added) {
+            checkLayers(added);
+            return super.addAll(added);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends CanvasItem> added) {
+            checkLayers(added);
+            return super.addAll(index, added);
+        }
+
+        @Override
+        public boolean setAll(Collection<? extends CanvasItem> added) {
+            checkLayers(added);
+            return super.setAll(added);
+        }
+
+        @Override
+        public CanvasItem get(int index) {
+            return this.elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.elements.size();
+        }
+
+        @Override
+        protected void doAdd(int index, CanvasItem element) {
+            checkLayer(element);
+            this.elements.add(index, element);
+        }
+
+        @Override
+        protected CanvasItem doSet(int index, CanvasItem element) {
+            checkLayer(element);
+            return this.elements.set(index, element);
+        }
+
+        @Override
+        protected CanvasItem doRemove(int index) {
+            return this.elements.remove(index);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.fulib.fx.constructs.forloop;
+
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.collections.ArrayChangeListener;
+import javafx.collections.ObservableArray;
+import javafx.collections.ObservableList;
+import javafx.scene.Parent;
+import org.fulib.fx.constructs.ReusableFloatComponent;
+import org.fulib.fx.constructs.ReusableIntComponent;
+import org.fulib.fx.controller.ControllerManager;
+import org.fulib.fx.controller.LifecycleScope;
+import org.fulib.fx.data.LayeredMap;
+import org.fulib.fx.util.ControllerUtil;
+import org.fulib.fx.util.ReflectionUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A For loop displaying a node for every value of a primitive observable array
+ * (like {@link javafx.collections.ObservableIntegerArray} or {@link javafx.collections.ObservableFloatArray}).
+ * <p>
+ * In contrast to normal For loops, the nodes are tracked by their index, so the array can contain duplicate values.
+ * When values change, the nodes at the changed indices are updated with the primitive value without boxing it,
+ * either by calling {@link ReusableIntComponent#setValue(int)} / {@link ReusableFloatComponent#setValue(float)} or an update function.
+ * Nodes which can't be updated are recreated. Updating values doesn't allocate any objects.
+ * <p>
+ * If the size of the array changes, nodes are added to or removed from the end.
+ * When a node is created, the parameters "index" and "array" are passed to it.
+ *
+ * @param <Node>  The type of the node to display for each value
+ * @param <Array> The type of the array
+ */
+public class ArrayFor<Node extends javafx.scene.Node, Array extends ObservableArray<Array>> {
+
+    /**
+     * Updates the node at an index with the current value of the array.
+     *
+     * @param <Node> The type of the node
+     */
+    @FunctionalInterface
+    interface Updater<Node> {
+        /**
+         * Updates the node with the value at the given index.
+         *
+         * @param node  The node
+         * @param index The index of the value
+         * @return False if the node can't be updated and has to be recreated
+         */
+        boolean update(Node node, int index);
+    }
+
+    private final ControllerManager controllerManager;
+    // The scope containing the scopes of the created components
+    private final LifecycleScope scope;
+    private final Array array;
+    private final Provider<Node> provider;
+    private final Map<String, Object> params;
+    private final Updater<Node> updater;
+
+    // The children of the container (saved for performance)
+    private final ObservableList<javafx.scene.Node> children;
+
+    // The nodes by index, only the first 'count' entries are used
+    private javafx.scene.Node[] nodes = new javafx.scene.Node[0];
+    private int count;
+
+    // The disposable that is used to destroy the For loop and all controllers
+    private CompositeDisposable disposable;
+
+    private final ArrayChangeListener<Array> listener = (array, sizeChanged, from, to) -> onChanged(from, to);
+
+    /**
+     * Use the factory methods to create a new array For loop.
+     *
+     * @param controllerManager The controller manager for initializing the components
+     * @param container         The container to add the nodes to
+     * @param array             The array to display
+     * @param provider          The provider to create the node for each value
+     * @param params            The parameters to pass to the created controllers
+     * @param updater           The function updating a node with the value at an index
+     */
+    protected ArrayFor(ControllerManager controllerManager, Parent container, Array array, Provider<Node> provider, Map<String, Object> params, Updater<Node> updater) {
+        this.controllerManager = controllerManager;
+        this.array = array;
+        this.provider = provider;
+        this.params = params;
+        this.updater = updater;
+        this.children = ReflectionUtil.getChildrenList(container.getClass(), container);
+        // The loop is disposed with the controller it has been created in
+        this.scope = controllerManager.getActiveScope().child("ArrayFor", this, ArrayFor::dispose);
+        this.disposable().add(Disposable.fromRunnable(this::cleanup));
+    }
+
+    /**
+     * Creates the nodes for all values and starts listening to the array.
+     */
+    protected void init() {
+        this.array.addListener(this.listener);
+        resize(this.array.size());
+    }
+
+    private void onChanged(int from, int to) {
+        int oldCount = this.count;
+
+        // Update the existing nodes before the size changes, so that removed nodes aren't updated
+        int end = Math.min(to, Math.min(oldCount, this.array.size()));
+        for (int i = from; i < end; i++) {
+            update(i);
+        }
+
+        if (this.array.size() != oldCount) {
+            resize(this.array.size());
+        }
+    }
+
+    /**
+     * Adds or removes nodes at the end until there is a node for every value.
+     *
+     * @param size The new size of the array
+     */
+    private void resize(int size) {
+        if (size > this.count) {
+            if (size > this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, Math.max(size, this.nodes.length * 2));
+            }
+            List<javafx.scene.Node> added = new ArrayList<>(size - this.count);
+            for (int i = this.count; i < size; i++) {
+                Node node = create(i);
+                this.nodes[i] = node;
+                added.add(node);
+            }
+            this.count = size;
+            this.children.addAll(added);
+        } else if (size < this.count) {
+            int oldCount = this.count;
+            this.count = size;
+            this.children.remove(size, oldCount);
+            for (int i = oldCount - 1; i >= size; i--) {
+                destroy(this.nodes[i]);
+                this.nodes[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Updates the node at the given index or recreates it if it can't be updated.
+     *
+     * @param index The index
+     */
+    private void update(int index) {
+        @SuppressWarnings("unchecked") // Only nodes created by the provider are stored
+        Node node = (Node) this.nodes[index];
+        if (this.updater.update(node, index)) {
+            return;
+        }
+        Node created = create(index);
+        this.nodes[index] = created;
+        this.children.set(index, created);
+        destroy(node);
+    }
+
+    /**
+     * Creates, initializes and renders the node for the given index.
+     *
+     * @param index The index of the value
+     * @return The created node
+     */
+    private Node create(int index) {
+        Node node = this.provider.get();
+        if (ControllerUtil.isComponent(node)) {
+            Map<String, Object> params = LayeredMap.of(this.params, "index", index, "array", this.array);
+            this.controllerManager.runInScope(this.scope, () -> {
+                this.controllerManager.init(node, params);
+                this.controllerManager.render(node, params);
+            });
+        }
+        this.updater.update(node, index);
+        return node;
+    }
+
+    private void destroy(javafx.scene.Node node) {
+        if (ControllerUtil.isComponent(node)) {
+            this.controllerManager.destroy(node);
+        }
+    }
+
+    /**
+     * Returns the node displaying the value at the given index.
+     *
+     * @param index The index
+     * @return The node
+     * @throws IndexOutOfBoundsException If there is no node for the index
+     */
+    public @NotNull Node getNode(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.count);
+        }
+        @SuppressWarnings("unchecked") // Only nodes created by the provider are stored
+        Node node = (Node) this.nodes[index];
+        return node;
+    }
+
+    /**
+     * Returns the array displayed by the loop.
+     *
+     * @return The array
+     */
+    public @NotNull Array getArray() {
+        return this.array;
+    }
+
+    /**
+     * Cleans up the loop by removing the listener and destroying all nodes.
+     */
+    private void cleanup() {
+        this.array.removeListener(this.listener);
+
+        // Remove all nodes at once (unless the whole view is torn down) and destroy them in reverse order
+        if (!this.controllerManager.isTearingDown()) {
+            this.children.removeAll(new HashSet<>(Arrays.asList(this.nodes).subList(0, this.count)));
+        }
+        for (int i = this.count - 1; i >= 0; i--) {
+            destroy(this.nodes[i]);
+            this.nodes[i] = null;
+        }
+        this.count = 0;
+        this.scope.dispose();
+    }
+
+    /**
+     * Returns the disposable used for cleaning up the loop.
+     *
+     * @return The disposable
+     */
+    public @NotNull CompositeDisposable disposable() {
+        if (this.disposable == null || this.disposable.isDisposed()) {
+            this.disposable = new CompositeDisposable();
+        }
+        return this.disposable;
+    }
+
+    /**
+     * Destroys the loop and all controllers.
+     */
+    public void dispose() {
+        if (this.disposable != null) {
+            this.disposable.dispose();
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package org.fulib.fx.constructs.forloop;
 
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import javafx.animation.AnimationTimer;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.Parent;
+import javafx.util.Duration;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.constructs.ComponentPool;
 import org.fulib.fx.constructs.ReusableItemComponent;
 import org.fulib.fx.controller.ControllerManager;
+import org.fulib.fx.controller.LifecycleScope;
+import org.fulib.fx.data.LayeredMap;
+import org.fulib.fx.data.ListDiff;
 import org.fulib.fx.util.ControllerUtil;
 import org.fulib.fx.util.ReflectionUtil;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Provider;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
 
 import static org.fulib.fx.util.FrameworkUtil.error;
 
@@ -29,6 +45,11 @@ import static org.fulib.fx.util.FrameworkUtil.error;
  */
 public class For<Node extends javafx.scene.Node, Item> {
 
+    /**
+     * The default time per pulse which progressive For loops spend on creating nodes.
+     */
+    public static final Duration DEFAULT_BUDGET = Duration.millis(4);
+
     // The nodes that are currently displayed for each item
     private Map<Item, Node> itemsToNodes;
 
@@ -37,11 +58,15 @@ public class For<Node extends javafx.scene.Node, Item> {
 
     // The controller manager to create and destroy controllers
     private final ControllerManager controllerManager;
+    // The scope containing the scopes of the created components
+    private final LifecycleScope scope;
 
     // List of items to iterate over
     private ObservableList<Item> items;
     // The provider to create the node/component for each item
     private Provider<Node> provider;
+    // The pool to acquire components from and release them to (instead of using the provider)
+    private ComponentPool<? extends Node> pool;
     // The parameters to pass to the controller
     private Map<String, Object> params;
     // The method to call when the controller is created
@@ -52,31 +77,32 @@ public class For<Node extends javafx.scene.Node, Item> {
     // The children of the container (saved for performance)
     private ObservableList<javafx.scene.Node> children;
 
+    // The time per pulse to spend on creating nodes in nanoseconds (0 if all nodes are created at once)
+    private long budget = 0;
+    // The timer creating the remaining nodes while the loop is built progressively (null if the loop is fully built)
+    private AnimationTimer builder;
+    // The amount of items at the start of the list which already have a node (only used while building)
+    private int built;
+    // Completes once a node has been created for every item
+    private final CompletableSubject completion = CompletableSubject.create();
+
     // Listener to add to the list to update the order of the children when the list changes
     private final ListChangeListener<Item> listChangeListener = change -> {
+        if (this.builder != null) {
+            onChangeWhileBuilding(change);
+            return;
+        }
+
         while (change.next()) {
             if (change.wasPermutated()) {
-                // Update the order of the children
-                for (int i = change.getFrom(); i < change.getTo(); i++) {
-                    this.children.set(i, children.set(change.getPermutation(i), this.children.get(i)));
-                }
+                permute(change);
+                continue;
             }
 
             // If items were replaced, either update the components or remove and add them
             if (change.wasReplaced()) {
-                int i = 0;
-                for (Item item : change.getRemoved()) {
-                    Node node = itemsToNodes.get(item);
-                    Item added = change.getAddedSubList().get(i++);
-                    if (node instanceof ReusableItemComponent<?>) {
-                        //noinspection unchecked
-                        ((ReusableItemComponent<Item>) node).setItem(added);
-                    } else {
-                        remove(item);
-                        add(added, change.getFrom() + i - 1);
-                    }
-                }
-                return; // All removed and added changes were already handled here
+                replace(change.getFrom(), change.getRemoved(), change.getAddedSubList());
+                continue; // All removed and added items were already handled here
             }
 
             if (change.wasRemoved()) {
@@ -91,6 +117,121 @@ public class For<Node extends javafx.scene.Node, Item> {
         }
     };
 
+    /**
+     * Handles list changes while the loop is still being built.
+     * Only the items at the start of the list (the built part) have nodes, the remaining items will be created by the builder.
+     * Changes affecting the built part are applied directly, all other changes will be picked up by the builder.
+     *
+     * @param change The change of the list
+     */
+    private void onChangeWhileBuilding(ListChangeListener.Change<? extends Item> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                // The built part can contain any items after a permutation, so it has to be determined again
+                rebuildPrefix();
+                continue;
+            }
+
+            if (change.wasRemoved()) {
+                for (Item item : change.getRemoved()) {
+                    if (this.itemsToNodes.containsKey(item)) {
+                        remove(item);
+                        this.built--;
+                    }
+                }
+            }
+
+            // Items added behind the built part will be created by the builder
+            if (change.wasAdded() && change.getFrom() < this.built) {
+                addAll(change.getAddedSubList(), change.getFrom());
+                this.built += change.getAddedSize();
+            }
+        }
+    }
+
+    /**
+     * Shrinks the built part to the longest prefix of the list whose items already have nodes and releases all other nodes.
+     */
+    private void rebuildPrefix() {
+        List<javafx.scene.Node> prefix = new ArrayList<>();
+        for (Item item : this.items) {
+            Node node = this.itemsToNodes.get(item);
+            if (node == null) {
+                break;
+            }
+            prefix.add(node);
+        }
+
+        List<Node> unused = new ArrayList<>();
+        for (int i = prefix.size(); i < this.items.size(); i++) {
+            Node node = this.itemsToNodes.remove(this.items.get(i));
+            if (node != null) {
+                unused.add(node);
+            }
+        }
+
+        this.children.setAll(prefix);
+        this.built = prefix.size();
+        unused.forEach(this::release);
+    }
+
+    /**
+     * Moves the existing nodes according to the permutation of the list.
+     * All nodes are reordered at once, so the children are only changed a single time.
+     *
+     * @param change The permutation change
+     */
+    private void permute(ListChangeListener.Change<? extends Item> change) {
+        List<javafx.scene.Node> reordered = new ArrayList<>(this.children);
+        for (int i = change.getFrom(); i < change.getTo(); i++) {
+            reordered.set(change.getPermutation(i), this.children.get(i));
+        }
+        this.children.setAll(reordered);
+    }
+
+    /**
+     * Replaces the nodes of the removed items with nodes for the added items.
+     * Reusable components are updated with the new item, other nodes are replaced.
+     * If more items were removed or added, the remaining nodes are removed or added.
+     *
+     * @param from    The index of the first replaced item
+     * @param removed The removed items
+     * @param added   The added items
+     */
+    private void replace(int from, List<? extends Item> removed, List<? extends Item> added) {
+        // Unlink all removed items first, as the added items could contain some of them in a different order
+        List<Node> nodes = new ArrayList<>(removed.size());
+        for (Item item : removed) {
+            nodes.add(this.itemsToNodes.remove(item));
+        }
+
+        int replaced = Math.min(removed.size(), added.size());
+        for (int i = 0; i < replaced; i++) {
+            Item item = added.get(i);
+            if (this.itemsToNodes.containsKey(item)) {
+                throw new IllegalArgumentException(error(7001).formatted(item));
+            }
+
+            Node node = nodes.get(i);
+            if (node instanceof ReusableItemComponent<?>) {
+                //noinspection unchecked
+                ((ReusableItemComponent<Item>) node).setItem(item);
+            } else {
+                Node created = create(item);
+                this.children.set(from + i, created);
+                release(node);
+                node = created;
+            }
+            this.itemsToNodes.put(item, node);
+        }
+
+        if (removed.size() > replaced) {
+            this.children.remove(from + replaced, from + removed.size());
+            nodes.subList(replaced, nodes.size()).forEach(this::release);
+        }
+        addAll(added.subList(replaced, added.size()), from + replaced);
+    }
+
     private void addAll(List<? extends Item> toAdd, int from) {
         int i = 0;
         // Add the new items in the correct order
@@ -106,6 +247,8 @@ public class For<Node extends javafx.scene.Node, Item> {
      */
     protected For(ControllerManager controllerManager) {
         this.controllerManager = controllerManager;
+        // The loop is disposed with the controller it has been created in
+        this.scope = controllerManager.getActiveScope().child(getClass().getSimpleName(), this, For::dispose);
         // This will be called when the For loop is destroyed. Controllers will be added to the disposable automatically.
         this.disposable().add(Disposable.fromRunnable(this::cleanup));
     }
@@ -114,20 +257,37 @@ public class For<Node extends javafx.scene.Node, Item> {
      * Cleans up the For loop by removing all listeners and nodes.
      */
     private void cleanup() {
-        if (items != null) {
+        stopBuilding();
+
+        if (items != null && itemsToNodes != null) {
             // Clear all listeners
             this.items.removeListener(listChangeListener);
-            // Remove all nodes (destroys any remaining controllers)
-            this.items.forEach(this::remove);
+
+            // Destroy the components in reverse order, like subcomponents of a controller
+            List<Node> nodes = new ArrayList<>(this.itemsToNodes.size());
+            for (int i = this.items.size() - 1; i >= 0; i--) {
+                Node node = this.itemsToNodes.get(this.items.get(i));
+                if (node != null) {
+                    nodes.add(node);
+                }
+            }
+
+            // Remove all nodes at once instead of one by one. If the whole view is torn down, the container is discarded anyway
+            // (pooled nodes still have to be detached, as they will be added to other containers later)
+            if (!this.controllerManager.isTearingDown() || this.pool != null) {
+                this.children.removeAll(new HashSet<>(nodes));
+            }
+            nodes.forEach(this::release);
         }
+        this.scope.dispose();
 
         // Cleanup
         this.children = null;
-        this.itemsToNodes.clear();
-        this.children = null;
+        this.itemsToNodes = null;
         this.items = null;
 
         this.provider = null;
+        this.pool = null;
         this.params = null;
         this.container = null;
     }
@@ -168,10 +328,94 @@ public class For<Node extends javafx.scene.Node, Item> {
         this.provider = node;
     }
 
+    public ComponentPool<? extends Node> getPool() {
+        return pool;
+    }
+
+    protected void setPool(ComponentPool<? extends Node> pool) {
+        this.pool = pool;
+    }
+
     protected void setBeforeInit(BiConsumer<Node, Item> beforeInit) {
         this.beforeInit = beforeInit;
     }
 
+    /**
+     * Sets the time per pulse which is spent on creating nodes when the loop is initialized.
+     * If set, the nodes will be created in chunks over multiple pulses instead of all at once, which keeps the application responsive.
+     *
+     * @param budget The time per pulse or null to create all nodes at once
+     */
+    protected void setBudget(Duration budget) {
+        this.budget = budget == null ? 0 : Math.max(1, (long) (budget.toMillis() * 1_000_000));
+    }
+
+    /**
+     * Returns a completable which completes once a node has been created for every item of the list.
+     * <p>
+     * For loops which are not built progressively complete directly after initialization.
+     * The completable also completes if the loop is disposed before it has been built completely.
+     *
+     * @return The completable
+     */
+    public @NotNull Completable completion() {
+        return this.completion.hide();
+    }
+
+    /**
+     * Binds the items of the loop to the given snapshots, using the items themselves as keys.
+     *
+     * @param snapshots The snapshots of the list
+     * @return The disposable to stop the binding (also disposed together with the loop)
+     * @see #bindSnapshots(Observable, Function)
+     */
+    public @NotNull Disposable bindSnapshots(@NotNull Observable<? extends List<? extends Item>> snapshots) {
+        return bindSnapshots(snapshots, Function.identity());
+    }
+
+    /**
+     * Binds the items of the loop to the given snapshots.
+     * <p>
+     * Instead of replacing all items (and therefore all nodes) for every snapshot, the difference to the previous snapshot is computed in the background.
+     * Only the resulting changes are applied to the list on the FX thread, so nodes of unchanged items are kept.
+     * Items with the same key are considered to be the same item. If they are not equal, the item is replaced
+     * (which updates the component if it is a {@link ReusableItemComponent}).
+     * <p>
+     * The list of the loop has to be modifiable and must not be changed by anything else while it is bound.
+     *
+     * @param snapshots The snapshots of the list
+     * @param key       The function returning the key of an item
+     * @return The disposable to stop the binding (also disposed together with the loop)
+     */
+    public @NotNull Disposable bindSnapshots(@NotNull Observable<? extends List<? extends Item>> snapshots, @NotNull Function<? super Item, ?> key) {
+        ObservableList<Item> list = this.items;
+        AtomicReference<List<Item>> previous = new AtomicReference<>(new ArrayList<>(list));
+
+        Disposable binding = snapshots
+                .observeOn(Schedulers.computation())
+                .map(snapshot -> {
+                    List<Item> next = new ArrayList<>(snapshot);
+                    ListDiff<Item> diff = ListDiff.compute(previous.get(), next, key);
+                    previous.set(next);
+                    return diff;
+                })
+                .filter(diff -> !diff.isEmpty())
+                .observeOn(FulibFxApp.FX_SCHEDULER)
+                .subscribe(diff -> diff.applyTo(list), throwable -> FulibFxApp.LOGGER.log(Level.SEVERE, error(7003), throwable));
+
+        this.disposable().add(binding);
+        return binding;
+    }
+
+    /**
+     * Returns whether the loop is still creating nodes for the items of the list.
+     *
+     * @return True if the loop is being built progressively and isn't finished yet
+     */
+    public boolean isBuilding() {
+        return this.builder != null;
+    }
+
     /**
      * Binds the list to the container and the node by adding and removing nodes when the list changes.
      * <p>
@@ -180,7 +424,7 @@ public class For<Node extends javafx.scene.Node, Item> {
      * Initializes the For loop by adding all existing nodes to the container.
      */
     protected void init() {
-        if (this.container == null || this.provider == null || this.items == null) {
+        if (this.container == null || (this.provider == null && this.pool == null) || this.items == null) {
             return;
         }
 
@@ -192,9 +436,55 @@ public class For<Node extends javafx.scene.Node, Item> {
         this.items.addListener(listChangeListener);
 
         clearUnused();
+
+        if (this.budget > 0) {
+            // Create the first chunk directly so that the first frame already displays something
+            this.built = 0;
+            this.builder = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    buildChunk();
+                }
+            };
+            this.builder.start();
+            buildChunk();
+            return;
+        }
+
         for (int i = 0; i < this.items.size(); i++) {
             add(this.items.get(i), i);
         }
+        this.completion.onComplete();
+    }
+
+    /**
+     * Creates nodes for the next items until the budget for the current pulse is used up.
+     * At least one node is created per pulse so that the loop always makes progress.
+     */
+    private void buildChunk() {
+        long start = System.nanoTime();
+        while (this.built < this.items.size()) {
+            add(this.items.get(this.built), this.built);
+            this.built++;
+            if (System.nanoTime() - start >= this.budget) {
+                break;
+            }
+        }
+
+        if (this.built >= this.items.size()) {
+            stopBuilding();
+        }
+    }
+
+    /**
+     * Stops building the loop progressively and completes the completion.
+     */
+    private void stopBuilding() {
+        if (this.builder != null) {
+            this.builder.stop();
+            this.builder = null;
+        }
+        this.completion.onComplete();
     }
 
     /**
@@ -203,16 +493,16 @@ public class For<Node extends javafx.scene.Node, Item> {
      * @param item The item to remove
      */
     private void remove(Item item) {
-        Node node = this.itemsToNodes.get(item);
-
-        // Destroy the controller if the node is a component
-        if (ControllerUtil.isComponent(node)) {
-            controllerManager.destroy(node);
+        Node node = this.itemsToNodes.remove(item);
+        if (node == null) {
+            return; // The node hasn't been created yet (progressive loops)
         }
 
         // Remove the node from the container
-        this.itemsToNodes.remove(item);
         this.children.remove(node);
+
+        // Destroy the controller if the node is a component (or give it back to the pool)
+        release(node);
     }
 
     /**
@@ -226,32 +516,75 @@ public class For<Node extends javafx.scene.Node, Item> {
             throw new IllegalArgumentException(error(7001).formatted(item));
         }
 
-        // Create the node
-        Node node = this.provider.get();
+        Node node = create(item);
 
-        // If logic is needed before the controller is initialized, call the method
-        if (this.beforeInit != null) {
-            this.beforeInit.accept(node, item);
-        }
+        // Add the node to the container
+        this.itemsToNodes.put(item, node);
+        this.children.add(index, node);
+    }
 
-        // Initialize and render the controller if the node is a component
-        if (ControllerUtil.isComponent(node)) {
-            // Add item and list to parameters if they are not already present
-            HashMap<String, Object> params = new HashMap<>(this.params);
-            params.putIfAbsent("item", item);
-            params.putIfAbsent("list", this.items);
-            controllerManager.init(node, params);
-            controllerManager.render(node, params);
+    /**
+     * Creates, initializes and renders the node for the given item.
+     * If a pool is set, the node will be taken from the pool if possible.
+     *
+     * @param item The item to create the node for
+     * @return The created node
+     */
+    private Node create(Item item) {
+        Node node;
+
+        if (this.pool != null) {
+            // Parked components are already initialized, new ones will be initialized by the pool
+            node = this.pool.acquire(itemParams(item), this.beforeInit == null ? null : created -> this.beforeInit.accept(created, item));
+        } else {
+            // Create the node
+            node = this.provider.get();
+
+            // If logic is needed before the controller is initialized, call the method
+            if (this.beforeInit != null) {
+                this.beforeInit.accept(node, item);
+            }
 
-            if (node instanceof ReusableItemComponent<?>) {
-                //noinspection unchecked
-                ((ReusableItemComponent<Item>) node).setItem(item);
+            // Initialize and render the controller if the node is a component
+            if (ControllerUtil.isComponent(node)) {
+                Map<String, Object> params = itemParams(item);
+                Node component = node;
+                controllerManager.runInScope(this.scope, () -> {
+                    controllerManager.init(component, params);
+                    controllerManager.render(component, params);
+                });
             }
         }
 
-        // Add the node to the container
-        this.itemsToNodes.put(item, node);
-        this.children.add(index, node);
+        if (node instanceof ReusableItemComponent<?>) {
+            //noinspection unchecked
+            ((ReusableItemComponent<Item>) node).setItem(item);
+        }
+        return node;
+    }
+
+    /**
+     * Destroys the given node if it is a component or gives it back to the pool if a pool is set.
+     *
+     * @param node The node to release
+     */
+    private void release(Node node) {
+        if (this.pool != null) {
+            this.pool.release(node);
+        } else if (ControllerUtil.isComponent(node)) {
+            controllerManager.destroy(node);
+        }
+    }
+
+    /**
+     * Returns the parameters for the given item.
+     * Adds item and list to the parameters if they are not already present (without copying the shared parameters).
+     *
+     * @param item The item
+     * @return The parameters for the item
+     */
+    private Map<String, Object> itemParams(Item item) {
+        return LayeredMap.of(this.params, "item", item, "list", this.items);
     }
 
     /**
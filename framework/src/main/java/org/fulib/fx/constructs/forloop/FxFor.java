@@ -1,28 +1,46 @@
 package org.fulib.fx.constructs.forloop;
 
+import io.reactivex.rxjava3.core.Flowable;
+import javafx.collections.ObservableFloatArray;
+import javafx.collections.ObservableIntegerArray;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
 import javafx.scene.Parent;
+import javafx.util.Duration;
 import org.fulib.fx.FulibFxApp;
 import org.fulib.fx.annotation.controller.Component;
+import org.fulib.fx.constructs.ComponentPool;
+import org.fulib.fx.constructs.ReusableFloatComponent;
+import org.fulib.fx.constructs.ReusableIntComponent;
+import org.fulib.fx.constructs.ReusableItemComponent;
 import org.fulib.fx.controller.ControllerManager;
+import org.fulib.fx.data.KeyedObservableList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
+import java.beans.PropertyChangeSupport;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Factory class for {@link For} loops.
  */
 @Singleton
 public class FxFor {
+    private final FulibFxApp app;
     private final ControllerManager controllerManager;
 
     @Inject
     public FxFor(FulibFxApp app) {
+        this.app = app;
         this.controllerManager = app.frameworkComponent().controllerManager();
     }
 
@@ -99,4 +117,420 @@ public class FxFor {
         });
     }
 
+    /**
+     * Creates a new For loop for use in code and initializes it.
+     * <p>
+     * This factory will acquire a component for each item in the list from the given pool.
+     * When an item is removed, its component is given back to the pool instead of being destroyed (if it is a {@link ReusableItemComponent}).
+     * Pools can be shared between multiple For loops, the pool has to be disposed manually.
+     * <p>
+     * Example: For.of(myVbox, myListOfItems, myComponentPool, Map.of("argument", value), (controller, item) -> controller.foo(item));
+     *
+     * @param container  The container to add the nodes to
+     * @param items      The list of items to display
+     * @param pool       The pool to acquire the components from
+     * @param params     The parameters to pass to newly created components
+     * @param beforeInit The method to call when a new component is created (not called for components taken from the pool)
+     * @param <Item>     The type of item
+     * @param <Node>     The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull ObservableList<@NotNull Item> items, @NotNull ComponentPool<Node> pool, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit) {
+        For<Node, Item> forLoop = new For<>(this.controllerManager);
+        forLoop.setBeforeInit(beforeInit);
+        forLoop.setContainer(container);
+        forLoop.setItems(items);
+        forLoop.setPool(pool);
+        forLoop.setParams(params);
+        forLoop.init();
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop for use in code and initializes it.
+     * <p>
+     * This factory will acquire a component for each item in the list from the given pool.
+     * When an item is removed, its component is given back to the pool instead of being destroyed (if it is a {@link ReusableItemComponent}).
+     * Pools can be shared between multiple For loops, the pool has to be disposed manually.
+     * <p>
+     * Example: For.of(myVbox, myListOfItems, myComponentPool);
+     *
+     * @param container The container to add the nodes to
+     * @param items     The list of items to display
+     * @param pool      The pool to acquire the components from
+     * @param <Item>    The type of item
+     * @param <Node>    The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull ObservableList<@NotNull Item> items, @NotNull ComponentPool<Node> pool) {
+        return of(container, items, pool, Map.of(), (controller, item) -> {
+        });
+    }
+
+    /**
+     * Creates a new For loop displaying the values of a map and initializes it.
+     * <p>
+     * Every change of the map adds, updates or removes exactly one node, which takes O(log n) time to locate.
+     * Replaced values update the component if it is a {@link ReusableItemComponent}.
+     * The values are sorted by the given comparator or displayed in the order their entries were added.
+     * The values of the map have to be unique.
+     * <p>
+     * Example: For.of(myVbox, myUsersById, myControllerProvider, Map.of(), (controller, item) -> controller.foo(item), Comparator.comparing(User::name));
+     *
+     * @param container    The container to add the nodes to
+     * @param map          The map whose values should be displayed
+     * @param nodeProvider The provider to create the controller for each value
+     * @param params       The parameters to pass to the created controller
+     * @param beforeInit   The method to call when the controller is created
+     * @param comparator   The comparator to sort the values by or null to keep the insertion order
+     * @param <Item>       The type of the values
+     * @param <Node>       The node to display for each value
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull ObservableMap<?, @NotNull Item> map, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit, @Nullable Comparator<? super Item> comparator) {
+        KeyedObservableList<?, Item> items = KeyedObservableList.ofValues(map, comparator);
+        For<Node, Item> forLoop = of(container, items, nodeProvider, params, beforeInit);
+        forLoop.disposable().add(items);
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop displaying the values of a map in the order their entries were added and initializes it.
+     * <p>
+     * Every change of the map adds, updates or removes exactly one node.
+     * The values of the map have to be unique.
+     * <p>
+     * Example: For.of(myVbox, myUsersById, myControllerProvider);
+     *
+     * @param container    The container to add the nodes to
+     * @param map          The map whose values should be displayed
+     * @param nodeProvider The provider to create the controller for each value
+     * @param <Item>       The type of the values
+     * @param <Node>       The node to display for each value
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull ObservableMap<?, @NotNull Item> map, @NotNull Provider<@NotNull Node> nodeProvider) {
+        return of(container, map, nodeProvider, Map.of(), (controller, item) -> {
+        }, null);
+    }
+
+    /**
+     * Creates a new For loop displaying the elements of a set and initializes it.
+     * <p>
+     * Every change of the set adds or removes exactly one node, which takes O(log n) time to locate.
+     * The elements are sorted by the given comparator or displayed in the order they were added.
+     * <p>
+     * Example: For.of(myVbox, mySelectedUsers, myControllerProvider, Map.of(), (controller, item) -> controller.foo(item), Comparator.comparing(User::name));
+     *
+     * @param container    The container to add the nodes to
+     * @param set          The set whose elements should be displayed
+     * @param nodeProvider The provider to create the controller for each element
+     * @param params       The parameters to pass to the created controller
+     * @param beforeInit   The method to call when the controller is created
+     * @param comparator   The comparator to sort the elements by or null to keep the insertion order
+     * @param <Item>       The type of the elements
+     * @param <Node>       The node to display for each element
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull ObservableSet<@NotNull Item> set, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit, @Nullable Comparator<? super Item> comparator) {
+        KeyedObservableList<Item, Item> items = KeyedObservableList.of(set, comparator);
+        For<Node, Item> forLoop = of(container, items, nodeProvider, params, beforeInit);
+        forLoop.disposable().add(items);
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop displaying the elements of a set in the order they were added and initializes it.
+     * <p>
+     * Every change of the set adds or removes exactly one node.
+     * <p>
+     * Example: For.of(myVbox, mySelectedUsers, myControllerProvider);
+     *
+     * @param container    The container to add the nodes to
+     * @param set          The set whose elements should be displayed
+     * @param nodeProvider The provider to create the controller for each element
+     * @param <Item>       The type of the elements
+     * @param <Node>       The node to display for each element
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull ObservableSet<@NotNull Item> set, @NotNull Provider<@NotNull Node> nodeProvider) {
+        return of(container, set, nodeProvider, Map.of(), (controller, item) -> {
+        }, null);
+    }
+
+    /**
+     * Creates a new For loop displaying the objects of a to-many association of a model and initializes it.
+     * <p>
+     * The loop listens once to the property change events of the owning object instead of copying the association into a list.
+     * Every added or removed object adds or removes exactly one node, which takes O(log n) time to locate.
+     * The objects are sorted by the given comparator or displayed in the order they were added.
+     * <p>
+     * Example: For.of(myPane, board.listeners(), Board.PROPERTY_FIELDS, board.getFields(), myControllerProvider, Map.of(), (controller, item) -> controller.foo(item), null);
+     *
+     * @param container    The container to add the nodes to
+     * @param support      The property change support of the object owning the association
+     * @param property     The name of the to-many property
+     * @param initial      The objects currently in the association
+     * @param nodeProvider The provider to create the controller for each object
+     * @param params       The parameters to pass to the created controller
+     * @param beforeInit   The method to call when the controller is created
+     * @param comparator   The comparator to sort the objects by or null to keep the order in which they were added
+     * @param <Item>       The type of the objects
+     * @param <Node>       The node to display for each object
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull PropertyChangeSupport support, @NotNull String property, @NotNull Collection<? extends @NotNull Item> initial, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit, @Nullable Comparator<? super Item> comparator) {
+        KeyedObservableList<Item, Item> items = KeyedObservableList.ofAssociation(support, property, initial, comparator);
+        For<Node, Item> forLoop = of(container, items, nodeProvider, params, beforeInit);
+        forLoop.disposable().add(items);
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop displaying the objects of a to-many association of a model in the order they were added and initializes it.
+     * <p>
+     * Every added or removed object adds or removes exactly one node.
+     * <p>
+     * Example: For.of(myPane, board.listeners(), Board.PROPERTY_FIELDS, board.getFields(), myControllerProvider);
+     *
+     * @param container    The container to add the nodes to
+     * @param support      The property change support of the object owning the association
+     * @param property     The name of the to-many property
+     * @param initial      The objects currently in the association
+     * @param nodeProvider The provider to create the controller for each object
+     * @param <Item>       The type of the objects
+     * @param <Node>       The node to display for each object
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> of(@NotNull Parent container, @NotNull PropertyChangeSupport support, @NotNull String property, @NotNull Collection<? extends @NotNull Item> initial, @NotNull Provider<@NotNull Node> nodeProvider) {
+        return of(container, support, property, initial, nodeProvider, Map.of(), (controller, item) -> {
+        }, null);
+    }
+
+    /**
+     * Creates a new For loop displaying a node for every value of an int array and initializes it.
+     * <p>
+     * The nodes are tracked by index, so the array may contain duplicate values.
+     * When a value changes, the node is updated using the update function or {@link ReusableIntComponent#setValue(int)}
+     * without boxing the value. Nodes which can't be updated are recreated.
+     * <p>
+     * Example: For.of(myHbox, myValues, myBarProvider, Map.of(), (bar, value) -> bar.setPrefHeight(value));
+     *
+     * @param container    The container to add the nodes to
+     * @param array        The array of values to display
+     * @param nodeProvider The provider to create the node for each value
+     * @param params       The parameters to pass to the created controllers
+     * @param update       The function updating a node with its value or null to use {@link ReusableIntComponent}
+     * @param <Node>       The node to display for each value
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node> ArrayFor<Node, ObservableIntegerArray> of(@NotNull Parent container, @NotNull ObservableIntegerArray array, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @Nullable ObjIntConsumer<@NotNull Node> update) {
+        ArrayFor<Node, ObservableIntegerArray> forLoop = new ArrayFor<>(this.controllerManager, container, array, nodeProvider, params, (node, index) -> {
+            if (update != null) {
+                update.accept(node, array.get(index));
+            } else if (node instanceof ReusableIntComponent component) {
+                component.setValue(array.get(index));
+            } else {
+                return false;
+            }
+            return true;
+        });
+        forLoop.init();
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop displaying a component implementing {@link ReusableIntComponent} for every value of an int array and initializes it.
+     * <p>
+     * Example: For.of(myHbox, myValues, myGaugeProvider);
+     *
+     * @param container    The container to add the nodes to
+     * @param array        The array of values to display
+     * @param nodeProvider The provider to create the node for each value
+     * @param <Node>       The node to display for each value
+     * @return The For loop
+     * @see #of(Parent, ObservableIntegerArray, Provider, Map, ObjIntConsumer)
+     */
+    public <Node extends javafx.scene.Node> ArrayFor<Node, ObservableIntegerArray> of(@NotNull Parent container, @NotNull ObservableIntegerArray array, @NotNull Provider<@NotNull Node> nodeProvider) {
+        return of(container, array, nodeProvider, Map.of(), (ObjIntConsumer<Node>) null);
+    }
+
+    /**
+     * Creates a new For loop displaying a node for every value of a float array and initializes it.
+     * <p>
+     * The nodes are tracked by index, so the array may contain duplicate values.
+     * When a value changes, the node is updated using the update function or {@link ReusableFloatComponent#setValue(float)}
+     * without boxing the value. Nodes which can't be updated are recreated.
+     * <p>
+     * Example: For.of(myHbox, mySeries, myBarProvider, Map.of(), (bar, value) -> bar.setPrefHeight(value * 100));
+     *
+     * @param container    The container to add the nodes to
+     * @param array        The array of values to display
+     * @param nodeProvider The provider to create the node for each value
+     * @param params       The parameters to pass to the created controllers
+     * @param update       The function updating a node with its value or null to use {@link ReusableFloatComponent}
+     * @param <Node>       The node to display for each value
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node> ArrayFor<Node, ObservableFloatArray> of(@NotNull Parent container, @NotNull ObservableFloatArray array, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @Nullable ObjDoubleConsumer<@NotNull Node> update) {
+        ArrayFor<Node, ObservableFloatArray> forLoop = new ArrayFor<>(this.controllerManager, container, array, nodeProvider, params, (node, index) -> {
+            if (update != null) {
+                update.accept(node, array.get(index));
+            } else if (node instanceof ReusableFloatComponent component) {
+                component.setValue(array.get(index));
+            } else {
+                return false;
+            }
+            return true;
+        });
+        forLoop.init();
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop displaying a component implementing {@link ReusableFloatComponent} for every value of a float array and initializes it.
+     * <p>
+     * Example: For.of(myHbox, mySeries, myGaugeProvider);
+     *
+     * @param container    The container to add the nodes to
+     * @param array        The array of values to display
+     * @param nodeProvider The provider to create the node for each value
+     * @param <Node>       The node to display for each value
+     * @return The For loop
+     * @see #of(Parent, ObservableFloatArray, Provider, Map, ObjDoubleConsumer)
+     */
+    public <Node extends javafx.scene.Node> ArrayFor<Node, ObservableFloatArray> of(@NotNull Parent container, @NotNull ObservableFloatArray array, @NotNull Provider<@NotNull Node> nodeProvider) {
+        return of(container, array, nodeProvider, Map.of(), (ObjDoubleConsumer<Node>) null);
+    }
+
+    /**
+     * Creates a new For loop for use in code and initializes it progressively.
+     * <p>
+     * Instead of creating the nodes for all items at once, the loop creates them in chunks.
+     * In each pulse, nodes are created until the given budget is used up, so the application stays responsive even for huge lists.
+     * Changes to the list while the loop is being built are respected, the nodes will always be in the order of the list.
+     * Use {@link For#completion()} to get notified once all nodes have been created.
+     * <p>
+     * Example: For.progressive(myVbox, myListOfItems, myControllerProvider, Map.of("argument", value), (controller, item) -> controller.setItem(item), Duration.millis(4));
+     *
+     * @param container    The container to add the nodes to
+     * @param items        The list of items to display
+     * @param nodeProvider The provider to create the controller for each item
+     * @param params       The parameters to pass to the created controller
+     * @param beforeInit   The method to call when the controller is created (useful for setting the item)
+     * @param budget       The time per pulse to spend on creating nodes
+     * @param <Item>       The type of item
+     * @param <Node>       The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> progressive(@NotNull Parent container, @NotNull ObservableList<@NotNull Item> items, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit, @NotNull Duration budget) {
+        For<Node, Item> forLoop = new For<>(this.controllerManager);
+        forLoop.setBeforeInit(beforeInit);
+        forLoop.setBudget(budget);
+        forLoop.setContainer(container);
+        forLoop.setItems(items);
+        forLoop.setProvider(nodeProvider);
+        forLoop.setParams(params);
+        forLoop.init();
+        return forLoop;
+    }
+
+    /**
+     * Creates a new For loop for use in code and initializes it progressively using the {@link For#DEFAULT_BUDGET default budget}.
+     * <p>
+     * Instead of creating the nodes for all items at once, the loop creates them in chunks over multiple pulses.
+     * Use {@link For#completion()} to get notified once all nodes have been created.
+     * <p>
+     * Example: For.progressive(myVbox, myListOfItems, myControllerProvider);
+     *
+     * @param container    The container to add the nodes to
+     * @param items        The list of items to display
+     * @param nodeProvider The provider to create the controller for each item
+     * @param <Item>       The type of item
+     * @param <Node>       The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> For<Node, Item> progressive(@NotNull Parent container, @NotNull ObservableList<@NotNull Item> items, @NotNull Provider<@NotNull Node> nodeProvider) {
+        return progressive(container, items, nodeProvider, Map.of(), (controller, item) -> {
+        }, For.DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates a new streaming For loop for use in code and initializes it.
+     * <p>
+     * The loop subscribes to the given source and displays the last items emitted by it (up to the given size).
+     * Items can be emitted from any thread, all items arriving within one pulse are added at once.
+     * When the window is full, the oldest items are removed in the same change and their components are reused for new items (if they are {@link ReusableItemComponent}s).
+     * The subscription is disposed together with the For loop.
+     * <p>
+     * Example: For.stream(myVbox, myEventFlowable, myControllerProvider, Map.of("argument", value), (controller, item) -> controller.foo(item), 100);
+     *
+     * @param container    The container to add the nodes to
+     * @param source       The source emitting the items to display
+     * @param nodeProvider The provider to create the controller for each item
+     * @param params       The parameters to pass to the created controller
+     * @param beforeInit   The method to call when a new controller is created
+     * @param size         The maximum amount of displayed items
+     * @param <Item>       The type of item
+     * @param <Node>       The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> StreamingFor<Node, Item> stream(@NotNull Parent container, @NotNull Flowable<@NotNull Item> source, @NotNull Provider<@NotNull Node> nodeProvider, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit, int size) {
+        // Components of evicted items are parked for the items added in the same update
+        ComponentPool<Node> pool = new ComponentPool<>(this.app, nodeProvider, size);
+        StreamingFor<Node, Item> forLoop = stream(container, source, pool, params, beforeInit, size);
+        forLoop.disposable().add(pool);
+        return forLoop;
+    }
+
+    /**
+     * Creates a new streaming For loop for use in code and initializes it.
+     * <p>
+     * The loop subscribes to the given source and displays the last items emitted by it (up to the given size).
+     * Items can be emitted from any thread, all items arriving within one pulse are added at once.
+     * The subscription is disposed together with the For loop.
+     * <p>
+     * Example: For.stream(myVbox, myEventFlowable, myControllerProvider, 100);
+     *
+     * @param container    The container to add the nodes to
+     * @param source       The source emitting the items to display
+     * @param nodeProvider The provider to create the controller for each item
+     * @param size         The maximum amount of displayed items
+     * @param <Item>       The type of item
+     * @param <Node>       The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> StreamingFor<Node, Item> stream(@NotNull Parent container, @NotNull Flowable<@NotNull Item> source, @NotNull Provider<@NotNull Node> nodeProvider, int size) {
+        return stream(container, source, nodeProvider, Map.of(), (controller, item) -> {
+        }, size);
+    }
+
+    /**
+     * Creates a new streaming For loop for use in code and initializes it.
+     * <p>
+     * The loop subscribes to the given source and displays the last items emitted by it (up to the given size).
+     * Components are acquired from the given pool and given back to it when their items are evicted.
+     * The pool has to be disposed manually.
+     *
+     * @param container  The container to add the nodes to
+     * @param source     The source emitting the items to display
+     * @param pool       The pool to acquire the components from
+     * @param params     The parameters to pass to newly created components
+     * @param beforeInit The method to call when a new component is created (not called for components taken from the pool)
+     * @param size       The maximum amount of displayed items
+     * @param <Item>     The type of item
+     * @param <Node>     The node to display for each item
+     * @return The For loop
+     */
+    public <Node extends javafx.scene.Node, Item> StreamingFor<Node, Item> stream(@NotNull Parent container, @NotNull Flowable<@NotNull Item> source, @NotNull ComponentPool<Node> pool, @NotNull Map<@NotNull String, @Nullable Object> params, @NotNull BiConsumer<@NotNull Node, @Nullable Item> beforeInit, int size) {
+        StreamingFor<Node, Item> forLoop = new StreamingFor<>(this.controllerManager, size);
+        forLoop.setBeforeInit(beforeInit);
+        forLoop.setContainer(container);
+        forLoop.setPool(pool);
+        forLoop.setParams(params);
+        forLoop.init();
+        forLoop.setSource(source);
+        return forLoop;
+    }
+
 }
@@ -0,0 +1,210 @@
+package org.fulib.fx.constructs.forloop;
+
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.subscribers.DisposableSubscriber;
+import javafx.collections.ModifiableObservableListBase;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.controller.ControllerManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import static org.fulib.fx.util.FrameworkUtil.error;
+
+/**
+ * A For loop displaying the latest items emitted by a {@link Flowable}.
+ * <p>
+ * Items can be emitted from any thread. All items arriving until the next pulse are added in a single update using {@link FulibFxApp#FX_EXECUTOR}.
+ * Only the last items (up to the window size) are displayed, older items are removed from the head of the list.
+ * Removing the oldest items and adding the new items is published as a single change, so the components of the removed items
+ * can be reused for the new items.
+ * If the source emits faster than the items can be displayed, the oldest items which haven't been displayed yet are dropped.
+ * <p>
+ * Like for normal For loops, the emitted items have to be unique within the window.
+ * The subscription to the source is disposed together with the For loop.
+ *
+ * @param <Node> The type of the node to display for each item (e.g. a component or a node)
+ * @param <Item> The type of the items in the list
+ */
+public class StreamingFor<Node extends javafx.scene.Node, Item> extends For<Node, Item> {
+
+    // The currently displayed items
+    private final Window<Item> window = new Window<>();
+    // The items which arrived since the last update
+    private final Queue<Item> arrivals = new ConcurrentLinkedQueue<>();
+    // Whether an update has already been scheduled on the FX thread
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // The amount of items which were dropped because the source emitted too fast
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final int size;
+
+    private DisposableSubscriber<Item> subscriber;
+
+    /**
+     * Use the factory methods to create a new streaming For loop.
+     *
+     * @param controllerManager The controller manager for initializing the components
+     * @param size              The maximum amount of displayed items
+     */
+    protected StreamingFor(ControllerManager controllerManager, int size) {
+        super(controllerManager);
+        if (size <= 0) throw new IllegalArgumentException("Size must be positive");
+        this.size = size;
+        setItems(this.window);
+    }
+
+    /**
+     * Subscribes to the source. Items are requested as soon as the previous items have been displayed.
+     *
+     * @param source The source emitting the items
+     */
+    protected void setSource(Flowable<Item> source) {
+        if (this.subscriber != null) {
+            throw new IllegalStateException(error(7000));
+        }
+
+        this.subscriber = new DisposableSubscriber<>() {
+            @Override
+            protected void onStart() {
+                request(size);
+            }
+
+            @Override
+            public void onNext(Item item) {
+                arrivals.offer(item);
+                // Only one update is scheduled at a time, all items arriving in the meantime are added in the same update
+                if (scheduled.compareAndSet(false, true)) {
+                    FulibFxApp.FX_EXECUTOR.executeOnPulse(StreamingFor.this::update);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                FulibFxApp.LOGGER.log(Level.SEVERE, error(7002), throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+        this.disposable().add(this.subscriber);
+
+        source.onBackpressureBuffer(this.size, this.dropped::incrementAndGet, BackpressureOverflowStrategy.DROP_OLDEST)
+                .subscribe(this.subscriber);
+    }
+
+    /**
+     * Adds all arrived items to the window and removes the oldest items if the window is full.
+     */
+    private void update() {
+        this.scheduled.set(false);
+
+        List<Item> batch = new ArrayList<>();
+        Item item;
+        while ((item = this.arrivals.poll()) != null) {
+            batch.add(item);
+        }
+        if (batch.isEmpty() || this.subscriber.isDisposed()) {
+            return;
+        }
+
+        // The oldest items are removed in the same change, so that their components can be reused for the new items
+        List<Item> added = batch.size() > this.size ? batch.subList(batch.size() - this.size, batch.size()) : batch;
+        this.window.shift(this.window.size() + added.size() - this.size, added);
+
+        // Request as many items as have been taken from the queue, buffered items arrive synchronously and are added in the next pulse
+        this.subscriber.request(batch.size());
+    }
+
+    /**
+     * Returns the maximum amount of displayed items.
+     *
+     * @return The size of the window
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the amount of items which have been dropped without being displayed because the source emitted too fast.
+     *
+     * @return The amount of dropped items
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * The list of displayed items. Items are removed from the head and added to the tail in a single change.
+     *
+     * @param <E> The type of the items
+     */
+    private static class Window<E> extends ModifiableObservableListBase<E> {
+
+        private final List<E> items = new ArrayList<>();
+
+        /**
+         * Removes the given amount of items from the head of the list and adds the given items to the tail.
+         *
+         * @param overflow The amount of items to remove, nothing is removed if the amount isn't positive
+         * @param added    The items to add
+         */
+        void shift(int overflow, Collection<? extends E> added) {
+            beginChange();
+            try {
+                if (overflow > 0) {
+                    removeRange(0, overflow);
+                }
+                addAll(added);
+            } finally {
+                endChange();
+            }
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            beginChange();
+            try {
+                List<E> range = this.items.subList(fromIndex, toIndex);
+                nextRemove(fromIndex, new ArrayList<>(range));
+                range.clear();
+                this.modCount++;
+            } finally {
+                endChange();
+            }
+        }
+
+        @Override
+        public E get(int index) {
+            return this.items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.items.size();
+        }
+
+        @Override
+        protected void doAdd(int index, E element) {
+            this.items.add(index, element);
+        }
+
+        @Override
+        protected E doSet(int index, E element) {
+            return this.items.set(index, element);
+        }
+
+        @Override
+        protected E doRemove(int index) {
+            return this.items.remove(index);
+        }
+    }
+}
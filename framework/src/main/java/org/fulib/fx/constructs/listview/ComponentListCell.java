@@ -4,10 +4,11 @@ import javafx.scene.Parent;
 import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.ListCell;
 import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.constructs.ComponentCellSupport;
+import org.fulib.fx.constructs.ComponentPool;
 import org.fulib.fx.constructs.ReusableItemComponent;
 
 import javax.inject.Provider;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -15,17 +16,16 @@ import java.util.Map;
  * <p>
  * The component is created using a provider and can be reused if it implements {@link ReusableItemComponent}.
  * If the component is not reusable, it will be destroyed and recreated when the item changes.
+ * <p>
+ * If a {@link ComponentPool} is used instead of a provider, components of emptied cells are given back to the pool
+ * and new components are taken from the pool, so that they can be shared between cells (and other constructs).
  *
  * @param <Item>      The type of the item in the list view
  * @param <Component> The type of the component to display for the item
  */
 public class ComponentListCell<Item, Component extends Parent> extends ListCell<Item> {
 
-    private final FulibFxApp app;
-    private final Provider<? extends Component> provider;
-    private final Map<String, Object> extraParams; // extra parameters to pass to the component
-
-    private Component component;
+    private final ComponentCellSupport<Item, Component> support;
 
     /**
      * Creates a new component list cell.
@@ -47,46 +47,42 @@ public class ComponentListCell<Item, Component extends Parent> extends ListCell<
     public ComponentListCell(FulibFxApp app, Provider<? extends Component> provider, Map<String, Object> extraParams) {
         super();
         setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
-        this.app = app;
-        this.provider = provider;
-        this.extraParams = extraParams;
+        this.support = new ComponentCellSupport<>(app, provider, extraParams);
+    }
+
+    /**
+     * Creates a new component list cell using a pool of components.
+     *
+     * @param app  The FulibFX app
+     * @param pool The pool to acquire the components from
+     */
+    public ComponentListCell(FulibFxApp app, ComponentPool<? extends Component> pool) {
+        this(app, pool, Map.of());
+    }
+
+    /**
+     * Creates a new component list cell using a pool of components.
+     *
+     * @param app         The FulibFX app
+     * @param pool        The pool to acquire the components from
+     * @param extraParams Extra parameters to pass to newly created components
+     */
+    public ComponentListCell(FulibFxApp app, ComponentPool<? extends Component> pool, Map<String, Object> extraParams) {
+        super();
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        this.support = new ComponentCellSupport<>(app, pool, extraParams);
     }
 
     @Override
     protected void updateItem(Item item, boolean empty) {
         super.updateItem(item, empty);
 
-        // Destroy component if the cell is emptied
-        if (empty || item == null) {
-            if (component != null) {
-                app.destroy(component);
-                component = null;
-            }
+        // Remove the component before it is destroyed (if the cell is emptied or the component is not reusable)
+        if (this.support.releases(item, empty)) {
             setGraphic(null);
-            return;
-        }
-
-        // Destroy old component if necessary (if it is not reusable)
-        if (component != null && !(component instanceof ReusableItemComponent<?>)) {
-            app.destroy(component);
-            component = null;
-        }
-
-        // Create and render new component if necessary
-        if (component == null) {
-            component = provider.get();
-            // Add item and list to parameters if they are not already present
-            final Map<String, Object> params = new HashMap<>(extraParams);
-            params.putIfAbsent("item", item);
-            params.putIfAbsent("list", getListView().getItems());
-            setGraphic(app.initAndRender(component, params));
         }
 
-        // Update component if possible
-        if (component instanceof ReusableItemComponent<?>) {
-            //noinspection unchecked
-            ((ReusableItemComponent<Item>) component).setItem(item);
-        }
+        // Add item and list to parameters if they are not already present
+        setGraphic(this.support.update(item, empty, "list", empty ? null : getListView().getItems()));
     }
 }
-
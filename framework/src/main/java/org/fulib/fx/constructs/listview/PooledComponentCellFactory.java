@@ -0,0 +1,373 @@
+package org.fulib.fx.constructs.listview;
+
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+import javafx.util.Duration;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.constructs.ComponentCellSupport;
+import org.fulib.fx.constructs.ComponentPool;
+import org.fulib.fx.constructs.ReusableItemComponent;
+import org.fulib.fx.data.LayeredMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A cell factory for list views creating cells which display components taken from a {@link ComponentPool}.
+ * <p>
+ * Compared to {@link ComponentListCell}, the factory is optimized for fast scrolling through long lists:
+ * <ul>
+ *     <li>The pool can be pre-warmed, so that the first cells don't have to initialize and render new components.</li>
+ *     <li>While the list is scrolled quickly (many cells are rebound in a short time), cells show a lightweight placeholder
+ *     instead of creating or updating their component. Once scrolling settles, the visible cells display their real component.</li>
+ * </ul>
+ * The components should implement {@link ReusableItemComponent}, otherwise they can't be pooled and are recreated for every item.
+ * <p>
+ * When a cell is discarded by the list view (e.g. when the skin recreates its cells), its component is released to the pool.
+ * Disposing the factory releases the components of all cells and destroys the pool if it has been created by the factory.
+ *
+ * @param <Item>      The type of the items in the list view
+ * @param <Component> The type of the component to display for the items
+ */
+public class PooledComponentCellFactory<Item, Component extends Parent> implements Callback<ListView<Item>, ListCell<Item>>, Disposable {
+
+    /**
+     * The default time without fast scrolling after which the real components are displayed.
+     */
+    public static final Duration DEFAULT_SETTLE_DELAY = Duration.millis(150);
+
+    /**
+     * The default amount of cell rebinds within the settle delay from which on scrolling counts as fast.
+     */
+    public static final int DEFAULT_FAST_SCROLL_THRESHOLD = 30;
+
+    /**
+     * The default time per pulse which is spent on pre-warming the pool.
+     */
+    public static final Duration DEFAULT_PREWARM_BUDGET = Duration.millis(4);
+
+    private final ComponentPool<Component> pool;
+    private final boolean ownsPool;
+    private final Map<String, Object> extraParams;
+
+    // All cells created by this factory which currently belong to a list view
+    private final CompositeDisposable cells = new CompositeDisposable();
+    // Cells showing a placeholder which have to be rendered once scrolling settles
+    private final Set<PooledCell> deferred = new LinkedHashSet<>();
+    // Fires once no cell has been rebound for the settle delay
+    private final PauseTransition settle = new PauseTransition(DEFAULT_SETTLE_DELAY);
+
+    private Function<? super Item, ? extends Node> placeholderFactory = item -> new Label(String.valueOf(item));
+    private int fastScrollThreshold = DEFAULT_FAST_SCROLL_THRESHOLD;
+    private long prewarmBudget = (long) (DEFAULT_PREWARM_BUDGET.toMillis() * 1_000_000);
+
+    // The times of the last rebinds (as a ring buffer with one slot per rebind of the threshold)
+    private long[] rebindTimes = new long[DEFAULT_FAST_SCROLL_THRESHOLD];
+    private int nextRebind;
+    private boolean fastScrolling;
+
+    // The timer pre-warming the pool (null if the pool isn't being pre-warmed)
+    private AnimationTimer prewarmer;
+    private boolean disposed;
+
+    /**
+     * Creates a new cell factory with its own pool.
+     *
+     * @param app         The FulibFX app
+     * @param provider    The provider to create the components
+     * @param poolSize    The maximum amount of parked components
+     * @param extraParams Extra parameters to pass to newly created components
+     */
+    public PooledComponentCellFactory(@NotNull FulibFxApp app, @NotNull Provider<? extends Component> provider, int poolSize, @NotNull Map<@NotNull String, @Nullable Object> extraParams) {
+        this(new ComponentPool<>(app, provider, poolSize), true, extraParams);
+    }
+
+    /**
+     * Creates a new cell factory using the given pool.
+     * The pool will not be disposed when the factory is disposed.
+     *
+     * @param pool        The pool to acquire the components from
+     * @param extraParams Extra parameters to pass to newly created components
+     */
+    public PooledComponentCellFactory(@NotNull ComponentPool<Component> pool, @NotNull Map<@NotNull String, @Nullable Object> extraParams) {
+        this(pool, false, extraParams);
+    }
+
+    private PooledComponentCellFactory(ComponentPool<Component> pool, boolean ownsPool, Map<String, Object> extraParams) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.extraParams = extraParams;
+        this.settle.setOnFinished(event -> settled());
+    }
+
+    @Override
+    public ListCell<Item> call(ListView<Item> listView) {
+        PooledCell cell = new PooledCell();
+        ComponentCellSupport.register(cell, cell.listViewProperty(), cell::release, this.cells);
+        return cell;
+    }
+
+    /**
+     * Fills the pool with the given amount of components in the background.
+     * <p>
+     * The components are created in chunks, each pulse spends at most the pre-warm budget on creating components.
+     * Calling this method again replaces the previous target amount.
+     *
+     * @param count The amount of components the pool should contain
+     */
+    public void prewarm(int count) {
+        if (this.prewarmer != null) {
+            this.prewarmer.stop();
+        }
+        this.prewarmer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                long start = System.nanoTime();
+                int target = Math.min(count, pool.getMaxSize());
+                do {
+                    if (disposed || pool.size() >= target) {
+                        stop();
+                        prewarmer = null;
+                        return;
+                    }
+                    int before = pool.size();
+                    pool.prewarm(before + 1, extraParams);
+                    if (pool.size() == before) {
+                        // The components can't be parked (not reusable)
+                        stop();
+                        prewarmer = null;
+                        return;
+                    }
+                } while (System.nanoTime() - start < prewarmBudget);
+            }
+        };
+        this.prewarmer.start();
+    }
+
+    /**
+     * Sets the time per pulse which is spent on pre-warming the pool.
+     *
+     * @param budget The time per pulse
+     */
+    public void setPrewarmBudget(@NotNull Duration budget) {
+        this.prewarmBudget = (long) (budget.toMillis() * 1_000_000);
+    }
+
+    /**
+     * Sets the time without fast scrolling after which the real components are displayed.
+     *
+     * @param delay The delay
+     */
+    public void setSettleDelay(@NotNull Duration delay) {
+        this.settle.setDuration(delay);
+    }
+
+    /**
+     * Sets the amount of cell rebinds within the settle delay from which on scrolling counts as fast.
+     * Only the rebinds within the last settle delay are counted, so slow but continuous scrolling doesn't count as fast.
+     * A value of 0 disables placeholders.
+     *
+     * @param threshold The amount of rebinds
+     */
+    public void setFastScrollThreshold(int threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("Threshold must not be negative");
+        this.fastScrollThreshold = threshold;
+        this.rebindTimes = new long[threshold];
+        this.nextRebind = 0;
+    }
+
+    /**
+     * Sets the function creating the placeholder displayed for an item while scrolling fast.
+     * The placeholder should be cheap to create, by default a label with the string representation of the item is used.
+     *
+     * @param placeholderFactory The function creating the placeholder
+     */
+    public void setPlaceholderFactory(@NotNull Function<? super Item, ? extends Node> placeholderFactory) {
+        this.placeholderFactory = placeholderFactory;
+    }
+
+    /**
+     * Returns whether the list is currently scrolled fast, i.e. cells display placeholders.
+     *
+     * @return True if the list is scrolled fast
+     */
+    public boolean isFastScrolling() {
+        return this.fastScrolling;
+    }
+
+    /**
+     * Returns the pool the components are acquired from.
+     *
+     * @return The pool
+     */
+    public @NotNull ComponentPool<Component> getPool() {
+        return this.pool;
+    }
+
+    /**
+     * Called whenever a cell has been bound to a different item.
+     * Scrolling counts as fast if the threshold has been reached within the settle delay, i.e. the oldest of the last rebinds
+     * happened at most one settle delay ago.
+     */
+    private void onRebind() {
+        if (this.fastScrollThreshold > 0) {
+            long now = System.nanoTime();
+            long oldest = this.rebindTimes[this.nextRebind];
+            this.rebindTimes[this.nextRebind] = now;
+            this.nextRebind = (this.nextRebind + 1) % this.rebindTimes.length;
+            if (oldest != 0 && now - oldest <= (long) (this.settle.getDuration().toMillis() * 1_000_000)) {
+                this.fastScrolling = true;
+            }
+        }
+        this.settle.playFromStart();
+    }
+
+    /**
+     * Called once no cell has been rebound for the settle delay. Renders all cells showing a placeholder.
+     */
+    private void settled() {
+        this.fastScrolling = false;
+        List<PooledCell> toRender = new ArrayList<>(this.deferred);
+        this.deferred.clear();
+        toRender.forEach(PooledCell::render);
+    }
+
+    /**
+     * Releases the components of all cells and stops pre-warming.
+     * If the pool has been created by the factory, it will be disposed as well.
+     */
+    @Override
+    public void dispose() {
+        if (this.disposed) {
+            return;
+        }
+        this.disposed = true;
+        this.settle.stop();
+        if (this.prewarmer != null) {
+            this.prewarmer.stop();
+            this.prewarmer = null;
+        }
+        this.deferred.clear();
+        this.cells.dispose();
+        if (this.ownsPool) {
+            this.pool.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+
+    private class PooledCell extends ListCell<Item> implements Disposable {
+
+        private Component component;
+
+        private PooledCell() {
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
+
+        @Override
+        protected void updateItem(Item item, boolean empty) {
+            Item oldItem = getItem();
+            super.updateItem(item, empty);
+
+            if (empty || item == null || disposed) {
+                release();
+                return;
+            }
+
+            if (item != oldItem) {
+                onRebind();
+            }
+
+            if (fastScrolling) {
+                // Show a placeholder and render the component once scrolling settles
+                setGraphic(placeholderFactory.apply(item));
+                deferred.add(this);
+                return;
+            }
+
+            deferred.remove(this);
+            render();
+        }
+
+        /**
+         * Displays the component for the current item, acquiring one from the pool if necessary.
+         */
+        private void render() {
+            Item item = getItem();
+            if (isEmpty() || item == null || disposed) {
+                return;
+            }
+
+            // Non-reusable components can't be rebound and have to be replaced
+            if (this.component != null && !(this.component instanceof ReusableItemComponent<?>)) {
+                pool.release(detach());
+            }
+
+            if (this.component == null) {
+                this.component = pool.acquire(LayeredMap.of(extraParams, "item", item, "list", getListView().getItems()));
+            }
+            if (this.component instanceof ReusableItemComponent<?>) {
+                //noinspection unchecked
+                ((ReusableItemComponent<Item>) this.component).setItem(item);
+            }
+            setGraphic(this.component);
+        }
+
+        /**
+         * Stops waiting for scrolling to settle, removes the graphic and releases the component.
+         */
+        private void release() {
+            deferred.remove(this);
+            clear();
+        }
+
+        /**
+         * Removes the graphic and releases the component.
+         */
+        private void clear() {
+            setGraphic(null);
+            if (this.component != null) {
+                // If the factory owns the pool, it is disposed afterward which destroys the parked components
+                pool.release(detach());
+            }
+        }
+
+        @Override
+        public void dispose() {
+            release();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        private Component detach() {
+            Component old = this.component;
+            this.component = null;
+            if (getGraphic() == old) {
+                setGraphic(null);
+            }
+            return old;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.fulib.fx.constructs.tableview;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+import javafx.scene.Parent;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.TreeTableCell;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableRow;
+import javafx.util.Callback;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.constructs.ComponentCellSupport;
+import org.fulib.fx.constructs.ComponentPool;
+import org.fulib.fx.constructs.ReusableItemComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Provider;
+import java.util.Map;
+
+/**
+ * A tree table cell displaying a component for the value of a cell in a tree table view.
+ * <p>
+ * The component is created using a provider (or taken from a {@link ComponentPool}) and can be reused for other rows
+ * if it implements {@link ReusableItemComponent}. If the component is not reusable, it will be destroyed and recreated when the value changes.
+ * <p>
+ * When a new component is created, the parameters "item" (the value of the cell) and "treeItem" (the tree item of the row) are passed to it.
+ * <p>
+ * Disposing the cell destroys its component. Use {@link #forTreeTableColumn(FulibFxApp, Provider, Map, DisposableContainer)}
+ * to register all cells of a column at a container (e.g. a {@link org.fulib.fx.controller.Subscriber}),
+ * so that their components are destroyed together with the controller. Cells discarded by the control release their component
+ * and are removed from the container.
+ *
+ * @param <Row>       The type of the values of the tree items
+ * @param <Item>      The type of the values of the column
+ * @param <Component> The type of the component to display for the values
+ */
+public class ComponentTreeTableCell<Row, Item, Component extends Parent> extends TreeTableCell<Row, Item> implements Disposable {
+
+    private final ComponentCellSupport<Item, Component> support;
+
+    /**
+     * Creates a new component tree table cell.
+     *
+     * @param app         The FulibFX app
+     * @param provider    The provider to create the component
+     * @param extraParams Extra parameters to pass to the component
+     */
+    public ComponentTreeTableCell(@NotNull FulibFxApp app, @NotNull Provider<? extends Component> provider, @NotNull Map<@NotNull String, @Nullable Object> extraParams) {
+        super();
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        this.support = new ComponentCellSupport<>(app, provider, extraParams);
+    }
+
+    /**
+     * Creates a new component tree table cell using a pool of components.
+     *
+     * @param app         The FulibFX app
+     * @param pool        The pool to acquire the components from
+     * @param extraParams Extra parameters to pass to newly created components
+     */
+    public ComponentTreeTableCell(@NotNull FulibFxApp app, @NotNull ComponentPool<? extends Component> pool, @NotNull Map<@NotNull String, @Nullable Object> extraParams) {
+        super();
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        this.support = new ComponentCellSupport<>(app, pool, extraParams);
+    }
+
+    /**
+     * Creates a cell factory for a tree table column. Created cells are added to the given container while they belong to a control and disposed with it.
+     *
+     * @param app         The FulibFX app
+     * @param provider    The provider to create the components
+     * @param extraParams Extra parameters to pass to the components
+     * @param container   The container to add the cells to (e.g. a subscriber)
+     * @param <Row>       The type of the values of the tree items
+     * @param <Item>      The type of the values of the column
+     * @param <Component> The type of the component to display for the values
+     * @return The cell factory
+     */
+    public static <Row, Item, Component extends Parent> @NotNull Callback<TreeTableColumn<Row, Item>, TreeTableCell<Row, Item>> forTreeTableColumn(@NotNull FulibFxApp app, @NotNull Provider<? extends Component> provider, @NotNull Map<@NotNull String, @Nullable Object> extraParams, @NotNull DisposableContainer container) {
+        return column -> {
+            ComponentTreeTableCell<Row, Item, Component> cell = new ComponentTreeTableCell<>(app, provider, extraParams);
+            ComponentCellSupport.register(cell, cell.treeTableViewProperty(), cell::release, container);
+            return cell;
+        };
+    }
+
+    /**
+     * Creates a cell factory for a tree table column using a pool of components. Created cells are added to the given container while they belong to a control and disposed with it.
+     *
+     * @param app         The FulibFX app
+     * @param pool        The pool to acquire the components from
+     * @param extraParams Extra parameters to pass to newly created components
+     * @param container   The container to add the cells to (e.g. a subscriber)
+     * @param <Row>       The type of the values of the tree items
+     * @param <Item>      The type of the values of the column
+     * @param <Component> The type of the component to display for the values
+     * @return The cell factory
+     */
+    public static <Row, Item, Component extends Parent> @NotNull Callback<TreeTableColumn<Row, Item>, TreeTableCell<Row, Item>> forTreeTableColumn(@NotNull FulibFxApp app, @NotNull ComponentPool<? extends Component> pool, @NotNull Map<@NotNull String, @Nullable Object> extraParams, @NotNull DisposableContainer container) {
+        return column -> {
+            ComponentTreeTableCell<Row, Item, Component> cell = new ComponentTreeTableCell<>(app, pool, extraParams);
+            ComponentCellSupport.register(cell, cell.treeTableViewProperty(), cell::release, container);
+            return cell;
+        };
+    }
+
+    @Override
+    protected void updateItem(Item item, boolean empty) {
+        super.updateItem(item, empty);
+
+        // Remove the component before it is destroyed (if the cell is emptied or the component is not reusable)
+        if (this.support.releases(item, empty)) {
+            setGraphic(null);
+        }
+
+        // Add item and tree item to parameters if they are not already present
+        TreeTableRow<Row> row = getTableRow();
+        setGraphic(this.support.update(item, empty, "treeItem", row == null ? null : row.getTreeItem()));
+    }
+
+    /**
+     * Removes the component from the cell and destroys it (or gives it back to the pool).
+     */
+    private void release() {
+        setGraphic(null);
+        this.support.release();
+    }
+
+    /**
+     * Removes and destroys the component of the cell. Afterward, the cell stays empty.
+     */
+    @Override
+    public void dispose() {
+        setGraphic(null);
+        this.support.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.support.isDisposed();
+    }
+}
@@ -4,6 +4,7 @@ import dagger.Lazy;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.scheduler.FxPriority;
 import org.fulib.fx.util.FileUtil;
 
 import javax.inject.Inject;
@@ -71,10 +72,10 @@ public class AutoRefresher {
                         if (file.getFileName().toString().contains(".fxml")) {
                             // Check if the file contains the current main controller as fx:controller (only reload if the fxml file is actually used)
                             if (FileUtil.getContent(file.toFile()).contains(String.format(FX_CONTROLLER_STRING, framework.get().frameworkComponent().router().current().getKey().getClass().getName()))) {
-                                FulibFxApp.FX_SCHEDULER.scheduleDirect(() -> {
+                                FulibFxApp.FX_EXECUTOR.execute(() -> {
                                     FulibFxApp.LOGGER.info("Reloading " + file.getFileName() + " because it was modified.");
                                     framework.get().refresh();
-                                });
+                                }, FxPriority.BACKGROUND);
                             }
                         }
                     }
@@ -6,7 +6,9 @@ import javafx.event.EventHandler;
 import javafx.event.EventType;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.input.KeyEvent;
+import javafx.stage.Window;
 import org.fulib.fx.FulibFxApp;
 import org.fulib.fx.annotation.controller.Component;
 import org.fulib.fx.annotation.controller.Controller;
@@ -17,7 +19,6 @@ import org.fulib.fx.annotation.event.OnRender;
 import org.fulib.fx.controller.building.ControllerBuildFactory;
 import org.fulib.fx.controller.internal.FxSidecar;
 import org.fulib.fx.controller.internal.ReflectionSidecar;
-import org.fulib.fx.data.disposable.RefreshableCompositeDisposable;
 import org.fulib.fx.util.ControllerUtil;
 import org.fulib.fx.util.FileUtil;
 import org.fulib.fx.util.KeyEventHolder;
@@ -32,6 +33,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.fulib.fx.util.FrameworkUtil.error;
 
@@ -44,17 +46,31 @@ import static org.fulib.fx.util.FrameworkUtil.error;
 @ApiStatus.Internal
 public class ControllerManager {
 
-    // Map of controllers that have been initialized
-    private final RefreshableCompositeDisposable cleanup = new RefreshableCompositeDisposable();
+    // The root of the scope tree, containing the scopes of all initialized controllers
+    private final LifecycleScope rootScope = new LifecycleScope("root");
+    // The scope of all controllers which are destroyed when a new main controller is displayed
+    private final LifecycleScope screenScope = rootScope.child("screen");
+    // The scopes of the initialized controllers (weak keys, as the scopes only reference their owners weakly)
+    private final Map<Object, LifecycleScope> scopes = new WeakHashMap<>();
+    // The scopes of the controllers which are currently initialized or rendered, new scopes are created as their children
+    private final Deque<LifecycleScope> activeScopes = new ArrayDeque<>();
 
     private static ResourceBundle defaultResourceBundle;
     private final Map<Class<?>, FxSidecar<?>> sidecars = new IdentityHashMap<>();
 
     private final Map<Object, Collection<KeyEventHolder>> keyEventHandlers = new HashMap<>();
+    // One filter per target and event type forwarding key events to the handlers of all controllers
+    private final Map<OnKey.Target, Map<EventType<KeyEvent>, KeyEventDispatcher>> keyEventDispatchers = new EnumMap<>(OnKey.Target.class);
+
+    // Whether all controllers are currently being destroyed because a new main controller is displayed
+    private boolean tearingDown = false;
 
     @Inject
     Lazy<FulibFxApp> app;
 
+    @Inject
+    LeakDetector leakDetector;
+
     @Inject
     public ControllerManager() {
     }
@@ -87,16 +103,22 @@ public class ControllerManager {
      *
      * @param instance                   The controller/component instance
      * @param parameters                 The parameters to pass to the controller/component
-     * @param disposeOnNewMainController Whether the controller/component should be destroyed when a new main controller is set
+     * @param disposeOnNewMainController Whether the controller/component should be destroyed when a new main controller is set.
+     *                                   If false, the controller/component is created in the root scope, so it isn't destroyed
+     *                                   together with the controller which is currently initialized or rendered.
      * @return A disposable that can be used to destroy the controller/component and all its subcomponents manually
      */
     public Disposable init(@NotNull Object instance, @NotNull Map<@NotNull String, @Nullable Object> parameters, boolean disposeOnNewMainController) {
         Disposable disposable = Disposable.fromRunnable(() -> destroy(instance));
 
-        init(instance, parameters);
-
-        if (disposeOnNewMainController) {
-            this.cleanup.add(disposable);
+        // Top level controllers which are destroyed with the screen are created in the screen scope,
+        // controllers which have to be destroyed manually are never owned by another controller
+        if (!disposeOnNewMainController) {
+            runInScope(this.rootScope, () -> init(instance, parameters));
+        } else if (this.activeScopes.isEmpty()) {
+            runInScope(this.screenScope, () -> init(instance, parameters));
+        } else {
+            init(instance, parameters);
         }
 
         return disposable;
@@ -119,7 +141,17 @@ public class ControllerManager {
             throw new RuntimeException(error(1001).formatted(instance.getClass().getName()));
         }
 
-        getSidecar(instance).init(instance, parameters);
+        LifecycleScope scope = this.scopes.get(instance);
+        if (scope == null || scope.isDisposed()) {
+            scope = getActiveScope().child(scopeName(instance), instance, this::teardown);
+            this.scopes.put(instance, scope);
+        }
+
+        runInScope(scope, () -> getSidecar(instance).init(instance, parameters));
+
+        if (leakDetector != null) {
+            leakDetector.initialized(instance);
+        }
     }
 
     private <T> @NotNull FxSidecar<T> getSidecar(@NotNull T instance) {
@@ -172,17 +204,29 @@ public class ControllerManager {
         if (!ControllerUtil.isControllerOrComponent(instance)) {
             throw new IllegalArgumentException(error(1001).formatted(instance.getClass().getName()));
         }
-        return getSidecar(instance).render(instance, parameters);
+        LifecycleScope scope = this.scopes.get(instance);
+        Node view = scope == null || scope.isDisposed()
+                ? getSidecar(instance).render(instance, parameters)
+                : runInScope(scope, () -> getSidecar(instance).render(instance, parameters));
+
+        if (leakDetector != null) {
+            leakDetector.rendered(instance, view);
+        }
+        return view;
     }
 
     @ApiStatus.Internal
     public void addKeyEventHandler(Object instance, OnKey.Target target, EventType<KeyEvent> type, EventHandler<KeyEvent> handler) {
         keyEventHandlers.computeIfAbsent(instance, k -> new HashSet<>()).add(new KeyEventHolder(target, type, handler));
 
+        KeyEventDispatcher dispatcher = keyEventDispatchers
+                .computeIfAbsent(target, t -> new HashMap<>())
+                .computeIfAbsent(type, KeyEventDispatcher::new);
         switch (target) {
-            case SCENE -> app.get().stage().getScene().addEventFilter(type, handler);
-            case STAGE -> app.get().stage().addEventFilter(type, handler);
+            case SCENE -> dispatcher.install(app.get().stage().getScene());
+            case STAGE -> dispatcher.install(app.get().stage());
         }
+        dispatcher.add(handler);
     }
 
     /**
@@ -193,6 +237,9 @@ public class ControllerManager {
      * If the controller has subcomponents, they will be destroyed first recursively in reverse order.
      * <p>
      * If the controller has an undestroyed Subscriber field, a warning will be logged in development mode.
+     * <p>
+     * The scope of the controller is disposed as well, which also disposes all remaining scopes created in it
+     * (e.g. components of For loops which haven't been disposed).
      *
      * @param instance The controller/component instance to destroy
      */
@@ -200,13 +247,43 @@ public class ControllerManager {
         if (!ControllerUtil.isControllerOrComponent(instance)) {
             throw new IllegalArgumentException(error(1001).formatted(instance.getClass().getName()));
         }
+        LifecycleScope scope = this.scopes.get(instance);
+        if (scope != null && !scope.isDisposed()) {
+            scope.dispose(); // Calls teardown
+        } else {
+            teardown(instance);
+        }
+    }
+
+    /**
+     * Destroys the given controller/component without disposing its scope.
+     *
+     * @param instance The controller/component instance to destroy
+     */
+    private void teardown(@NotNull Object instance) {
+        this.scopes.remove(instance);
         getSidecar(instance).destroy(instance);
 
         cleanUpListeners(instance);
+
+        if (leakDetector != null) {
+            leakDetector.destroyed(instance);
+        }
+    }
+
+    /**
+     * Checks whether key handlers are registered for the given instance.
+     *
+     * @param instance The controller/component instance
+     * @return True if the instance has registered key handlers
+     */
+    boolean hasKeyEventHandlers(Object instance) {
+        return keyEventHandlers.containsKey(instance);
     }
 
     /**
      * Clears all key handlers registered for the given instance.
+     * As the handlers are forwarded by dispatchers, removing a handler doesn't require modifying the filters of the scene or stage.
      *
      * @param instance The instance to clear the key handlers for
      */
@@ -216,19 +293,119 @@ public class ControllerManager {
             return;
         }
         for (KeyEventHolder holder : handlers) {
-            switch (holder.target()) {
-                case SCENE -> app.get().stage().getScene().removeEventFilter(holder.type(), holder.handler());
-                case STAGE -> app.get().stage().removeEventFilter(holder.type(), holder.handler());
+            Map<EventType<KeyEvent>, KeyEventDispatcher> dispatchers = keyEventDispatchers.get(holder.target());
+            KeyEventDispatcher dispatcher = dispatchers == null ? null : dispatchers.get(holder.type());
+            if (dispatcher != null) {
+                dispatcher.remove(holder.handler());
             }
         }
     }
 
     /**
      * Destroys all controllers that have been initialized and are currently displayed.
+     * <p>
+     * While the controllers are destroyed, {@link #isTearingDown()} returns true.
      */
     public void cleanup() {
-        cleanup.dispose();
-        cleanup.refresh();
+        this.tearingDown = true;
+        try {
+            this.screenScope.clear();
+        } finally {
+            this.tearingDown = false;
+        }
+    }
+
+    /**
+     * Returns the root of the scope tree. The root contains the screen scope and the scopes of all controllers
+     * which are not destroyed automatically (e.g. components created using {@link FulibFxApp#initAndRender(Node)}).
+     *
+     * @return The root scope
+     */
+    public @NotNull LifecycleScope getRootScope() {
+        return this.rootScope;
+    }
+
+    /**
+     * Returns the scope containing all controllers which are destroyed when a new main controller is displayed.
+     *
+     * @return The screen scope
+     */
+    public @NotNull LifecycleScope getScreenScope() {
+        return this.screenScope;
+    }
+
+    /**
+     * Returns the scope of the given controller/component instance.
+     *
+     * @param instance The controller/component instance
+     * @return The scope or null if the instance is not initialized
+     */
+    public @Nullable LifecycleScope getScope(@NotNull Object instance) {
+        LifecycleScope scope = this.scopes.get(instance);
+        return scope == null || scope.isDisposed() ? null : scope;
+    }
+
+    /**
+     * Returns the scope in which new scopes are currently created.
+     * While a controller is initialized or rendered, this is the scope of the controller, otherwise the root scope.
+     *
+     * @return The active scope
+     */
+    @ApiStatus.Internal
+    public @NotNull LifecycleScope getActiveScope() {
+        LifecycleScope scope = this.activeScopes.peek();
+        return scope == null ? this.rootScope : scope;
+    }
+
+    /**
+     * Runs the given action with the given scope as the active scope.
+     * All controllers initialized by the action will be created as children of the scope.
+     *
+     * @param scope  The scope
+     * @param action The action to run
+     */
+    @ApiStatus.Internal
+    public void runInScope(@NotNull LifecycleScope scope, @NotNull Runnable action) {
+        runInScope(scope, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given action with the given scope as the active scope.
+     * All controllers initialized by the action will be created as children of the scope.
+     *
+     * @param scope  The scope
+     * @param action The action to run
+     * @param <T>    The type of the result
+     * @return The result of the action
+     */
+    @ApiStatus.Internal
+    public <T> T runInScope(@NotNull LifecycleScope scope, @NotNull Supplier<T> action) {
+        this.activeScopes.push(scope);
+        try {
+            return action.get();
+        } finally {
+            this.activeScopes.pop();
+        }
+    }
+
+    private static String scopeName(Object instance) {
+        String name = instance.getClass().getSimpleName();
+        return name.isEmpty() ? instance.getClass().getName() : name;
+    }
+
+    /**
+     * Returns whether all displayed controllers are currently being destroyed, because a new main controller will be displayed.
+     * <p>
+     * The views of these controllers are discarded afterward, so constructs like For loops can skip removing their nodes one by one.
+     *
+     * @return True if the controllers are being torn down
+     */
+    @ApiStatus.Internal
+    public boolean isTearingDown() {
+        return this.tearingDown;
     }
 
     /**
@@ -315,4 +492,80 @@ public class ControllerManager {
     public Optional<String> getTitle(@NotNull Object instance) {
         return Optional.ofNullable(getSidecar(instance).getTitle(instance));
     }
+
+    /**
+     * Forwards key events of a scene or stage to the handlers registered by controllers.
+     * Using a single filter per event type allows adding and removing handlers in constant time,
+     * which keeps destroying thousands of components with key handlers fast.
+     * The handlers are only copied for dispatching after they have been modified, so handling a key event doesn't allocate.
+     */
+    private static class KeyEventDispatcher implements EventHandler<KeyEvent> {
+
+        private final EventType<KeyEvent> type;
+        private final Set<EventHandler<KeyEvent>> handlers = new LinkedHashSet<>();
+        private Object installedOn;
+
+        // Incremented on every modification of the handlers
+        private int modCount;
+        // The handlers as an array for dispatching, only recreated after the handlers have been modified
+        private EventHandler<?>[] snapshot = new EventHandler<?>[0];
+        private int snapshotModCount;
+
+        private KeyEventDispatcher(EventType<KeyEvent> type) {
+            this.type = type;
+        }
+
+        /**
+         * Adds the dispatcher as a filter to the given scene or stage (and removes it from the previous one).
+         *
+         * @param target The scene or stage
+         */
+        private void install(Object target) {
+            if (target == this.installedOn) {
+                return;
+            }
+            if (this.installedOn instanceof Scene scene) {
+                scene.removeEventFilter(this.type, this);
+            } else if (this.installedOn instanceof Window window) {
+                window.removeEventFilter(this.type, this);
+            }
+            if (target instanceof Scene scene) {
+                scene.addEventFilter(this.type, this);
+            } else if (target instanceof Window window) {
+                window.addEventFilter(this.type, this);
+            }
+            this.installedOn = target;
+        }
+
+        private void add(EventHandler<KeyEvent> handler) {
+            if (this.handlers.add(handler)) {
+                this.modCount++;
+            }
+        }
+
+        private void remove(EventHandler<KeyEvent> handler) {
+            if (this.handlers.remove(handler)) {
+                this.modCount++;
+            }
+        }
+
+        @Override
+        public void handle(KeyEvent event) {
+            // The snapshot stays valid if handlers destroy controllers and therefore modify the handlers during dispatch
+            if (this.snapshotModCount != this.modCount) {
+                this.snapshot = this.handlers.toArray(new EventHandler<?>[0]);
+                this.snapshotModCount = this.modCount;
+            }
+            EventHandler<?>[] handlers = this.snapshot;
+            int expectedModCount = this.modCount;
+            for (EventHandler<?> handler : handlers) {
+                // Skip handlers which have been removed by previous handlers
+                if (this.modCount != expectedModCount && !this.handlers.contains(handler)) {
+                    continue;
+                }
+                //noinspection unchecked
+                ((EventHandler<KeyEvent>) handler).handle(event);
+            }
+        }
+    }
 }
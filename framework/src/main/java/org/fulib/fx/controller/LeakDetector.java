@@ -0,0 +1,398 @@
+package org.fulib.fx.controller;
+
+import dagger.Lazy;
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import org.fulib.fx.FulibFxApp;
+import org.fulib.fx.scheduler.FxPriority;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.fulib.fx.util.FrameworkUtil.error;
+
+/**
+ * Class used for detecting controllers and views which are still reachable after they have been destroyed.
+ * <p>
+ * When enabled, every destroyed controller/component and its view are tracked using weak references. Instances which are
+ * garbage collected are removed from the tracked instances. If an instance survives a configurable amount of garbage collections
+ * after being destroyed, it is reported as a leak with its class, the route it was displayed in and the time since it was destroyed.
+ * <p>
+ * Reports contain an approximate retained size (estimated by walking the fields of the instance) and a hint what might keep
+ * the instance alive. As the detector only checks framework-related references, the hint is not a full path to a GC root.
+ * <p>
+ * The detector is meant for development and diagnostics and is disabled by default, as tracking instances adds overhead.
+ * The periodic checks run on the FX thread with {@link FxPriority#BACKGROUND background} priority, as estimating the retained size
+ * and the hint reads the scene graph and the state of the framework.
+ */
+@Singleton
+public class LeakDetector {
+
+    // The default amount of garbage collections an instance has to survive after being destroyed to be reported
+    public static final int DEFAULT_GC_THRESHOLD = 3;
+
+    // Rough estimates for the size of objects whose fields can't be walked
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int NODE_SIZE = 512;
+    // The maximum amount of objects visited when estimating the retained size
+    private static final int MAX_VISITED = 100_000;
+
+    /**
+     * A destroyed instance which is still reachable.
+     *
+     * @param className    The class of the instance
+     * @param route        The route of the main controller the instance has been displayed in, or null if it has been shown without a route
+     * @param view         Whether the instance is the view of a controller instead of the controller itself
+     * @param age          The time since the instance has been destroyed
+     * @param gcCount      The amount of garbage collections since the instance has been destroyed
+     * @param retainedSize The approximate amount of bytes retained by the instance
+     * @param hint         A hint what might keep the instance alive
+     */
+    public record Leak(@NotNull String className, @Nullable String route, boolean view, @NotNull Duration age, long gcCount,
+                       long retainedSize, @NotNull String hint) {
+    }
+
+    @Inject
+    Lazy<ControllerManager> controllerManager;
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private final Set<Tracked> tracked = new HashSet<>();
+
+    // Information about living instances, collected while they are initialized and rendered
+    private final Map<Object, String> routes = new WeakHashMap<>();
+    private final Map<Object, WeakReference<Node>> views = new WeakHashMap<>();
+
+    private boolean enabled = false;
+    private int gcThreshold = DEFAULT_GC_THRESHOLD;
+    private @Nullable String currentRoute;
+    private Disposable periodicCheck;
+
+    @Inject
+    public LeakDetector() {
+    }
+
+    /**
+     * Enables or disables the detector. While enabled, the tracked instances are checked periodically and leaks are logged.
+     * Disabling the detector clears all tracked instances.
+     *
+     * @param enabled Whether the detector should be enabled
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        if (enabled) {
+            this.periodicCheck = FulibFxApp.FX_EXECUTOR.scheduler(FxPriority.BACKGROUND).schedulePeriodicallyDirect(this::check, 10, 10, TimeUnit.SECONDS);
+        } else {
+            this.periodicCheck.dispose();
+            this.tracked.clear();
+            this.routes.clear();
+            this.views.clear();
+        }
+    }
+
+    public synchronized boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Sets the amount of garbage collections an instance has to survive after being destroyed until it is reported as a leak.
+     *
+     * @param gcThreshold The amount of garbage collections
+     */
+    public synchronized void setGcThreshold(int gcThreshold) {
+        if (gcThreshold < 1) throw new IllegalArgumentException("Threshold must be positive");
+        this.gcThreshold = gcThreshold;
+    }
+
+    @ApiStatus.Internal
+    public synchronized void setCurrentRoute(@Nullable String route) {
+        this.currentRoute = route;
+    }
+
+    @ApiStatus.Internal
+    public synchronized void initialized(@NotNull Object instance) {
+        if (this.enabled) {
+            this.routes.put(instance, this.currentRoute);
+        }
+    }
+
+    @ApiStatus.Internal
+    public synchronized void rendered(@NotNull Object instance, @Nullable Node view) {
+        if (this.enabled && view != null && view != instance) {
+            this.views.put(instance, new WeakReference<>(view));
+        }
+    }
+
+    @ApiStatus.Internal
+    public synchronized void destroyed(@NotNull Object instance) {
+        if (!this.enabled) {
+            return;
+        }
+        long gcCount = gcCount();
+        String route = this.routes.remove(instance);
+        this.tracked.add(new Tracked(instance, route, false, gcCount, this.queue));
+        WeakReference<Node> view = this.views.remove(instance);
+        Node node = view == null ? null : view.get();
+        if (node != null) {
+            this.tracked.add(new Tracked(node, route, true, gcCount, this.queue));
+        }
+        expunge();
+    }
+
+    /**
+     * Checks all tracked instances and logs the instances which survived enough garbage collections since the last check.
+     * Has to be called on the FX thread.
+     *
+     * @return The newly detected leaks
+     */
+    public @NotNull List<@NotNull Leak> check() {
+        List<Leak> leaks = describe(collect(true));
+        for (Leak leak : leaks) {
+            FulibFxApp.LOGGER.warning(error(9010).formatted(leak.className(), leak.route(), leak.age().toMillis(), leak.gcCount(), leak.retainedSize(), leak.hint()));
+        }
+        return leaks;
+    }
+
+    /**
+     * Returns all tracked instances which survived enough garbage collections, including already reported ones.
+     * Has to be called on the FX thread.
+     *
+     * @return The leaks
+     */
+    public @NotNull List<@NotNull Leak> getLeaks() {
+        return describe(collect(false));
+    }
+
+    /**
+     * Returns the amount of destroyed instances which are still tracked, because they haven't been garbage collected yet.
+     *
+     * @return The amount of tracked instances
+     */
+    public synchronized int getTrackedCount() {
+        expunge();
+        return this.tracked.size();
+    }
+
+    /**
+     * Takes a snapshot of the tracked instances which survived enough garbage collections.
+     */
+    private synchronized List<Candidate> collect(boolean onlyNew) {
+        expunge();
+        long gcCount = gcCount();
+        long now = System.nanoTime();
+        List<Candidate> candidates = new ArrayList<>();
+        for (Tracked reference : this.tracked) {
+            Object instance = reference.get();
+            if (instance == null || gcCount - reference.gcCount < this.gcThreshold || onlyNew && reference.reported) {
+                continue;
+            }
+            reference.reported = true;
+            candidates.add(new Candidate(reference, instance, Duration.ofNanos(now - reference.destroyedAt), gcCount - reference.gcCount));
+        }
+        return candidates;
+    }
+
+    /**
+     * Estimates the retained size and the hint of the given candidates. This is done without holding the lock,
+     * so destroying controllers isn't blocked while the fields are walked.
+     */
+    private List<Leak> describe(List<Candidate> candidates) {
+        List<Leak> leaks = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            Tracked reference = candidate.reference();
+            leaks.add(new Leak(reference.className, reference.route, reference.view, candidate.age(), candidate.gcCount(),
+                    retainedSize(candidate.instance()), hint(candidate.instance())));
+        }
+        return leaks;
+    }
+
+    private void expunge() {
+        java.lang.ref.Reference<?> reference;
+        while ((reference = this.queue.poll()) != null) {
+            this.tracked.remove(reference);
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Returns a hint what might keep the given instance alive by checking the references known to the framework.
+     */
+    private String hint(Object instance) {
+        if (this.controllerManager != null && this.controllerManager.get().hasKeyEventHandlers(instance)) {
+            return "key event handlers are still registered";
+        }
+        if (instance instanceof Node node) {
+            if (node.getScene() != null) {
+                return "still attached to a scene";
+            }
+            if (node.getParent() != null) {
+                return "still a child of " + node.getParent().getClass().getName();
+            }
+        }
+        for (Class<?> clazz = instance.getClass(); clazz != null && clazz != Object.class && !isPlatformClass(clazz); clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getType() != Subscriber.class || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    if (field.get(instance) instanceof Subscriber subscriber && !subscriber.isDisposed() && !subscriber.isFresh()) {
+                        return "subscriber '" + field.getName() + "' hasn't been disposed";
+                    }
+                } catch (ReflectiveOperationException | RuntimeException ignored) {
+                    // Inaccessible fields can't be checked
+                }
+            }
+        }
+        return "referenced from outside the framework (e.g. a static field, a listener of a model or a service)";
+    }
+
+    /**
+     * Estimates the amount of bytes reachable from the given instance by walking its fields.
+     * Fields of JDK and JavaFX classes can't be walked, so their objects only count with a rough estimate.
+     * Shared objects like windows, scenes and framework classes are not counted.
+     */
+    private static long retainedSize(Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(root);
+        long size = 0;
+        while (!stack.isEmpty() && visited.size() < MAX_VISITED) {
+            Object object = stack.pop();
+            if (!visited.add(object) || isShared(object)) {
+                continue;
+            }
+            Class<?> clazz = object.getClass();
+            if (clazz.isArray()) {
+                int length = Array.getLength(object);
+                Class<?> component = clazz.getComponentType();
+                size += align(OBJECT_HEADER + (long) length * sizeOf(component));
+                if (!component.isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        push(stack, Array.get(object, i));
+                    }
+                }
+            } else if (object instanceof Node node) {
+                size += NODE_SIZE;
+                if (node instanceof Parent parent) {
+                    parent.getChildrenUnmodifiable().forEach(stack::push);
+                }
+            } else if (object instanceof Collection<?> collection && isPlatformClass(clazz)) {
+                size += align(OBJECT_HEADER + (long) collection.size() * REFERENCE_SIZE);
+                collection.forEach(element -> push(stack, element));
+            } else if (object instanceof Map<?, ?> map && isPlatformClass(clazz)) {
+                size += align(OBJECT_HEADER + (long) map.size() * 4 * REFERENCE_SIZE);
+                map.forEach((key, value) -> {
+                    push(stack, key);
+                    push(stack, value);
+                });
+            } else {
+                size += walkFields(object, stack);
+            }
+        }
+        return size;
+    }
+
+    private static long walkFields(Object object, Deque<Object> stack) {
+        long size = OBJECT_HEADER;
+        for (Class<?> clazz = object.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                size += sizeOf(field.getType());
+                if (field.getType().isPrimitive() || isPlatformClass(clazz)) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    push(stack, field.get(object));
+                } catch (ReflectiveOperationException | RuntimeException ignored) {
+                    // Fields of classes in closed modules can't be walked
+                }
+            }
+        }
+        return align(size);
+    }
+
+    private static void push(Deque<Object> stack, @Nullable Object object) {
+        if (object != null) {
+            stack.push(object);
+        }
+    }
+
+    private static boolean isShared(Object object) {
+        return object instanceof Class<?> || object instanceof Window || object instanceof Scene || object instanceof FulibFxApp
+                || object instanceof ControllerManager || object instanceof Router || object instanceof Thread || object instanceof ClassLoader;
+    }
+
+    private static boolean isPlatformClass(Class<?> clazz) {
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("javafx.") || name.startsWith("com.sun.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        if (type == byte.class || type == boolean.class) return 1;
+        return REFERENCE_SIZE;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7;
+    }
+
+    /**
+     * A tracked instance which survived enough garbage collections, strongly referenced until it has been described.
+     */
+    private record Candidate(Tracked reference, Object instance, Duration age, long gcCount) {
+    }
+
+    /**
+     * A weak reference to a destroyed instance.
+     */
+    private static class Tracked extends WeakReference<Object> {
+
+        private final String className;
+        private final @Nullable String route;
+        private final boolean view;
+        private final long gcCount;
+        private final long destroyedAt = System.nanoTime();
+        private boolean reported;
+
+        private Tracked(Object instance, @Nullable String route, boolean view, long gcCount, ReferenceQueue<Object> queue) {
+            super(instance, queue);
+            this.className = instance.getClass().getName();
+            this.route = route;
+            this.view = view;
+            this.gcCount = gcCount;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package org.fulib.fx.controller;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.disposables.DisposableContainer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A node in the tree of lifecycle scopes maintained by the {@link ControllerManager}.
+ * <p>
+ * Every initialized controller and component owns a scope. Scopes of subcomponents, components created by For loops
+ * and modals are children of the scope they have been created in, so the tree mirrors the hierarchy of the displayed controllers.
+ * Disposing a scope first tears down its owner (destroying the controller), then disposes all remaining children in reverse
+ * order of their creation and finally all disposables added to the scope. Only the subtree of the scope is visited.
+ * <p>
+ * Scopes only reference their owner weakly, so the tree doesn't keep controllers alive which are never destroyed.
+ * Scopes whose owner has been garbage collected are removed from the tree lazily.
+ * <p>
+ * The time needed for disposing each scope is recorded and can be observed using {@link #setDisposeListener(Consumer)}.
+ * Scopes can be queried for diagnostics, e.g. the amount of live subscriptions of a screen using {@link #getTotalSubscriptionCount()}.
+ * <p>
+ * Like the controller manager, scopes should only be used on the FX thread.
+ */
+public class LifecycleScope implements Disposable, DisposableContainer {
+
+    // The non-static subscriber fields of controller classes, used for counting subscriptions
+    private static final ClassValue<List<Field>> SUBSCRIBER_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (Subscriber.class.isAssignableFrom(field.getType()) && !Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private final String name;
+    private final @Nullable LifecycleScope parent;
+    private final @Nullable WeakReference<Object> owner;
+    private final @Nullable Consumer<Object> teardown;
+
+    private final Set<LifecycleScope> children = new LinkedHashSet<>();
+    private final Set<Disposable> disposables = new LinkedHashSet<>();
+
+    // The amount of children at which stale children are removed next
+    private int pruneAt = 16;
+    private boolean disposed;
+    private long disposeNanos = -1;
+    private @Nullable Consumer<LifecycleScope> disposeListener;
+
+    /**
+     * Creates a new root scope.
+     *
+     * @param name The name of the scope
+     */
+    public LifecycleScope(@NotNull String name) {
+        this(name, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> LifecycleScope(String name, @Nullable LifecycleScope parent, @Nullable T owner, @Nullable Consumer<? super T> teardown) {
+        this.name = name;
+        this.parent = parent;
+        this.owner = owner == null ? null : new WeakReference<>(owner);
+        this.teardown = (Consumer<Object>) teardown;
+    }
+
+    /**
+     * Creates a new child scope without an owner.
+     *
+     * @param name The name of the scope
+     * @return The new scope
+     */
+    public @NotNull LifecycleScope child(@NotNull String name) {
+        return child(name, null, null);
+    }
+
+    /**
+     * Creates a new child scope.
+     * <p>
+     * The teardown is called first when the scope is disposed, unless the owner has already been garbage collected.
+     * It must not capture the owner, as this would keep the owner alive as long as the scope exists.
+     * If the scope has already been disposed, the new scope is disposed immediately.
+     *
+     * @param name     The name of the scope
+     * @param owner    The object owning the scope (e.g. a controller instance), only referenced weakly
+     * @param teardown The action destroying the owner
+     * @param <T>      The type of the owner
+     * @return The new scope
+     */
+    public <T> @NotNull LifecycleScope child(@NotNull String name, @Nullable T owner, @Nullable Consumer<? super T> teardown) {
+        LifecycleScope child = new LifecycleScope(name, this, owner, teardown);
+        if (this.disposed) {
+            child.dispose();
+            return child;
+        }
+        if (this.children.size() >= this.pruneAt) {
+            prune();
+            this.pruneAt = Math.max(16, this.children.size() * 2);
+        }
+        this.children.add(child);
+        return child;
+    }
+
+    /**
+     * Adds a disposable which is disposed when the scope is disposed or cleared.
+     * If the scope has already been disposed, the disposable is disposed immediately.
+     *
+     * @param disposable The disposable to add
+     * @return True if the disposable has been added
+     */
+    @Override
+    public boolean add(@NotNull Disposable disposable) {
+        if (this.disposed) {
+            disposable.dispose();
+            return false;
+        }
+        return this.disposables.add(disposable);
+    }
+
+    @Override
+    public boolean remove(@NotNull Disposable disposable) {
+        if (delete(disposable)) {
+            disposable.dispose();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean delete(@NotNull Disposable disposable) {
+        return this.disposables.remove(disposable);
+    }
+
+    /**
+     * Disposes the scope: tears down the owner, disposes all remaining children in reverse order and then all added disposables.
+     * Afterward, the scope is removed from its parent.
+     */
+    @Override
+    public void dispose() {
+        if (this.disposed) {
+            return;
+        }
+        this.disposed = true;
+        long start = System.nanoTime();
+        try {
+            Object instance = getOwner();
+            if (this.teardown != null && instance != null) {
+                this.teardown.accept(instance);
+            }
+        } finally {
+            try {
+                clear();
+            } finally {
+                this.disposeNanos = System.nanoTime() - start;
+                if (this.parent != null) {
+                    this.parent.children.remove(this);
+                }
+                Consumer<LifecycleScope> listener = findDisposeListener();
+                if (listener != null) {
+                    listener.accept(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Disposes all children in reverse order of their creation and then all added disposables, but keeps the scope itself usable.
+     */
+    public void clear() {
+        List<LifecycleScope> children = new ArrayList<>(this.children);
+        Collections.reverse(children);
+        List<Disposable> disposables = new ArrayList<>(this.disposables);
+        Collections.reverse(disposables);
+        this.disposables.clear();
+
+        try {
+            for (LifecycleScope child : children) {
+                child.dispose();
+            }
+        } finally {
+            this.children.clear();
+            for (Disposable disposable : disposables) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+
+    /**
+     * Sets a listener which is called after this scope or one of its descendants has been disposed.
+     * Descendants without their own listener use the listener of their closest ancestor.
+     *
+     * @param listener The listener or null to remove it
+     */
+    public void setDisposeListener(@Nullable Consumer<LifecycleScope> listener) {
+        this.disposeListener = listener;
+    }
+
+    private @Nullable Consumer<LifecycleScope> findDisposeListener() {
+        for (LifecycleScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.disposeListener != null) {
+                return scope.disposeListener;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes all children whose owner has been garbage collected without being destroyed.
+     */
+    private void prune() {
+        this.children.removeIf(LifecycleScope::isStale);
+    }
+
+    private boolean isStale() {
+        return this.owner != null && this.owner.get() == null;
+    }
+
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the owner of the scope.
+     *
+     * @return The owner or null if the scope has no owner or the owner has been garbage collected
+     */
+    public @Nullable Object getOwner() {
+        return this.owner == null ? null : this.owner.get();
+    }
+
+    public @Nullable LifecycleScope getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Returns the children of the scope in the order of their creation.
+     *
+     * @return A copy of the children
+     */
+    public @NotNull @Unmodifiable List<@NotNull LifecycleScope> getChildren() {
+        prune();
+        return List.copyOf(this.children);
+    }
+
+    /**
+     * Returns the time it took to dispose the scope, including tearing down its owner and disposing its children.
+     *
+     * @return The duration or null if the scope hasn't been disposed yet
+     */
+    public @Nullable Duration getDisposeTime() {
+        return this.disposeNanos < 0 ? null : Duration.ofNanos(this.disposeNanos);
+    }
+
+    /**
+     * Returns the amount of live subscriptions of this scope without its children.
+     * This includes the disposables added to the scope and the subscriptions of all subscriber fields of the owner.
+     *
+     * @return The amount of subscriptions
+     */
+    public int getSubscriptionCount() {
+        int count = 0;
+        for (Disposable disposable : this.disposables) {
+            if (!disposable.isDisposed()) {
+                count++;
+            }
+        }
+        Object instance = getOwner();
+        if (instance != null) {
+            for (Field field : SUBSCRIBER_FIELDS.get(instance.getClass())) {
+                try {
+                    if (field.get(instance) instanceof Subscriber subscriber) {
+                        count += subscriber.size();
+                    }
+                } catch (IllegalAccessException ignored) {
+                    // Only accessible fields are cached
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the amount of live subscriptions of this scope and all of its descendants.
+     *
+     * @return The amount of subscriptions
+     * @see #getSubscriptionCount()
+     */
+    public int getTotalSubscriptionCount() {
+        int count = getSubscriptionCount();
+        for (LifecycleScope child : getChildren()) {
+            count += child.getTotalSubscriptionCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the amount of scopes in the subtree of this scope, including this scope.
+     *
+     * @return The amount of scopes
+     */
+    public int getScopeCount() {
+        int count = 1;
+        for (LifecycleScope child : getChildren()) {
+            count += child.getScopeCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns a textual representation of the subtree of this scope, containing the name and subscription count of every scope.
+     *
+     * @return The description
+     */
+    public @NotNull String describe() {
+        StringBuilder builder = new StringBuilder();
+        describe(builder, 0);
+        return builder.toString();
+    }
+
+    private void describe(StringBuilder builder, int depth) {
+        builder.append("  ".repeat(depth)).append(this).append('\n');
+        for (LifecycleScope child : getChildren()) {
+            child.describe(builder, depth + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.name + " [subscriptions=" + getSubscriptionCount() + ", children=" + this.children.size() + (this.disposed ? ", disposed" : "") + "]";
+    }
+}
@@ -3,6 +3,7 @@ package org.fulib.fx.controller;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Action;
 import io.reactivex.rxjava3.functions.Consumer;
@@ -12,18 +13,28 @@ import javafx.beans.value.ObservableValue;
 import org.fulib.fx.FulibFxApp;
 import org.fulib.fx.data.disposable.RefreshableCompositeDisposable;
 import org.fulib.fx.data.disposable.RefreshableDisposableContainer;
+import org.fulib.fx.data.disposable.WeakListenerDisposable;
+import org.fulib.fx.scheduler.BlockingExecutors;
+import org.fulib.fx.scheduler.FxPriority;
+import org.fulib.fx.scheduler.LatestValueObserver;
+import org.fulib.fx.scheduler.PropertyChangeBatcher;
+import org.fulib.fx.scheduler.ScopedExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.concurrent.Callable;
 
 /**
  * A subscriber is used to subscribe to observables and listen to properties.
  * <p>
  * The subscriber saves all subscriptions and disposes them when it is destroyed.
  * Subscribers which are declared with a field in a controller are automatically destroyed when the controller is destroyed.
+ * <p>
+ * Observables are observed on the FX thread. Items which are already emitted on the FX thread are handled immediately
+ * if no earlier items are waiting, so they don't have to wait for the next batch of {@link FulibFxApp#FX_EXECUTOR}.
  */
 public class Subscriber implements RefreshableDisposableContainer {
 
@@ -35,6 +46,25 @@ public class Subscriber implements RefreshableDisposableContainer {
     @Nullable
     private RefreshableDisposableContainer disposable;
 
+    /**
+     * The executor for background tasks of this subscriber.
+     * <p>
+     * This field is initialized lazily. Use {@link #executor()} to access it null-safely.
+     */
+    @Nullable
+    private ScopedExecutor executor;
+
+    /**
+     * The batcher for property change events of this subscriber.
+     * <p>
+     * This field is initialized lazily. Use {@link #batcher()} to access it null-safely.
+     */
+    @Nullable
+    private PropertyChangeBatcher batcher;
+
+    // Whether listeners are weak by default
+    private boolean weakListeners;
+
     /**
      * Creates a new subscriber.
      */
@@ -66,7 +96,7 @@ public class Subscriber implements RefreshableDisposableContainer {
      * @param completable the completable to subscribe to
      */
     public void subscribe(@NotNull Completable completable) {
-        disposable().add(completable.observeOn(FulibFxApp.FX_SCHEDULER).subscribe());
+        disposable().add(completable.observeOn(fxScheduler(FxPriority.NORMAL)).subscribe());
     }
 
     /**
@@ -76,7 +106,7 @@ public class Subscriber implements RefreshableDisposableContainer {
      * @param onComplete  the consumer to call on each event
      */
     public void subscribe(@NotNull Completable completable, @NotNull Action onComplete) {
-        disposable().add(completable.observeOn(FulibFxApp.FX_SCHEDULER).subscribe(onComplete));
+        disposable().add(completable.observeOn(fxScheduler(FxPriority.NORMAL)).subscribe(onComplete));
     }
 
     /**
@@ -86,7 +116,7 @@ public class Subscriber implements RefreshableDisposableContainer {
      * @param onError     the consumer to call on an error
      */
     public void subscribe(@NotNull Completable completable, @NotNull Consumer<? super @NotNull Throwable> onError) {
-        disposable().add(completable.doOnError(onError).observeOn(FulibFxApp.FX_SCHEDULER).subscribe());
+        disposable().add(completable.doOnError(onError).observeOn(fxScheduler(FxPriority.NORMAL)).subscribe());
     }
 
     /**
@@ -99,7 +129,7 @@ public class Subscriber implements RefreshableDisposableContainer {
      * @param <T>         the type of the items emitted by the Observable
      */
     public <T> void subscribe(@NotNull Observable<@NotNull T> observable, @NotNull Scheduler subscribeOn, @NotNull Consumer<@NotNull T> onNext, @NotNull Consumer<? super @NotNull Throwable> onError) {
-        disposable().add(observable.subscribeOn(subscribeOn).observeOn(FulibFxApp.FX_SCHEDULER).subscribe(onNext, onError));
+        disposable().add(observable.subscribeOn(subscribeOn).observeOn(fxScheduler(FxPriority.NORMAL)).subscribe(onNext, onError));
     }
 
     /**
@@ -120,7 +150,7 @@ public class Subscriber implements RefreshableDisposableContainer {
      * @param <T>        the type of the items emitted by the Observable
      */
     public <T> void subscribe(@NotNull Observable<@NotNull T> observable, @NotNull Consumer<@NotNull T> onNext) {
-        disposable().add(observable.observeOn(FulibFxApp.FX_SCHEDULER).subscribe(onNext));
+        disposable().add(observable.observeOn(fxScheduler(FxPriority.NORMAL)).subscribe(onNext));
     }
 
     /**
@@ -132,44 +162,271 @@ public class Subscriber implements RefreshableDisposableContainer {
      * @param <T>        the type of the items emitted by the Observable
      */
     public <T> void subscribe(@NotNull Observable<@NotNull T> observable, @NotNull Consumer<@NotNull T> onNext, @NotNull Consumer<? super @NotNull Throwable> onError) {
-        disposable().add(observable.observeOn(FulibFxApp.FX_SCHEDULER).subscribe(onNext, onError));
+        disposable().add(observable.observeOn(fxScheduler(FxPriority.NORMAL)).subscribe(onNext, onError));
+    }
+
+    /**
+     * Subscribes to an observable and observes it on the FX thread using the given priority.
+     * Use {@link FxPriority#BACKGROUND} for updates which shouldn't slow down input handling.
+     *
+     * @param observable the observable to subscribe to
+     * @param priority   the priority lane to observe the observable in
+     * @param onNext     the consumer to call on each event
+     * @param <T>        the type of the items emitted by the Observable
+     */
+    public <T> void subscribe(@NotNull Observable<@NotNull T> observable, @NotNull FxPriority priority, @NotNull Consumer<@NotNull T> onNext) {
+        disposable().add(observable.observeOn(fxScheduler(priority)).subscribe(onNext));
+    }
+
+    /**
+     * Subscribes to an observable and observes it on the FX thread using the given priority.
+     * Use {@link FxPriority#BACKGROUND} for updates which shouldn't slow down input handling.
+     *
+     * @param observable the observable to subscribe to
+     * @param priority   the priority lane to observe the observable in
+     * @param onNext     the consumer to call on each event
+     * @param onError    the consumer to call on an error
+     * @param <T>        the type of the items emitted by the Observable
+     */
+    public <T> void subscribe(@NotNull Observable<@NotNull T> observable, @NotNull FxPriority priority, @NotNull Consumer<@NotNull T> onNext, @NotNull Consumer<? super @NotNull Throwable> onError) {
+        disposable().add(observable.observeOn(fxScheduler(priority)).subscribe(onNext, onError));
+    }
+
+    /**
+     * Subscribes to and observes a completable on the FX thread using the given priority.
+     *
+     * @param completable the completable to subscribe to
+     * @param priority    the priority lane to observe the completable in
+     * @param onComplete  the action to call on completion
+     */
+    public void subscribe(@NotNull Completable completable, @NotNull FxPriority priority, @NotNull Action onComplete) {
+        disposable().add(completable.observeOn(fxScheduler(priority)).subscribe(onComplete));
+    }
+
+    /**
+     * Subscribes to an observable and observes only the latest value on the FX thread, at most once per pulse.
+     * <p>
+     * This is useful for observables emitting much faster than the screen is refreshed (e.g. sensor data or progress updates),
+     * as values which would be overwritten before being displayed are dropped without ever reaching the FX thread.
+     * The emitting thread is never blocked.
+     *
+     * @param observable the observable to subscribe to
+     * @param onNext     the consumer to call with the latest value
+     * @param <T>        the type of the items emitted by the Observable
+     */
+    public <T> void subscribeLatest(@NotNull Observable<@NotNull T> observable, @NotNull Consumer<@NotNull T> onNext) {
+        disposable().add(observable.subscribeWith(new LatestValueObserver<>(FulibFxApp.FX_EXECUTOR, onNext, null)));
+    }
+
+    /**
+     * Subscribes to an observable and observes only the latest value on the FX thread, at most once per pulse.
+     *
+     * @param observable the observable to subscribe to
+     * @param onNext     the consumer to call with the latest value
+     * @param onError    the consumer to call on an error
+     * @param <T>        the type of the items emitted by the Observable
+     * @see #subscribeLatest(Observable, Consumer)
+     */
+    public <T> void subscribeLatest(@NotNull Observable<@NotNull T> observable, @NotNull Consumer<@NotNull T> onNext, @NotNull Consumer<? super @NotNull Throwable> onError) {
+        disposable().add(observable.subscribeWith(new LatestValueObserver<>(FulibFxApp.FX_EXECUTOR, onNext, onError)));
+    }
+
+    /**
+     * Sets the value of a property to the latest value of an observable, at most once per pulse.
+     * The property keeps its last value when the subscriber is disposed.
+     *
+     * @param property   the property to set
+     * @param observable the observable to subscribe to
+     * @param <T>        the type of the property
+     * @see #subscribeLatest(Observable, Consumer)
+     */
+    public <T> void bindLatest(@NotNull Property<@NotNull T> property, @NotNull Observable<@NotNull T> observable) {
+        subscribeLatest(observable, property::setValue);
+    }
+
+    /**
+     * Runs a blocking call (e.g. I/O or a database query) on the {@link #executor() executor} of this subscriber
+     * and handles its result on the FX thread.
+     * If the subscriber is disposed before the call has finished, the thread running the call is interrupted.
+     *
+     * @param call     the blocking call
+     * @param onResult the consumer to call with the result
+     * @param onError  the consumer to call on an error
+     * @param <T>      the type of the result
+     */
+    public <T> void subscribeBlocking(@NotNull Callable<@NotNull T> call, @NotNull Consumer<@NotNull T> onResult, @NotNull Consumer<? super @NotNull Throwable> onError) {
+        disposable().add(Single.fromCallable(call)
+                .subscribeOn(backgroundScheduler())
+                .observeOn(fxScheduler(FxPriority.NORMAL))
+                .subscribe(onResult, onError));
+    }
+
+    /**
+     * Returns the executor for background tasks of this subscriber. If the executor does not exist yet, it will be created.
+     * <p>
+     * Tasks run on virtual threads (on Java 21+, see {@link BlockingExecutors}), so blocking calls are cheap.
+     * When the subscriber is disposed (e.g. when the controller is destroyed), pending tasks are cancelled and running tasks are interrupted.
+     *
+     * @return The executor for background tasks
+     */
+    public @NotNull ScopedExecutor executor() {
+        if (this.executor == null || this.executor.isDisposed()) {
+            this.executor = new ScopedExecutor();
+            disposable().add(this.executor);
+        }
+        return this.executor;
+    }
+
+    /**
+     * Returns a scheduler running tasks on the {@link #executor() executor} of this subscriber.
+     * Use it instead of {@link io.reactivex.rxjava3.schedulers.Schedulers#io()} or {@link io.reactivex.rxjava3.schedulers.Schedulers#computation()}
+     * for work which should be cancelled together with the controller.
+     *
+     * @return The scheduler
+     */
+    public @NotNull Scheduler backgroundScheduler() {
+        return executor().scheduler();
     }
 
     /**
      * Adds a listener to a property and removes it on destroy.
+     * If {@link #setWeakListeners(boolean) weak listeners} are enabled, the listener is added like using {@link #listenWeak(ObservableValue, ChangeListener)}.
      *
      * @param property the property or observable to listen to
      * @param listener the listener to add
      * @param <T>      the type of the property value
      */
     public <T> void listen(@NotNull ObservableValue<@NotNull T> property, @NotNull ChangeListener<? super @NotNull T> listener) {
+        if (this.weakListeners) {
+            listenWeak(property, listener);
+            return;
+        }
         property.addListener(listener);
         subscribe(() -> property.removeListener(listener));
     }
 
     /**
      * Adds a beans property change listener to a property change support and removes it on destroy.
+     * If {@link #setWeakListeners(boolean) weak listeners} are enabled, the listener is added like using {@link #listenWeak(PropertyChangeSupport, String, PropertyChangeListener)}.
      *
      * @param support        The property change support (e.g. a model)
      * @param property       The property to listen to
      * @param changeListener The listener to add
      */
     public void listen(@NotNull PropertyChangeSupport support, @NotNull String property, @NotNull PropertyChangeListener changeListener) {
+        if (this.weakListeners) {
+            listenWeak(support, property, changeListener);
+            return;
+        }
         support.addPropertyChangeListener(property, changeListener);
         subscribe(() -> support.removePropertyChangeListener(property, changeListener));
     }
 
     /**
      * Adds a beans property change listener to a property change support and removes it on destroy.
+     * If {@link #setWeakListeners(boolean) weak listeners} are enabled, the listener is added like using {@link #listenWeak(PropertyChangeSupport, PropertyChangeListener)}.
      *
      * @param support        The property change support (e.g. a model)
      * @param changeListener The listener to add
      */
     public void listen(@NotNull PropertyChangeSupport support, @NotNull PropertyChangeListener changeListener) {
+        if (this.weakListeners) {
+            listenWeak(support, changeListener);
+            return;
+        }
         support.addPropertyChangeListener(changeListener);
         subscribe(() -> support.removePropertyChangeListener(changeListener));
     }
 
+    /**
+     * Adds a listener to a property, which is only weakly referenced by the property, and removes it on destroy.
+     * <p>
+     * The listener is kept alive by this subscriber. If the subscriber is never disposed (e.g. because the controller is never destroyed)
+     * and becomes unreachable, the listener is garbage collected instead of being kept alive by the property.
+     *
+     * @param property the property or observable to listen to
+     * @param listener the listener to add
+     * @param <T>      the type of the property value
+     * @see WeakListenerDisposable
+     */
+    public <T> void listenWeak(@NotNull ObservableValue<@NotNull T> property, @NotNull ChangeListener<? super @NotNull T> listener) {
+        subscribe(WeakListenerDisposable.of(property, listener));
+    }
+
+    /**
+     * Adds a beans property change listener, which is only weakly referenced by the property change support, and removes it on destroy.
+     *
+     * @param support        The property change support (e.g. a model)
+     * @param property       The property to listen to
+     * @param changeListener The listener to add
+     * @see #listenWeak(ObservableValue, ChangeListener)
+     */
+    public void listenWeak(@NotNull PropertyChangeSupport support, @NotNull String property, @NotNull PropertyChangeListener changeListener) {
+        subscribe(WeakListenerDisposable.of(support, property, changeListener));
+    }
+
+    /**
+     * Adds a beans property change listener, which is only weakly referenced by the property change support, and removes it on destroy.
+     *
+     * @param support        The property change support (e.g. a model)
+     * @param changeListener The listener to add
+     * @see #listenWeak(ObservableValue, ChangeListener)
+     */
+    public void listenWeak(@NotNull PropertyChangeSupport support, @NotNull PropertyChangeListener changeListener) {
+        subscribe(WeakListenerDisposable.of(support, changeListener));
+    }
+
+    /**
+     * Adds a beans property change listener to a property change support, which receives the events in batches on the FX thread,
+     * and removes it on destroy.
+     * <p>
+     * Multiple changes of the same property until the next pulse (or until the end of a {@link PropertyChangeBatcher#transaction(Runnable) transaction}
+     * of the {@link #batcher() batcher}) are merged into a single event.
+     *
+     * @param support        The property change support (e.g. a model)
+     * @param property       The property to listen to
+     * @param changeListener The listener to add
+     */
+    public void listenBatched(@NotNull PropertyChangeSupport support, @NotNull String property, @NotNull PropertyChangeListener changeListener) {
+        subscribe(batcher().listen(support, property, changeListener));
+    }
+
+    /**
+     * Adds a beans property change listener to a property change support, which receives the events in batches on the FX thread,
+     * and removes it on destroy.
+     *
+     * @param support        The property change support (e.g. a model)
+     * @param changeListener The listener to add
+     * @see #listenBatched(PropertyChangeSupport, String, PropertyChangeListener)
+     */
+    public void listenBatched(@NotNull PropertyChangeSupport support, @NotNull PropertyChangeListener changeListener) {
+        subscribe(batcher().listen(support, changeListener));
+    }
+
+    /**
+     * Returns the batcher used for the batched listeners of this subscriber. If the batcher does not exist yet, it will be created.
+     * Use it to run model changes in a transaction, so that their events are delivered together.
+     *
+     * @return The batcher
+     */
+    public @NotNull PropertyChangeBatcher batcher() {
+        if (this.batcher == null || this.batcher.isDisposed()) {
+            this.batcher = new PropertyChangeBatcher();
+            disposable().add(this.batcher);
+        }
+        return this.batcher;
+    }
+
+    /**
+     * Sets whether the listen methods of this subscriber add weak listeners by default.
+     * Use {@link WeakListenerDisposable#getCollectedCount()} to check how many weak listeners have been collected without being disposed.
+     *
+     * @param weakListeners True if listeners should be weak by default
+     */
+    public void setWeakListeners(boolean weakListeners) {
+        this.weakListeners = weakListeners;
+    }
+
     /**
      * Binds a property to another property (unidirectional) and unbinds it on destroy.
      *
@@ -194,6 +451,20 @@ public class Subscriber implements RefreshableDisposableContainer {
         subscribe(() -> property.unbindBidirectional(other));
     }
 
+    /**
+     * Returns the scheduler used for observing observables on the FX thread.
+     * Items emitted on the FX thread are handled immediately instead of waiting for the next batch, unless they have a background priority.
+     *
+     * @param priority The priority lane
+     * @return The scheduler
+     */
+    private static Scheduler fxScheduler(FxPriority priority) {
+        if (priority == FxPriority.BACKGROUND) {
+            return FulibFxApp.FX_EXECUTOR.scheduler(priority);
+        }
+        return FulibFxApp.FX_EXECUTOR.immediateScheduler(priority);
+    }
+
     /**
      * Returns the internal composite disposable for this subscriber. If the disposable does not exist yet, it will be created.
      *
@@ -227,6 +498,15 @@ public class Subscriber implements RefreshableDisposableContainer {
         return this.disposable().refresh();
     }
 
+    /**
+     * Returns the amount of subscriptions (disposables, listeners, ...) currently held by this subscriber.
+     *
+     * @return The amount of subscriptions
+     */
+    public int size() {
+        return this.disposable instanceof RefreshableCompositeDisposable composite ? composite.size() : 0;
+    }
+
     @Override
     public boolean isFresh() {
         return this.disposable().isFresh();
@@ -5,6 +5,7 @@ import dagger.Component;
 import org.fulib.fx.FulibFxApp;
 import org.fulib.fx.controller.AutoRefresher;
 import org.fulib.fx.controller.ControllerManager;
+import org.fulib.fx.controller.LeakDetector;
 import org.fulib.fx.controller.Router;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -27,6 +28,9 @@ public interface FrameworkComponent {
     @Singleton
     ControllerManager controllerManager();
 
+    @Singleton
+    LeakDetector leakDetector();
+
     @Component.Builder
     interface Builder {
 
@@ -0,0 +1,241 @@
+package org.fulib.fx.data;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import org.fulib.fx.FulibFxApp;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.fulib.fx.util.FrameworkUtil.error;
+
+/**
+ * An observable list which can be modified from any thread.
+ * <p>
+ * Modifications from other threads are queued without locking and applied on the FX thread.
+ * All modifications queued until the next pulse are applied at once using {@link FulibFxApp#FX_EXECUTOR}, so listeners (like {@link org.fulib.fx.constructs.forloop.For} loops)
+ * receive a single change containing all of them instead of one change per modification.
+ * Modifications on the FX thread are applied directly (after all queued modifications).
+ * <p>
+ * Reading methods always return the state of the list on the FX thread and should only be called from the FX thread.
+ * As queued modifications are applied later, index-based modifications refer to the list at the time they are applied,
+ * and methods returning the previous value or whether the list changed can only return the actual result when called on the FX thread.
+ * Queued modifications with invalid indices are skipped.
+ *
+ * @param <E> The type of the items
+ */
+public class ConcurrentObservableList<E> extends ObservableListBase<E> {
+
+    // The list as seen by the FX thread
+    private final List<E> list = new ArrayList<>();
+    // Modifications which haven't been applied yet
+    private final Queue<Supplier<?>> pending = new ConcurrentLinkedQueue<>();
+    // Whether applying the pending modifications has already been scheduled
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public ConcurrentObservableList() {
+    }
+
+    public ConcurrentObservableList(@NotNull Collection<? extends E> items) {
+        this.list.addAll(items);
+    }
+
+    @Override
+    public E get(int index) {
+        return this.list.get(index);
+    }
+
+    @Override
+    public int size() {
+        return this.list.size();
+    }
+
+    @Override
+    public boolean add(E item) {
+        return submit(() -> insert(-1, Collections.singletonList(item)), true);
+    }
+
+    @Override
+    public void add(int index, E item) {
+        submit(() -> insert(index, Collections.singletonList(item)), true);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> items) {
+        List<E> copy = new ArrayList<>(items);
+        return submit(() -> insert(-1, copy), !copy.isEmpty());
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> items) {
+        List<E> copy = new ArrayList<>(items);
+        return submit(() -> insert(index, copy), !copy.isEmpty());
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends E> items) {
+        List<E> copy = new ArrayList<>(items);
+        return submit(() -> replaceAll(copy), true);
+    }
+
+    @Override
+    public E set(int index, E item) {
+        return submit(() -> {
+            E old = this.list.set(index, item);
+            nextSet(index, old);
+            return old;
+        }, null);
+    }
+
+    @Override
+    public E remove(int index) {
+        return submit(() -> {
+            E old = this.list.remove(index);
+            nextRemove(index, old);
+            return old;
+        }, null);
+    }
+
+    /**
+     * Removes the first occurrence of the given item.
+     * <p>
+     * When called on another thread than the FX thread, the removal is queued and false is returned,
+     * as it is unknown whether the list contains the item when the removal is applied.
+     *
+     * @param item The item to remove
+     * @return True if the item has been removed, false if it wasn't contained or the removal has been queued
+     */
+    @Override
+    public boolean remove(Object item) {
+        return submit(() -> {
+            int index = this.list.indexOf(item);
+            if (index < 0) {
+                return false;
+            }
+            nextRemove(index, this.list.remove(index));
+            return true;
+        }, false);
+    }
+
+    @Override
+    public void remove(int from, int to) {
+        removeRange(from, to);
+    }
+
+    @Override
+    protected void removeRange(int from, int to) {
+        submit(() -> {
+            List<E> range = this.list.subList(from, to);
+            List<E> removed = new ArrayList<>(range);
+            range.clear();
+            nextRemove(from, removed);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return submit(() -> removeMatching(filter), true);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> items) {
+        Set<?> copy = new HashSet<>(items);
+        return removeIf(copy::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> items) {
+        Set<?> copy = new HashSet<>(items);
+        return removeIf(item -> !copy.contains(item));
+    }
+
+    @Override
+    public void clear() {
+        submit(() -> replaceAll(List.of()), null);
+    }
+
+    /**
+     * Applies all queued modifications. Has to be called on the FX thread.
+     * <p>
+     * This is done automatically, calling it manually is only required if the queued modifications have to be visible immediately.
+     */
+    public void flush() {
+        this.scheduled.set(false);
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        beginChange();
+        try {
+            applyPending();
+        } finally {
+            endChange();
+        }
+    }
+
+    private <R> R submit(Supplier<R> modification, R queuedResult) {
+        if (Platform.isFxApplicationThread()) {
+            // Apply everything in one change, queued modifications first to keep the order
+            beginChange();
+            try {
+                applyPending();
+                return modification.get();
+            } finally {
+                endChange();
+            }
+        }
+
+        this.pending.offer(modification);
+        if (this.scheduled.compareAndSet(false, true)) {
+            FulibFxApp.FX_EXECUTOR.executeOnPulse(this::flush);
+        }
+        return queuedResult;
+    }
+
+    private void applyPending() {
+        Supplier<?> modification;
+        while ((modification = this.pending.poll()) != null) {
+            try {
+                modification.get();
+            } catch (IndexOutOfBoundsException e) {
+                FulibFxApp.LOGGER.warning(error(9008).formatted(e.getMessage()));
+            }
+        }
+    }
+
+    private boolean insert(int index, List<E> items) {
+        int from = index < 0 ? this.list.size() : index;
+        if (items.isEmpty()) {
+            return false;
+        }
+        this.list.addAll(from, items);
+        nextAdd(from, from + items.size());
+        return true;
+    }
+
+    private boolean replaceAll(List<E> items) {
+        if (!this.list.isEmpty()) {
+            List<E> removed = new ArrayList<>(this.list);
+            this.list.clear();
+            nextRemove(0, removed);
+        }
+        return insert(0, items);
+    }
+
+    private boolean removeMatching(Predicate<? super E> filter) {
+        boolean changed = false;
+        for (int i = 0; i < this.list.size(); ) {
+            if (filter.test(this.list.get(i))) {
+                nextRemove(i, this.list.remove(i));
+                changed = true;
+            } else {
+                i++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,263 @@
+package org.fulib.fx.data;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableListBase;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A read-only observable list containing the values of an {@link ObservableMap}, the elements of an {@link ObservableSet}
+ * or the objects of a to-many association of a model firing {@link java.beans.PropertyChangeEvent}s (e.g. a fulib model).
+ * <p>
+ * The list is updated incrementally: every change of the map or set is translated to a single change of the list.
+ * Only if a replaced value has to be moved, the value is first replaced in place and then moved using a permutation.
+ * The values are either sorted by a comparator or kept in the order they have been added.
+ * The index of every value is kept in an {@link OrderStatisticTree}, so every change takes O(log n) time.
+ * <p>
+ * Disposing the list removes its listener from the map, set or model.
+ *
+ * @param <K> The type of the keys
+ * @param <E> The type of the values
+ */
+public class KeyedObservableList<K, E> extends ObservableListBase<E> implements Disposable {
+
+    private final OrderStatisticTree<E> tree = new OrderStatisticTree<>();
+    private final Map<K, OrderStatisticTree.Handle<E>> handles = new HashMap<>();
+    private final Comparator<? super E> comparator;
+
+    private Runnable unbind;
+
+    private KeyedObservableList(@Nullable Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Creates a list containing the values of the given map.
+     *
+     * @param map        The map
+     * @param comparator The comparator to sort the values by or null to keep the order in which the entries were added
+     * @param <K>        The type of the keys
+     * @param <V>        The type of the values
+     * @return The list
+     */
+    public static <K, V> @NotNull KeyedObservableList<K, V> ofValues(@NotNull ObservableMap<K, V> map, @Nullable Comparator<? super V> comparator) {
+        KeyedObservableList<K, V> list = new KeyedObservableList<>(comparator);
+        map.forEach(list::insert);
+
+        MapChangeListener<K, V> listener = change -> {
+            if (change.wasAdded()) {
+                list.put(change.getKey(), change.getValueAdded());
+            } else {
+                list.remove(change.getKey());
+            }
+        };
+        map.addListener(listener);
+        list.unbind = () -> map.removeListener(listener);
+        return list;
+    }
+
+    /**
+     * Creates a list containing the elements of the given set.
+     *
+     * @param set        The set
+     * @param comparator The comparator to sort the elements by or null to keep the order in which the elements were added
+     * @param <E>        The type of the elements
+     * @return The list
+     */
+    public static <E> @NotNull KeyedObservableList<E, E> of(@NotNull ObservableSet<E> set, @Nullable Comparator<? super E> comparator) {
+        KeyedObservableList<E, E> list = new KeyedObservableList<>(comparator);
+        set.forEach(element -> list.insert(element, element));
+
+        SetChangeListener<E> listener = change -> {
+            if (change.wasAdded()) {
+                list.put(change.getElementAdded(), change.getElementAdded());
+            } else {
+                list.remove(change.getElementRemoved());
+            }
+        };
+        set.addListener(listener);
+        list.unbind = () -> set.removeListener(listener);
+        return list;
+    }
+
+    /**
+     * Creates a list containing the objects of a to-many association of a model.
+     * <p>
+     * Instead of listening to the association itself, the list listens to the property change events of the owning object.
+     * Events with an old value remove the object, events with a new value add it (like fulib's {@code withX} and {@code withoutX} methods).
+     * Only the initial objects are read from the association, afterward every event is applied directly.
+     * Without a comparator, added objects are appended to the end of the list, which matches the order of fulib's associations.
+     * <p>
+     * Example: KeyedObservableList.ofAssociation(board.listeners(), Board.PROPERTY_FIELDS, board.getFields(), null);
+     *
+     * @param support    The property change support of the owning object
+     * @param property   The name of the to-many property
+     * @param initial    The objects currently in the association
+     * @param comparator The comparator to sort the objects by or null to keep the order in which they were added
+     * @param <E>        The type of the objects
+     * @return The list
+     */
+    public static <E> @NotNull KeyedObservableList<E, E> ofAssociation(@NotNull PropertyChangeSupport support, @NotNull String property, @NotNull Collection<? extends E> initial, @Nullable Comparator<? super E> comparator) {
+        KeyedObservableList<E, E> list = new KeyedObservableList<>(comparator);
+        initial.forEach(element -> list.insert(element, element));
+
+        PropertyChangeListener listener = event -> {
+            @SuppressWarnings("unchecked") E removed = (E) event.getOldValue();
+            @SuppressWarnings("unchecked") E added = (E) event.getNewValue();
+            if (removed != null) {
+                list.remove(removed);
+            }
+            if (added != null) {
+                list.put(added, added);
+            }
+        };
+        support.addPropertyChangeListener(property, listener);
+        list.unbind = () -> support.removePropertyChangeListener(property, listener);
+        return list;
+    }
+
+    @Override
+    public E get(int index) {
+        return this.tree.get(index);
+    }
+
+    @Override
+    public int size() {
+        return this.tree.size();
+    }
+
+    @Override
+    public @NotNull Iterator<E> iterator() {
+        return this.tree.iterator();
+    }
+
+    /**
+     * Returns the current index of the value for the given key.
+     *
+     * @param key The key
+     * @return The index or -1 if the key isn't present
+     */
+    public int indexOfKey(K key) {
+        OrderStatisticTree.Handle<E> handle = this.handles.get(key);
+        return handle == null ? -1 : this.tree.indexOf(handle);
+    }
+
+    private OrderStatisticTree.Handle<E> insert(K key, E value) {
+        OrderStatisticTree.Handle<E> handle = this.comparator == null
+                ? this.tree.insert(this.tree.size(), value)
+                : this.tree.insert(value, this.comparator);
+        this.handles.put(key, handle);
+        return handle;
+    }
+
+    private void put(K key, E value) {
+        OrderStatisticTree.Handle<E> handle = this.handles.get(key);
+        int index;
+        beginChange();
+        try {
+            if (handle == null) {
+                index = this.tree.indexOf(insert(key, value));
+                nextAdd(index, index + 1);
+                return;
+            }
+
+            index = this.tree.indexOf(handle);
+            boolean fits = fits(index, value);
+            E old = this.tree.set(handle, value);
+            if (fits || old != value) {
+                nextSet(index, old);
+            }
+            if (fits) {
+                // The value stays at its position
+                return;
+            }
+        } finally {
+            endChange();
+        }
+
+        // The value has been replaced in place and is moved afterward,
+        // so listeners (like For loops) can move and rebind the existing node instead of recreating it
+        move(key, handle, index);
+    }
+
+    /**
+     * Moves the value of the given handle from the given index to its sorted position using a single permutation.
+     */
+    private void move(K key, OrderStatisticTree.Handle<E> handle, int from) {
+        this.tree.remove(handle);
+        int to = this.tree.indexOf(insert(key, handle.value()));
+        if (from == to) {
+            return;
+        }
+
+        int low = Math.min(from, to);
+        int high = Math.max(from, to);
+        int[] permutation = new int[high - low + 1];
+        for (int i = low; i <= high; i++) {
+            // The values between the old and the new index shift by one towards the old index
+            permutation[i - low] = i == from ? to : from < to ? i - 1 : i + 1;
+        }
+
+        beginChange();
+        try {
+            nextPermutation(low, high + 1, permutation);
+        } finally {
+            endChange();
+        }
+    }
+
+    private void remove(K key) {
+        OrderStatisticTree.Handle<E> handle = this.handles.remove(key);
+        if (handle == null) {
+            return;
+        }
+        beginChange();
+        try {
+            int index = this.tree.indexOf(handle);
+            E old = handle.value();
+            this.tree.remove(handle);
+            nextRemove(index, old);
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Checks whether the value can be placed at the given index without breaking the order.
+     */
+    private boolean fits(int index, E value) {
+        if (this.comparator == null) {
+            return true;
+        }
+        return (index == 0 || this.comparator.compare(this.tree.get(index - 1), value) <= 0)
+                && (index == this.tree.size() - 1 || this.comparator.compare(value, this.tree.get(index + 1)) <= 0);
+    }
+
+    /**
+     * Stops updating the list.
+     */
+    @Override
+    public void dispose() {
+        if (this.unbind != null) {
+            this.unbind.run();
+            this.unbind = null;
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.unbind == null;
+    }
+}
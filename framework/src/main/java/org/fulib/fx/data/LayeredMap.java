@@ -0,0 +1,194 @@
+package org.fulib.fx.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An immutable view of a base map with a few additional entries layered on top of it.
+ * <p>
+ * This is used for passing parameters to components without copying the shared parameter map for every component.
+ * The additional entries behave like they were added using {@link Map#putIfAbsent(Object, Object)},
+ * meaning they are only visible if the base map doesn't contain a (non-null) value for the same key.
+ * <p>
+ * As the map is only a view, changes to the base map are reflected in the layered map.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class LayeredMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, V> base;
+    private final Object[] keys;
+    private final Object[] values;
+
+    private Set<Entry<K, V>> entrySet;
+
+    private LayeredMap(@NotNull Map<K, V> base, Object[] keys, Object[] values) {
+        for (int i = 0; i < keys.length; i++) {
+            for (int j = i + 1; j < keys.length; j++) {
+                if (Objects.equals(keys[i], keys[j])) {
+                    throw new IllegalArgumentException("Duplicate key: " + keys[i]);
+                }
+            }
+        }
+        this.base = base;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Creates a new map containing all entries of the base map and the given entry if the key isn't present in the base map.
+     *
+     * @param base  The base map
+     * @param key   The additional key
+     * @param value The additional value
+     * @param <K>   The type of the keys
+     * @param <V>   The type of the values
+     * @return The layered map
+     */
+    public static <K, V> @NotNull LayeredMap<K, V> of(@NotNull Map<K, V> base, K key, V value) {
+        return new LayeredMap<>(base, new Object[]{key}, new Object[]{value});
+    }
+
+    /**
+     * Creates a new map containing all entries of the base map and the given entries if the keys aren't present in the base map.
+     *
+     * @param base   The base map
+     * @param key1   The first additional key
+     * @param value1 The first additional value
+     * @param key2   The second additional key
+     * @param value2 The second additional value
+     * @param <K>    The type of the keys
+     * @param <V>    The type of the values
+     * @return The layered map
+     */
+    public static <K, V> @NotNull LayeredMap<K, V> of(@NotNull Map<K, V> base, K key1, V value1, K key2, V value2) {
+        return new LayeredMap<>(base, new Object[]{key1, key2}, new Object[]{value1, value2});
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = baseGet(key);
+        if (value != null) {
+            return value;
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : layerValue(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0 || baseContainsKey(key);
+    }
+
+    @Override
+    public int size() {
+        int size = this.base.size();
+        for (Object key : this.keys) {
+            if (!baseContainsKey(key)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0 && this.base.isEmpty();
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Entry<K, V>> iterator() {
+                    return new LayeredIterator();
+                }
+
+                @Override
+                public int size() {
+                    return LayeredMap.this.size();
+                }
+            };
+        }
+        return this.entrySet;
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (Objects.equals(this.keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K layerKey(int index) {
+        return (K) this.keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V layerValue(int index) {
+        return (V) this.values[index];
+    }
+
+    // Immutable maps like Map.of() throw exceptions when querying null keys
+    private @Nullable V baseGet(Object key) {
+        try {
+            return this.base.get(key);
+        } catch (NullPointerException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private boolean baseContainsKey(Object key) {
+        try {
+            return this.base.containsKey(key);
+        } catch (NullPointerException | ClassCastException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Iterates over the entries of the base map (replacing null values with layered values) followed by the layered entries not present in the base map.
+     */
+    private class LayeredIterator implements Iterator<Entry<K, V>> {
+
+        private final Iterator<Entry<K, V>> baseIterator = base.entrySet().iterator();
+        private int layerIndex = 0;
+
+        @Override
+        public boolean hasNext() {
+            if (this.baseIterator.hasNext()) {
+                return true;
+            }
+            while (this.layerIndex < keys.length && baseContainsKey(keys[this.layerIndex])) {
+                this.layerIndex++;
+            }
+            return this.layerIndex < keys.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (this.baseIterator.hasNext()) {
+                Entry<K, V> entry = this.baseIterator.next();
+                if (entry.getValue() == null) {
+                    int index = indexOf(entry.getKey());
+                    if (index >= 0) {
+                        return new SimpleImmutableEntry<>(entry.getKey(), layerValue(index));
+                    }
+                }
+                return new SimpleImmutableEntry<>(entry);
+            }
+            int index = this.layerIndex++;
+            return new SimpleImmutableEntry<>(layerKey(index), layerValue(index));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.fulib.fx.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The difference between two lists, consisting of removals, insertions and replacements which turn the old list into the new list.
+ * <p>
+ * Items of both lists are matched using a key. Matched items whose order didn't change are kept, only moved items are removed and inserted again.
+ * Kept items which are not equal to their new version are replaced.
+ * The amount of kept items is maximized (longest increasing subsequence), so the amount of changes is minimal for lists of unique keys.
+ * <p>
+ * Computing a diff doesn't require the lists to be accessed from a specific thread, so it can be done in the background.
+ *
+ * @param <T> The type of the items
+ */
+public class ListDiff<T> {
+
+    private enum Kind {REMOVE, INSERT, SET}
+
+    private record Step<T>(Kind kind, int from, int to, List<T> items) {
+    }
+
+    private final List<Step<T>> steps;
+
+    private ListDiff(List<Step<T>> steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Computes the difference between two lists, using the items themselves as keys.
+     *
+     * @param oldList The old list
+     * @param newList The new list
+     * @param <T>     The type of the items
+     * @return The difference
+     */
+    public static <T> @NotNull ListDiff<T> compute(@NotNull List<? extends T> oldList, @NotNull List<? extends T> newList) {
+        return compute(oldList, newList, Function.identity());
+    }
+
+    /**
+     * Computes the difference between two lists.
+     * Items with equal keys are considered to be the same item, if they are not equal, the old item will be replaced by the new one.
+     *
+     * @param oldList The old list
+     * @param newList The new list
+     * @param key     The function returning the key of an item
+     * @param <T>     The type of the items
+     * @return The difference
+     */
+    public static <T> @NotNull ListDiff<T> compute(@NotNull List<? extends T> oldList, @NotNull List<? extends T> newList, @NotNull Function<? super T, ?> key) {
+        // Index the new list by key (if keys occur multiple times, only the first occurrence is matched)
+        Map<Object, Integer> newIndices = new HashMap<>(newList.size() * 2);
+        for (int i = 0; i < newList.size(); i++) {
+            newIndices.putIfAbsent(key.apply(newList.get(i)), i);
+        }
+
+        // Match the old items to their new positions (-1 if they have been removed)
+        int[] matches = new int[oldList.size()];
+        boolean[] matched = new boolean[newList.size()];
+        for (int i = 0; i < oldList.size(); i++) {
+            Integer index = newIndices.get(key.apply(oldList.get(i)));
+            if (index != null && !matched[index]) {
+                matched[index] = true;
+                matches[i] = index;
+            } else {
+                matches[i] = -1;
+            }
+        }
+
+        boolean[] kept = keep(matches);
+        boolean[] keptNew = new boolean[newList.size()];
+        List<Step<T>> steps = new ArrayList<>();
+
+        // Remove all items which are not kept, starting at the end so that the indices stay valid
+        int end = -1;
+        for (int i = oldList.size() - 1; i >= -1; i--) {
+            boolean remove = i >= 0 && !kept[i];
+            if (remove && end < 0) {
+                end = i + 1;
+            } else if (!remove && end >= 0) {
+                steps.add(new Step<>(Kind.REMOVE, i + 1, end, null));
+                end = -1;
+            }
+            if (i >= 0 && kept[i]) {
+                keptNew[matches[i]] = true;
+            }
+        }
+
+        // The remaining items are in the order of the new list, insert all missing items in ascending order
+        int start = -1;
+        for (int i = 0; i <= newList.size(); i++) {
+            boolean insert = i < newList.size() && !keptNew[i];
+            if (insert && start < 0) {
+                start = i;
+            } else if (!insert && start >= 0) {
+                steps.add(new Step<>(Kind.INSERT, start, i, List.copyOf(newList.subList(start, i))));
+                start = -1;
+            }
+        }
+
+        // Replace kept items which have changed
+        for (int i = 0; i < oldList.size(); i++) {
+            if (kept[i] && !Objects.equals(oldList.get(i), newList.get(matches[i]))) {
+                steps.add(new Step<>(Kind.SET, matches[i], matches[i] + 1, List.of(newList.get(matches[i]))));
+            }
+        }
+
+        return new ListDiff<>(steps);
+    }
+
+    /**
+     * Determines the largest set of matched items which are already in the correct order (longest increasing subsequence).
+     *
+     * @param matches The new indices of the old items (-1 if removed)
+     * @return Whether the old item at the index can be kept
+     */
+    private static boolean[] keep(int[] matches) {
+        // tails[k] is the index of the smallest end of an increasing subsequence of length k + 1
+        int[] tails = new int[matches.length];
+        int[] previous = new int[matches.length];
+        int length = 0;
+
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (matches[tails[mid]] < matches[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[matches.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+
+    /**
+     * Applies the difference to the given list, which has to be equal to the old list.
+     * <p>
+     * Consecutive removals and insertions are applied as one change, so observable lists will fire as few events as possible.
+     *
+     * @param list The list to apply the difference to
+     */
+    public void applyTo(@NotNull List<T> list) {
+        for (Step<T> step : this.steps) {
+            switch (step.kind()) {
+                case REMOVE -> list.subList(step.from(), step.to()).clear();
+                case INSERT -> list.addAll(step.from(), step.items());
+                case SET -> list.set(step.from(), step.items().get(0));
+            }
+        }
+    }
+
+    /**
+     * Returns whether both lists were equal.
+     *
+     * @return True if there are no changes
+     */
+    public boolean isEmpty() {
+        return this.steps.isEmpty();
+    }
+
+    /**
+     * Returns the amount of changes (removed ranges, inserted ranges and replaced items).
+     *
+     * @return The amount of changes
+     */
+    public int size() {
+        return this.steps.size();
+    }
+}
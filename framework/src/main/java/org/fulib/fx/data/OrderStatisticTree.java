@@ -0,0 +1,478 @@
+package org.fulib.fx.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A balanced tree (treap) storing values in a sequence, which allows accessing values by index and determining the index of a value.
+ * <p>
+ * Inserting a value returns a {@link Handle}, which can be used to determine the current index of the value or to remove it.
+ * All operations take O(log n) time (expected), which makes this tree suitable for keeping the index of observable
+ * collections like sorted views of maps and sets.
+ * <p>
+ * Values can either be inserted at a specific index or according to a comparator.
+ * <p>
+ * Values can be marked as not counted (e.g. because they are hidden by a filter).
+ * The counted values can be accessed by their index among all counted values, which also takes O(log n) time.
+ *
+ * @param <T> The type of the values
+ */
+public class OrderStatisticTree<T> implements Iterable<T> {
+
+    /**
+     * The position of a value in the tree.
+     *
+     * @param <T> The type of the value
+     */
+    public static final class Handle<T> {
+
+        private T value;
+        private final int priority;
+        private OrderStatisticTree<T> tree;
+
+        private Handle<T> parent;
+        private Handle<T> left;
+        private Handle<T> right;
+        private int size = 1;
+        private boolean counted = true;
+        private int countedSize = 1;
+
+        private Handle(OrderStatisticTree<T> tree, T value, int priority) {
+            this.tree = tree;
+            this.value = value;
+            this.priority = priority;
+        }
+
+        /**
+         * Returns the value stored at this position.
+         *
+         * @return The value
+         */
+        public T value() {
+            return this.value;
+        }
+
+        /**
+         * Returns whether the handle still belongs to a tree (it hasn't been removed).
+         *
+         * @return True if the value is still in the tree
+         */
+        public boolean isPresent() {
+            return this.tree != null;
+        }
+
+        /**
+         * Returns whether the value is counted.
+         *
+         * @return True if the value is counted
+         */
+        public boolean isCounted() {
+            return this.counted;
+        }
+    }
+
+    private Handle<T> root;
+
+    // Seed for the priorities of the nodes, the sequence doesn't have to be random but has to be well distributed
+    private int seed = 0x2545F491;
+
+    /**
+     * Returns the amount of values in the tree.
+     *
+     * @return The size of the tree
+     */
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Returns the amount of counted values in the tree.
+     *
+     * @return The amount of counted values
+     */
+    public int countedSize() {
+        return countedSize(this.root);
+    }
+
+    /**
+     * Returns whether the tree is empty.
+     *
+     * @return True if the tree contains no values
+     */
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index The index
+     * @return The value at the index
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public T get(int index) {
+        return handle(index).value;
+    }
+
+    /**
+     * Returns the handle of the value at the given index.
+     *
+     * @param index The index
+     * @return The handle at the index
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public @NotNull Handle<T> handle(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Handle<T> current = this.root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the handle of the counted value at the given index among all counted values.
+     *
+     * @param index The index among the counted values
+     * @return The handle
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public @NotNull Handle<T> countedHandle(int index) {
+        if (index < 0 || index >= countedSize()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + countedSize());
+        }
+        Handle<T> current = this.root;
+        while (true) {
+            int leftSize = countedSize(current.left);
+            int own = current.counted ? 1 : 0;
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index < leftSize + own) {
+                return current;
+            } else {
+                index -= leftSize + own;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of counted values before the given handle.
+     * For counted handles, this is the index among all counted values.
+     *
+     * @param handle The handle
+     * @return The amount of counted values before the handle
+     * @throws IllegalArgumentException If the handle doesn't belong to this tree
+     */
+    public int countedIndexOf(@NotNull Handle<T> handle) {
+        check(handle);
+        int index = countedSize(handle.left);
+        for (Handle<T> current = handle; current.parent != null; current = current.parent) {
+            if (current == current.parent.right) {
+                index += countedSize(current.parent.left) + (current.parent.counted ? 1 : 0);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Sets whether the value of the given handle is counted.
+     *
+     * @param handle  The handle
+     * @param counted Whether the value should be counted
+     */
+    public void setCounted(@NotNull Handle<T> handle, boolean counted) {
+        check(handle);
+        if (handle.counted == counted) {
+            return;
+        }
+        handle.counted = counted;
+        int delta = counted ? 1 : -1;
+        for (Handle<T> current = handle; current != null; current = current.parent) {
+            current.countedSize += delta;
+        }
+    }
+
+    /**
+     * Returns the current index of the given handle.
+     *
+     * @param handle The handle
+     * @return The index of the handle
+     * @throws IllegalArgumentException If the handle doesn't belong to this tree
+     */
+    public int indexOf(@NotNull Handle<T> handle) {
+        check(handle);
+        int index = size(handle.left);
+        for (Handle<T> current = handle; current.parent != null; current = current.parent) {
+            if (current == current.parent.right) {
+                index += size(current.parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Inserts the value at the given index.
+     *
+     * @param index The index to insert the value at
+     * @param value The value
+     * @return The handle of the inserted value
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public @NotNull Handle<T> insert(int index, T value) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Handle<T> handle = new Handle<>(this, value, nextPriority());
+        if (this.root == null) {
+            this.root = handle;
+            return handle;
+        }
+
+        // Insert the value as a leaf at the correct position
+        Handle<T> current = this.root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (index <= leftSize) {
+                if (current.left == null) {
+                    current.left = handle;
+                    break;
+                }
+                current = current.left;
+            } else {
+                index -= leftSize + 1;
+                if (current.right == null) {
+                    current.right = handle;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        handle.parent = current;
+        for (Handle<T> parent = current; parent != null; parent = parent.parent) {
+            parent.size++;
+            parent.countedSize++;
+        }
+
+        // Restore the heap order of the priorities
+        while (handle.parent != null && handle.priority > handle.parent.priority) {
+            rotateUp(handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Inserts the value after all values which are smaller or equal according to the comparator.
+     * <p>
+     * The values in the tree have to be sorted according to the same comparator.
+     *
+     * @param value      The value
+     * @param comparator The comparator
+     * @return The handle of the inserted value
+     */
+    public @NotNull Handle<T> insert(T value, @NotNull Comparator<? super T> comparator) {
+        return insert(sortedIndex(value, comparator), value);
+    }
+
+    /**
+     * Returns the index a value would be inserted at according to the given comparator (after all equal values).
+     *
+     * @param value      The value
+     * @param comparator The comparator
+     * @return The index
+     */
+    public int sortedIndex(T value, @NotNull Comparator<? super T> comparator) {
+        int index = 0;
+        Handle<T> current = this.root;
+        while (current != null) {
+            if (comparator.compare(value, current.value) < 0) {
+                current = current.left;
+            } else {
+                index += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Replaces the value of the given handle without changing its position.
+     *
+     * @param handle The handle
+     * @param value  The new value
+     * @return The old value
+     */
+    public T set(@NotNull Handle<T> handle, T value) {
+        check(handle);
+        T old = handle.value;
+        handle.value = value;
+        return old;
+    }
+
+    /**
+     * Removes the given handle from the tree.
+     *
+     * @param handle The handle to remove
+     * @throws IllegalArgumentException If the handle doesn't belong to this tree
+     */
+    public void remove(@NotNull Handle<T> handle) {
+        check(handle);
+
+        // Rotate the handle down until it has at most one child
+        while (handle.left != null && handle.right != null) {
+            rotateUp(handle.left.priority > handle.right.priority ? handle.left : handle.right);
+        }
+
+        Handle<T> child = handle.left != null ? handle.left : handle.right;
+        replaceChild(handle.parent, handle, child);
+        for (Handle<T> parent = handle.parent; parent != null; parent = parent.parent) {
+            parent.size--;
+            if (handle.counted) {
+                parent.countedSize--;
+            }
+        }
+
+        handle.tree = null;
+        handle.parent = null;
+        handle.left = null;
+        handle.right = null;
+        handle.size = 1;
+        handle.countedSize = handle.counted ? 1 : 0;
+    }
+
+    /**
+     * Removes all values from the tree.
+     */
+    public void clear() {
+        // Detach all handles, so that they can't be used anymore
+        for (Handle<T> handle = first(); handle != null; handle = next(handle)) {
+            handle.tree = null;
+        }
+        this.root = null;
+    }
+
+    /**
+     * Iterates over all values in order.
+     *
+     * @return The iterator
+     */
+    @Override
+    public @NotNull Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Handle<T> next = first();
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public T next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = this.next.value;
+                this.next = OrderStatisticTree.next(this.next);
+                return value;
+            }
+        };
+    }
+
+    private @Nullable Handle<T> first() {
+        Handle<T> current = this.root;
+        while (current != null && current.left != null) {
+            current = current.left;
+        }
+        return current;
+    }
+
+    private static <T> @Nullable Handle<T> next(Handle<T> handle) {
+        if (handle.right != null) {
+            Handle<T> current = handle.right;
+            while (current.left != null) {
+                current = current.left;
+            }
+            return current;
+        }
+        Handle<T> current = handle;
+        while (current.parent != null && current == current.parent.right) {
+            current = current.parent;
+        }
+        return current.parent;
+    }
+
+    private void rotateUp(Handle<T> handle) {
+        Handle<T> parent = handle.parent;
+        Handle<T> grandParent = parent.parent;
+
+        if (handle == parent.left) {
+            parent.left = handle.right;
+            if (handle.right != null) {
+                handle.right.parent = parent;
+            }
+            handle.right = parent;
+        } else {
+            parent.right = handle.left;
+            if (handle.left != null) {
+                handle.left.parent = parent;
+            }
+            handle.left = parent;
+        }
+        parent.parent = handle;
+        replaceChild(grandParent, parent, handle);
+
+        parent.size = 1 + size(parent.left) + size(parent.right);
+        handle.size = 1 + size(handle.left) + size(handle.right);
+        parent.countedSize = (parent.counted ? 1 : 0) + countedSize(parent.left) + countedSize(parent.right);
+        handle.countedSize = (handle.counted ? 1 : 0) + countedSize(handle.left) + countedSize(handle.right);
+    }
+
+    private void replaceChild(Handle<T> parent, Handle<T> oldChild, Handle<T> newChild) {
+        if (newChild != null) {
+            newChild.parent = parent;
+        }
+        if (parent == null) {
+            this.root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+    }
+
+    private void check(Handle<T> handle) {
+        if (handle.tree != this) {
+            throw new IllegalArgumentException("Handle doesn't belong to this tree");
+        }
+    }
+
+    private int nextPriority() {
+        // xorshift
+        this.seed ^= this.seed << 13;
+        this.seed ^= this.seed >>> 17;
+        this.seed ^= this.seed << 5;
+        return this.seed;
+    }
+
+    private static int size(Handle<?> handle) {
+        return handle == null ? 0 : handle.size;
+    }
+
+    private static int countedSize(Handle<?> handle) {
+        return handle == null ? 0 : handle.countedSize;
+    }
+}
@@ -0,0 +1,337 @@
+package org.fulib.fx.data;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.Skin;
+import javafx.scene.control.skin.VirtualFlow;
+import org.fulib.fx.FulibFxApp;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+
+import static org.fulib.fx.FulibFxApp.FX_SCHEDULER;
+import static org.fulib.fx.util.FrameworkUtil.error;
+
+/**
+ * A read-only observable list whose items are loaded page by page.
+ * <p>
+ * Only the pages around the current viewport (the range of items which is currently visible) are loaded.
+ * Pages are loaded asynchronously using a page loader, which is subscribed to on a background scheduler.
+ * Besides the pages in the viewport, a configurable amount of pages before and after the viewport is prefetched.
+ * Pages which are too far away from the viewport are evicted again.
+ * <p>
+ * Items which haven't been loaded yet are represented by placeholders, so the size of the list (and therefore the scroll extent
+ * of a list view displaying it) stays the same. Loading or evicting a page replaces the items of the page in a single change,
+ * so reusable components of a {@link org.fulib.fx.constructs.listview.ComponentListCell} or a {@link org.fulib.fx.constructs.forloop.For} loop
+ * are updated instead of being recreated.
+ * <p>
+ * Placeholders for the same index have to be equal (e.g. a record containing the index), as they are created on demand.
+ * <p>
+ * The viewport can be set manually using {@link #setViewport(int, int)} or tracked automatically using {@link #trackViewport(ListView)}.
+ * The list has to be used on the FX thread. Disposing the list cancels all pending page loads.
+ *
+ * @param <E> The type of the items
+ */
+public class PagedList<E> extends ObservableListBase<E> implements Disposable {
+
+    private final int pageSize;
+    private final IntFunction<? extends Single<? extends List<? extends E>>> loader;
+    private final IntFunction<? extends E> placeholder;
+
+    // The loaded pages by their page index
+    private final Map<Integer, List<? extends E>> pages = new HashMap<>();
+    // The pages which are currently loading by their page index
+    private final Map<Integer, Disposable> loading = new HashMap<>();
+
+    private Scheduler scheduler = Schedulers.io();
+    private int size;
+    private int prefetchPages = 1;
+    private int retainedPages = 2;
+
+    // The current viewport (from inclusive, to exclusive)
+    private int viewportFrom = 0;
+    private int viewportTo = 0;
+
+    private boolean disposed;
+
+    /**
+     * Creates a new paged list. No pages are loaded until the viewport is set.
+     *
+     * @param size        The total amount of items
+     * @param pageSize    The amount of items per page
+     * @param loader      The function loading the items of a page (by page index), the last page may contain fewer items
+     * @param placeholder The function creating the placeholder for an index which hasn't been loaded yet
+     */
+    public PagedList(int size, int pageSize, @NotNull IntFunction<? extends Single<? extends List<? extends E>>> loader, @NotNull IntFunction<? extends E> placeholder) {
+        if (size < 0) throw new IllegalArgumentException("Size must not be negative");
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive");
+        this.size = size;
+        this.pageSize = pageSize;
+        this.loader = loader;
+        this.placeholder = placeholder;
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        List<? extends E> page = this.pages.get(index / this.pageSize);
+        int offset = index % this.pageSize;
+        if (page != null && offset < page.size()) {
+            return page.get(offset);
+        }
+        return this.placeholder.apply(index);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns whether the item at the given index has been loaded (and is not a placeholder).
+     *
+     * @param index The index
+     * @return True if the item has been loaded
+     */
+    public boolean isLoaded(int index) {
+        List<? extends E> page = this.pages.get(index / this.pageSize);
+        return page != null && index % this.pageSize < page.size();
+    }
+
+    /**
+     * Changes the total amount of items, e.g. because the result set has grown.
+     * Pages which are no longer part of the list are evicted.
+     *
+     * @param size The new amount of items
+     */
+    public void setSize(int size) {
+        if (size < 0) throw new IllegalArgumentException("Size must not be negative");
+        if (size == this.size) {
+            return;
+        }
+        beginChange();
+        try {
+            if (size > this.size) {
+                int from = this.size;
+                this.size = size;
+                nextAdd(from, size);
+            } else {
+                List<E> removed = new ArrayList<>(this.subList(size, this.size));
+                this.size = size;
+                nextRemove(size, removed);
+                this.pages.keySet().removeIf(page -> page * this.pageSize >= size);
+            }
+            updatePages();
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Sets the amount of pages which are prefetched before and after the viewport.
+     *
+     * @param prefetchPages The amount of pages in each direction
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        if (prefetchPages < 0) throw new IllegalArgumentException("Amount must not be negative");
+        this.prefetchPages = prefetchPages;
+        this.retainedPages = Math.max(this.retainedPages, prefetchPages);
+        updatePages();
+    }
+
+    /**
+     * Sets the amount of pages before and after the viewport which are kept loaded. Pages further away are evicted.
+     * The amount can't be lower than the amount of prefetched pages.
+     *
+     * @param retainedPages The amount of pages in each direction
+     */
+    public void setRetainedPages(int retainedPages) {
+        this.retainedPages = Math.max(retainedPages, this.prefetchPages);
+        updatePages();
+    }
+
+    /**
+     * Sets the scheduler the page loader is subscribed on. Defaults to {@link Schedulers#io()}.
+     *
+     * @param scheduler The scheduler
+     */
+    public void setScheduler(@NotNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets the range of items which is currently visible. Loads the pages of the viewport and the pages around it
+     * and evicts pages which are too far away.
+     *
+     * @param from The index of the first visible item (inclusive)
+     * @param to   The index after the last visible item (exclusive)
+     */
+    public void setViewport(int from, int to) {
+        this.viewportFrom = Math.max(0, from);
+        this.viewportTo = Math.max(this.viewportFrom, to);
+        updatePages();
+    }
+
+    /**
+     * Updates the viewport whenever the given list view is scrolled.
+     * The list view has to display this list.
+     *
+     * @param listView The list view displaying the list
+     * @return A disposable to stop tracking the viewport
+     */
+    public @NotNull Disposable trackViewport(@NotNull ListView<?> listView) {
+        List<VirtualFlow<?>> flow = new ArrayList<>(1);
+        ChangeListener<Number> scrollListener = (observable, oldValue, newValue) -> updateViewport(flow.get(0));
+        ChangeListener<Skin<?>> skinListener = (observable, oldSkin, newSkin) -> {
+            if (!flow.isEmpty()) {
+                flow.remove(0).positionProperty().removeListener(scrollListener);
+            }
+            if (listView.lookup(".virtual-flow") instanceof VirtualFlow<?> virtualFlow) {
+                flow.add(virtualFlow);
+                virtualFlow.positionProperty().addListener(scrollListener);
+                // The cells are only known after the next layout pass
+                Platform.runLater(() -> updateViewport(virtualFlow));
+            }
+        };
+        listView.skinProperty().addListener(skinListener);
+        skinListener.changed(listView.skinProperty(), null, listView.getSkin());
+
+        return Disposable.fromRunnable(() -> {
+            listView.skinProperty().removeListener(skinListener);
+            if (!flow.isEmpty()) {
+                flow.remove(0).positionProperty().removeListener(scrollListener);
+            }
+        });
+    }
+
+    private void updateViewport(VirtualFlow<?> flow) {
+        IndexedCell<?> first = flow.getFirstVisibleCell();
+        IndexedCell<?> last = flow.getLastVisibleCell();
+        if (first != null && last != null) {
+            setViewport(first.getIndex(), last.getIndex() + 1);
+        }
+    }
+
+    /**
+     * Loads the pages in and around the viewport and evicts the pages which are too far away.
+     */
+    private void updatePages() {
+        if (this.disposed || this.size == 0 || this.viewportFrom == this.viewportTo) {
+            return; // Nothing is visible
+        }
+        int lastPage = (this.size - 1) / this.pageSize;
+        int firstVisible = Math.min(this.viewportFrom / this.pageSize, lastPage);
+        int lastVisible = Math.min(Math.max(this.viewportTo - 1, this.viewportFrom) / this.pageSize, lastPage);
+
+        // Evict pages and cancel loads outside the retained range
+        int retainFrom = firstVisible - this.retainedPages;
+        int retainTo = lastVisible + this.retainedPages;
+        this.loading.entrySet().removeIf(entry -> {
+            boolean outside = entry.getKey() < retainFrom || entry.getKey() > retainTo;
+            if (outside) {
+                entry.getValue().dispose();
+            }
+            return outside;
+        });
+        beginChange();
+        try {
+            for (Integer page : new ArrayList<>(this.pages.keySet())) {
+                if (page < retainFrom || page > retainTo) {
+                    evict(page);
+                }
+            }
+        } finally {
+            endChange();
+        }
+
+        // Load the visible pages first, then the following and the preceding pages
+        for (int page = firstVisible; page <= lastVisible; page++) {
+            load(page);
+        }
+        for (int distance = 1; distance <= this.prefetchPages; distance++) {
+            if (lastVisible + distance <= lastPage) {
+                load(lastVisible + distance);
+            }
+            if (firstVisible - distance >= 0) {
+                load(firstVisible - distance);
+            }
+        }
+    }
+
+    private void load(int page) {
+        if (this.pages.containsKey(page) || this.loading.containsKey(page)) {
+            return;
+        }
+        this.loading.put(page, this.loader.apply(page)
+                .subscribeOn(this.scheduler)
+                .observeOn(FX_SCHEDULER)
+                .subscribe(
+                        items -> loaded(page, items),
+                        throwable -> {
+                            // The page will be loaded again once the viewport changes
+                            this.loading.remove(page);
+                            FulibFxApp.LOGGER.log(Level.WARNING, error(7004).formatted(page), throwable);
+                        }
+                ));
+    }
+
+    private void loaded(int page, List<? extends E> items) {
+        if (this.loading.remove(page) == null || this.disposed) {
+            return; // The load has been cancelled in the meantime
+        }
+        int from = page * this.pageSize;
+        int to = Math.min(this.size, from + this.pageSize);
+        if (from >= to) {
+            return;
+        }
+        beginChange();
+        try {
+            List<E> placeholders = new ArrayList<>(this.subList(from, to));
+            this.pages.put(page, items);
+            nextReplace(from, to, placeholders);
+        } finally {
+            endChange();
+        }
+    }
+
+    private void evict(int page) {
+        int from = page * this.pageSize;
+        int to = Math.min(this.size, from + this.pageSize);
+        if (from >= to) {
+            this.pages.remove(page);
+            return;
+        }
+        List<E> items = new ArrayList<>(this.subList(from, to));
+        this.pages.remove(page);
+        nextReplace(from, to, items);
+    }
+
+    /**
+     * Cancels all pending page loads. Afterward, no pages will be loaded anymore.
+     */
+    @Override
+    public void dispose() {
+        this.disposed = true;
+        this.loading.values().forEach(Disposable::dispose);
+        this.loading.clear();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+}
@@ -0,0 +1,405 @@
+package org.fulib.fx.data;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A read-only observable list showing the items of a source list which match a predicate, optionally sorted by a comparator.
+ * <p>
+ * Unlike rebuilding the list, the projection is maintained incrementally: every change of the source list only adds,
+ * removes or moves the affected items, using {@link OrderStatisticTree}s to locate them in O(log n).
+ * Changing the predicate only adds and removes the items whose visibility changed.
+ * Changing the comparator results in a single permutation, so For loops move their existing nodes instead of recreating them.
+ * <p>
+ * If the source list fires update changes (e.g. because it was created with an extractor), the predicate and comparator
+ * are re-evaluated for the updated items. Updated items which have to be moved are moved using a permutation as well.
+ * <p>
+ * Disposing the projection removes its listener from the source list.
+ *
+ * @param <E> The type of the items
+ */
+public class ProjectionList<E> extends ObservableListBase<E> implements Disposable {
+
+    private final ObservableList<? extends E> source;
+
+    // All items of the source in the order of the source, visible items are counted
+    private OrderStatisticTree<E> sourceTree = new OrderStatisticTree<>();
+    // The visible items in sorted order (only used if a comparator is set)
+    private final OrderStatisticTree<OrderStatisticTree.Handle<E>> sortedTree = new OrderStatisticTree<>();
+    // The position of each visible item in the sorted tree
+    private final Map<OrderStatisticTree.Handle<E>, OrderStatisticTree.Handle<OrderStatisticTree.Handle<E>>> sortedHandles = new IdentityHashMap<>();
+
+    private final ObjectProperty<Predicate<? super E>> predicate = new SimpleObjectProperty<>(this, "predicate");
+    private final ObjectProperty<Comparator<? super E>> comparator = new SimpleObjectProperty<>(this, "comparator");
+
+    // The comparator currently used for the sorted tree
+    private Comparator<OrderStatisticTree.Handle<E>> handleComparator;
+
+    private final ListChangeListener<E> sourceListener = this::onSourceChanged;
+    private boolean disposed = false;
+
+    /**
+     * Creates a new projection of the given list.
+     *
+     * @param source     The source list
+     * @param predicate  The predicate items have to match to be visible or null to show all items
+     * @param comparator The comparator to sort the visible items by or null to keep the order of the source list
+     */
+    public ProjectionList(@NotNull ObservableList<? extends E> source, @Nullable Predicate<? super E> predicate, @Nullable Comparator<? super E> comparator) {
+        this.source = source;
+        this.predicate.set(predicate);
+        this.comparator.set(comparator);
+        this.handleComparator = handleComparator(comparator);
+
+        for (int i = 0; i < source.size(); i++) {
+            OrderStatisticTree.Handle<E> handle = this.sourceTree.insert(i, source.get(i));
+            this.sourceTree.setCounted(handle, false);
+            if (test(handle.value())) {
+                this.sourceTree.setCounted(handle, true);
+                if (this.handleComparator != null) {
+                    this.sortedHandles.put(handle, this.sortedTree.insert(handle, this.handleComparator));
+                }
+            }
+        }
+
+        source.addListener(this.sourceListener);
+        this.predicate.addListener((observable, oldValue, newValue) -> refilter());
+        this.comparator.addListener((observable, oldValue, newValue) -> resort());
+    }
+
+    /**
+     * Creates a new projection showing all items of the given list in the order of the list.
+     * Use {@link #predicateProperty()} and {@link #comparatorProperty()} to filter and sort the items.
+     *
+     * @param source The source list
+     */
+    public ProjectionList(@NotNull ObservableList<? extends E> source) {
+        this(source, null, null);
+    }
+
+    /**
+     * The predicate items have to match to be visible. If null, all items are visible.
+     *
+     * @return The predicate property
+     */
+    public ObjectProperty<Predicate<? super E>> predicateProperty() {
+        return this.predicate;
+    }
+
+    public Predicate<? super E> getPredicate() {
+        return this.predicate.get();
+    }
+
+    public void setPredicate(Predicate<? super E> predicate) {
+        this.predicate.set(predicate);
+    }
+
+    /**
+     * The comparator the visible items are sorted by. If null, the items are in the order of the source list.
+     *
+     * @return The comparator property
+     */
+    public ObjectProperty<Comparator<? super E>> comparatorProperty() {
+        return this.comparator;
+    }
+
+    public Comparator<? super E> getComparator() {
+        return this.comparator.get();
+    }
+
+    public void setComparator(Comparator<? super E> comparator) {
+        this.comparator.set(comparator);
+    }
+
+    @Override
+    public E get(int index) {
+        if (this.handleComparator == null) {
+            return this.sourceTree.countedHandle(index).value();
+        }
+        return this.sortedTree.get(index).value();
+    }
+
+    @Override
+    public int size() {
+        return this.sourceTree.countedSize();
+    }
+
+    private void onSourceChanged(ListChangeListener.Change<? extends E> change) {
+        beginChange();
+        try {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    permuteSource(change);
+                } else if (change.wasUpdated()) {
+                    for (int i = change.getFrom(); i < change.getTo(); i++) {
+                        update(this.sourceTree.handle(i));
+                    }
+                } else {
+                    for (int i = 0; i < change.getRemovedSize(); i++) {
+                        OrderStatisticTree.Handle<E> handle = this.sourceTree.handle(change.getFrom());
+                        if (handle.isCounted()) {
+                            hide(handle);
+                        }
+                        this.sourceTree.remove(handle);
+                    }
+                    List<? extends E> added = change.getAddedSubList();
+                    for (int i = 0; i < added.size(); i++) {
+                        OrderStatisticTree.Handle<E> handle = this.sourceTree.insert(change.getFrom() + i, added.get(i));
+                        this.sourceTree.setCounted(handle, false);
+                        if (test(handle.value())) {
+                            show(handle);
+                        }
+                    }
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Re-evaluates the predicate for all items, only items whose visibility changed are added or removed.
+     */
+    private void refilter() {
+        beginChange();
+        try {
+            for (int i = 0; i < this.sourceTree.size(); i++) {
+                OrderStatisticTree.Handle<E> handle = this.sourceTree.handle(i);
+                boolean visible = test(handle.value());
+                if (visible && !handle.isCounted()) {
+                    show(handle);
+                } else if (!visible && handle.isCounted()) {
+                    hide(handle);
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Sorts the visible items by the new comparator and fires a single permutation.
+     */
+    private void resort() {
+        List<OrderStatisticTree.Handle<E>> oldOrder = visibleHandles();
+
+        this.handleComparator = handleComparator(this.comparator.get());
+        this.sortedTree.clear();
+        this.sortedHandles.clear();
+
+        List<OrderStatisticTree.Handle<E>> newOrder;
+        if (this.handleComparator == null) {
+            newOrder = visibleHandles();
+        } else {
+            newOrder = new ArrayList<>(oldOrder);
+            newOrder.sort(this.handleComparator);
+            for (OrderStatisticTree.Handle<E> handle : newOrder) {
+                this.sortedHandles.put(handle, this.sortedTree.insert(this.sortedTree.size(), handle));
+            }
+        }
+
+        firePermutation(oldOrder, newOrder);
+    }
+
+    /**
+     * Rebuilds the source tree after the source list has been permuted.
+     */
+    private void permuteSource(ListChangeListener.Change<? extends E> change) {
+        List<OrderStatisticTree.Handle<E>> oldVisible = this.handleComparator == null ? visibleHandles() : null;
+
+        OrderStatisticTree.Handle<E>[] handles = handlesInOrder();
+        @SuppressWarnings("unchecked")
+        OrderStatisticTree.Handle<E>[] permuted = new OrderStatisticTree.Handle[handles.length];
+        for (int i = 0; i < handles.length; i++) {
+            boolean inRange = i >= change.getFrom() && i < change.getTo();
+            permuted[inRange ? change.getPermutation(i) : i] = handles[i];
+        }
+
+        // Handles can't be moved, so the tree is rebuilt and the sorted tree is updated to point to the new handles
+        OrderStatisticTree<E> tree = new OrderStatisticTree<>();
+        Map<OrderStatisticTree.Handle<E>, OrderStatisticTree.Handle<E>> replacements = new IdentityHashMap<>();
+        for (int i = 0; i < permuted.length; i++) {
+            OrderStatisticTree.Handle<E> handle = tree.insert(i, permuted[i].value());
+            tree.setCounted(handle, permuted[i].isCounted());
+            replacements.put(permuted[i], handle);
+
+            OrderStatisticTree.Handle<OrderStatisticTree.Handle<E>> sorted = this.sortedHandles.remove(permuted[i]);
+            if (sorted != null) {
+                this.sortedTree.set(sorted, handle);
+                this.sortedHandles.put(handle, sorted);
+            }
+        }
+        this.sourceTree = tree;
+
+        // Without a comparator, the visible items follow the order of the source list
+        if (oldVisible != null) {
+            oldVisible.replaceAll(replacements::get);
+            firePermutation(oldVisible, visibleHandles());
+        }
+    }
+
+    /**
+     * Re-evaluates the predicate and the position of an updated item.
+     */
+    private void update(OrderStatisticTree.Handle<E> handle) {
+        boolean visible = test(handle.value());
+        if (!visible) {
+            if (handle.isCounted()) {
+                hide(handle);
+            }
+            return;
+        }
+        if (!handle.isCounted()) {
+            show(handle);
+            return;
+        }
+
+        int index = visibleIndex(handle);
+        if (fits(index, handle)) {
+            nextUpdate(index);
+        } else {
+            move(handle, index);
+        }
+    }
+
+    /**
+     * Moves an updated item from the given index to its sorted position using a single permutation,
+     * so For loops move and keep the existing node instead of recreating it.
+     */
+    private void move(OrderStatisticTree.Handle<E> handle, int from) {
+        this.sortedTree.remove(this.sortedHandles.get(handle));
+        this.sortedHandles.put(handle, this.sortedTree.insert(handle, this.handleComparator));
+        int to = visibleIndex(handle);
+
+        if (from != to) {
+            int low = Math.min(from, to);
+            int high = Math.max(from, to);
+            int[] permutation = new int[high - low + 1];
+            for (int i = low; i <= high; i++) {
+                // The items between the old and the new index shift by one towards the old index
+                permutation[i - low] = i == from ? to : from < to ? i - 1 : i + 1;
+            }
+            nextPermutation(low, high + 1, permutation);
+        }
+        nextUpdate(to);
+    }
+
+    private void show(OrderStatisticTree.Handle<E> handle) {
+        this.sourceTree.setCounted(handle, true);
+        if (this.handleComparator != null) {
+            this.sortedHandles.put(handle, this.sortedTree.insert(handle, this.handleComparator));
+        }
+        int index = visibleIndex(handle);
+        nextAdd(index, index + 1);
+    }
+
+    private void hide(OrderStatisticTree.Handle<E> handle) {
+        int index = visibleIndex(handle);
+        if (this.handleComparator != null) {
+            this.sortedTree.remove(this.sortedHandles.remove(handle));
+        }
+        this.sourceTree.setCounted(handle, false);
+        nextRemove(index, handle.value());
+    }
+
+    private int visibleIndex(OrderStatisticTree.Handle<E> handle) {
+        if (this.handleComparator == null) {
+            return this.sourceTree.countedIndexOf(handle);
+        }
+        return this.sortedTree.indexOf(this.sortedHandles.get(handle));
+    }
+
+    /**
+     * Checks whether the visible item at the given index is still in the correct order.
+     */
+    private boolean fits(int index, OrderStatisticTree.Handle<E> handle) {
+        if (this.handleComparator == null) {
+            return true;
+        }
+        return (index == 0 || this.handleComparator.compare(this.sortedTree.get(index - 1), handle) <= 0)
+                && (index == this.sortedTree.size() - 1 || this.handleComparator.compare(handle, this.sortedTree.get(index + 1)) <= 0);
+    }
+
+    private void firePermutation(List<OrderStatisticTree.Handle<E>> oldOrder, List<OrderStatisticTree.Handle<E>> newOrder) {
+        if (oldOrder.isEmpty()) {
+            return;
+        }
+        Map<OrderStatisticTree.Handle<E>, Integer> newIndices = new IdentityHashMap<>(newOrder.size());
+        for (int i = 0; i < newOrder.size(); i++) {
+            newIndices.put(newOrder.get(i), i);
+        }
+        int[] permutation = new int[oldOrder.size()];
+        boolean changed = false;
+        for (int i = 0; i < permutation.length; i++) {
+            permutation[i] = newIndices.get(oldOrder.get(i));
+            changed |= permutation[i] != i;
+        }
+        if (!changed) {
+            return;
+        }
+
+        beginChange();
+        try {
+            nextPermutation(0, permutation.length, permutation);
+        } finally {
+            endChange();
+        }
+    }
+
+    private List<OrderStatisticTree.Handle<E>> visibleHandles() {
+        List<OrderStatisticTree.Handle<E>> handles = new ArrayList<>(size());
+        if (this.handleComparator == null) {
+            for (OrderStatisticTree.Handle<E> handle : handlesInOrder()) {
+                if (handle.isCounted()) {
+                    handles.add(handle);
+                }
+            }
+        } else {
+            this.sortedTree.forEach(handles::add);
+        }
+        return handles;
+    }
+
+    private OrderStatisticTree.Handle<E>[] handlesInOrder() {
+        @SuppressWarnings("unchecked")
+        OrderStatisticTree.Handle<E>[] handles = new OrderStatisticTree.Handle[this.sourceTree.size()];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = this.sourceTree.handle(i);
+        }
+        return handles;
+    }
+
+    private boolean test(E item) {
+        Predicate<? super E> predicate = this.predicate.get();
+        return predicate == null || predicate.test(item);
+    }
+
+    private static <E> @Nullable Comparator<OrderStatisticTree.Handle<E>> handleComparator(@Nullable Comparator<? super E> comparator) {
+        return comparator == null ? null : (a, b) -> comparator.compare(a.value(), b.value());
+    }
+
+    /**
+     * Stops updating the projection.
+     */
+    @Override
+    public void dispose() {
+        if (!this.disposed) {
+            this.disposed = true;
+            this.source.removeListener(this.sourceListener);
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+}
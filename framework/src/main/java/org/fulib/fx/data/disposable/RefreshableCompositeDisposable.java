@@ -30,6 +30,15 @@ public class RefreshableCompositeDisposable implements RefreshableDisposableCont
         return this.compositeDisposable == null || (!this.compositeDisposable.isDisposed() && this.compositeDisposable.size() == 0);
     }
 
+    /**
+     * Returns the amount of disposables currently contained.
+     *
+     * @return The amount of disposables
+     */
+    public int size() {
+        return compositeDisposable == null ? 0 : compositeDisposable.size();
+    }
+
     @Override
     public void dispose() {
         if (compositeDisposable != null) {
@@ -0,0 +1,144 @@
+package org.fulib.fx.data.disposable;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WeakChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A disposable for a listener which is only weakly referenced by the observable it listens to.
+ * <p>
+ * The observable only holds a weak wrapper of the listener, while the listener itself is strongly referenced by this disposable.
+ * As long as the disposable is reachable (e.g. because it has been added to the subscriber of a controller), the listener stays registered.
+ * If the disposable becomes unreachable without being disposed (e.g. because the controller has never been destroyed),
+ * the listener can be garbage collected, so the observable (e.g. a long-living model) doesn't keep the listener and everything it references alive.
+ * <p>
+ * Stale wrappers are removed from property change supports as soon as the listener has been collected,
+ * JavaFX observables remove them on their next change. The amount of listeners which have been collected without being disposed
+ * can be checked using {@link #getCollectedCount()}, which helps finding controllers which are not destroyed properly.
+ */
+public class WeakListenerDisposable implements Disposable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final AtomicLong COLLECTED = new AtomicLong();
+
+    // Strong reference keeping the listener alive as long as the disposable is reachable
+    private Object listener;
+    private final AtomicBoolean removed;
+    private final Runnable remove;
+    private final Cleaner.Cleanable cleanable;
+
+    private WeakListenerDisposable(Object listener, Runnable remove, @Nullable Runnable cleanup) {
+        this.listener = listener;
+        this.remove = remove;
+        AtomicBoolean removed = new AtomicBoolean();
+        this.removed = removed;
+        // The cleaning action must not reference the listener or the disposable, otherwise they would never be collected
+        this.cleanable = CLEANER.register(listener, () -> {
+            if (removed.compareAndSet(false, true)) {
+                COLLECTED.incrementAndGet();
+                if (cleanup != null) {
+                    cleanup.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a weak change listener to an observable value.
+     *
+     * @param observable The observable to listen to
+     * @param listener   The listener to add
+     * @param <T>        The type of the value
+     * @return The disposable removing the listener
+     */
+    public static <T> @NotNull WeakListenerDisposable of(@NotNull ObservableValue<T> observable, @NotNull ChangeListener<? super T> listener) {
+        @SuppressWarnings("unchecked") // The listener accepts all values of the observable
+        WeakChangeListener<T> weak = new WeakChangeListener<>((ChangeListener<T>) listener);
+        observable.addListener(weak);
+        // JavaFX observables remove collected weak listeners on their next change, which has to happen on the FX thread
+        return new WeakListenerDisposable(listener, () -> observable.removeListener(weak), null);
+    }
+
+    /**
+     * Adds a weak beans property change listener for a single property to a property change support.
+     *
+     * @param support  The property change support
+     * @param property The property to listen to
+     * @param listener The listener to add
+     * @return The disposable removing the listener
+     */
+    public static @NotNull WeakListenerDisposable of(@NotNull PropertyChangeSupport support, @NotNull String property, @NotNull PropertyChangeListener listener) {
+        WeakPropertyChangeListener weak = new WeakPropertyChangeListener(listener);
+        support.addPropertyChangeListener(property, weak);
+        Runnable remove = () -> support.removePropertyChangeListener(property, weak);
+        return new WeakListenerDisposable(listener, remove, remove);
+    }
+
+    /**
+     * Adds a weak beans property change listener for all properties to a property change support.
+     *
+     * @param support  The property change support
+     * @param listener The listener to add
+     * @return The disposable removing the listener
+     */
+    public static @NotNull WeakListenerDisposable of(@NotNull PropertyChangeSupport support, @NotNull PropertyChangeListener listener) {
+        WeakPropertyChangeListener weak = new WeakPropertyChangeListener(listener);
+        support.addPropertyChangeListener(weak);
+        Runnable remove = () -> support.removePropertyChangeListener(weak);
+        return new WeakListenerDisposable(listener, remove, remove);
+    }
+
+    /**
+     * Returns the amount of weak listeners which have been garbage collected without being disposed.
+     *
+     * @return The amount of collected listeners
+     */
+    public static long getCollectedCount() {
+        return COLLECTED.get();
+    }
+
+    @Override
+    public void dispose() {
+        if (this.removed.compareAndSet(false, true)) {
+            this.remove.run();
+        }
+        this.listener = null;
+        this.cleanable.clean();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.removed.get();
+    }
+
+    /**
+     * A property change listener forwarding events to a weakly referenced listener.
+     */
+    private static class WeakPropertyChangeListener implements PropertyChangeListener {
+
+        private final WeakReference<PropertyChangeListener> reference;
+
+        private WeakPropertyChangeListener(PropertyChangeListener listener) {
+            this.reference = new WeakReference<>(listener);
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent event) {
+            PropertyChangeListener listener = this.reference.get();
+            if (listener != null) {
+                listener.propertyChange(event);
+            }
+        }
+    }
+}
@@ -10,7 +10,8 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import org.fulib.fx.duplicate.duplicators.impl.*;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.fulib.fx.util.FrameworkUtil.error;
 
@@ -23,12 +24,27 @@ import static org.fulib.fx.util.FrameworkUtil.error;
  * <p>
  * Use {@link Duplicators#register(Class, Duplicator)} to register a {@link Duplicator} for a specific class.
  * You can also override existing {@link Duplicator}s or extend them to create new ones if you need to add additional properties.
+ * <p>
+ * Objects are duplicated by the {@link Duplicator} registered for the closest superclass of their class,
+ * so subclasses of registered classes (e.g. a custom {@link Button}) can be duplicated as well.
+ * Properties declared in the subclass are not copied unless a {@link Duplicator} is registered for the subclass.
  *
  * @see Duplicator
  */
 public class Duplicators {
 
-    private static final HashMap<Class<?>, Duplicator<?>> DUPLICATORS = new HashMap<>();
+    private static final Map<Class<?>, Duplicator<?>> DUPLICATORS = new ConcurrentHashMap<>();
+
+    // Incremented whenever a duplicator is registered, invalidating all resolved duplicators
+    private static volatile int version;
+
+    // The duplicator resolved for each class through the class hierarchy
+    private static final ClassValue<ResolvedDuplicator> RESOLVED = new ClassValue<>() {
+        @Override
+        protected ResolvedDuplicator computeValue(Class<?> type) {
+            return new ResolvedDuplicator();
+        }
+    };
 
     static {
         register(Button.class, new ButtonDuplicator<>());
@@ -52,8 +68,9 @@ public class Duplicators {
      * @param duplicator The {@link Duplicator} to register
      * @param <T>        The type of the class
      */
-    public static <T> void register(Class<T> clazz, Duplicator<T> duplicator) {
+    public static synchronized <T> void register(Class<T> clazz, Duplicator<T> duplicator) {
         DUPLICATORS.put(clazz, duplicator);
+        version++;
     }
 
     /**
@@ -69,15 +86,42 @@ public class Duplicators {
             return null;
         }
 
-        if (!DUPLICATORS.containsKey(object.getClass())) {
+        @SuppressWarnings("unchecked")
+        Duplicator<T> duplicator = (Duplicator<T>) resolve(object.getClass());
+        if (duplicator == null) {
             throw new IllegalArgumentException(error(9006).formatted(object.getClass()));
         }
 
-        @SuppressWarnings("unchecked")
-        Duplicator<T> duplicator = (Duplicator<T>) DUPLICATORS.get(object.getClass());
-
         return duplicator.duplicate(object);
     }
 
+    /**
+     * Returns the {@link Duplicator} registered for the given class or its closest superclass.
+     * The result is cached per class until a new {@link Duplicator} is registered.
+     *
+     * @param clazz The class to get the {@link Duplicator} for
+     * @return The {@link Duplicator} or null if none is registered for the class or any of its superclasses
+     */
+    public static Duplicator<?> resolve(Class<?> clazz) {
+        ResolvedDuplicator resolved = RESOLVED.get(clazz);
+        Resolution resolution = resolved.resolution;
+        int currentVersion = version;
+        if (resolution == null || resolution.version() != currentVersion) {
+            Duplicator<?> duplicator = null;
+            for (Class<?> type = clazz; type != null && duplicator == null; type = type.getSuperclass()) {
+                duplicator = DUPLICATORS.get(type);
+            }
+            resolution = new Resolution(currentVersion, duplicator);
+            resolved.resolution = resolution;
+        }
+        return resolution.duplicator();
+    }
+
+    private record Resolution(int version, Duplicator<?> duplicator) {
+    }
+
+    private static final class ResolvedDuplicator {
+        private volatile Resolution resolution;
+    }
 
 }
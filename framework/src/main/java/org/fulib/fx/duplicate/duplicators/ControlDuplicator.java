@@ -8,9 +8,9 @@ public abstract class ControlDuplicator<T extends Control> extends ParentDuplica
         public T duplicate(T control) {
             T duplicate = super.duplicate(control);
 
-            duplicate.setContextMenu(control.getContextMenu());
-            duplicate.setSkin(control.getSkin()); // Skinnable
-            duplicate.setTooltip(control.getTooltip());
+            if (control.getContextMenu() != duplicate.getContextMenu()) duplicate.setContextMenu(control.getContextMenu());
+            // Skins are bound to their control, the duplicate creates its own skin when it is displayed
+            if (control.getTooltip() != duplicate.getTooltip()) duplicate.setTooltip(control.getTooltip());
 
             return duplicate;
         }
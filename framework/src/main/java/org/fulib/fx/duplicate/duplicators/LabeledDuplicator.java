@@ -2,26 +2,28 @@ package org.fulib.fx.duplicate.duplicators;
 
 import javafx.scene.control.Labeled;
 
+import java.util.Objects;
+
 public abstract class LabeledDuplicator<T extends Labeled> extends ControlDuplicator<T> {
 
     @Override
     public T duplicate(T labeled) {
         T newLabeled = super.duplicate(labeled);
 
-        newLabeled.setText(labeled.getText());
-        newLabeled.setAlignment(labeled.getAlignment());
-        newLabeled.setTextAlignment(labeled.getTextAlignment());
-        newLabeled.setTextOverrun(labeled.getTextOverrun());
-        newLabeled.setEllipsisString(labeled.getEllipsisString());
-        newLabeled.setWrapText(labeled.isWrapText());
-        newLabeled.setFont(labeled.getFont());
-        newLabeled.setGraphic(labeled.getGraphic());
-        newLabeled.setUnderline(labeled.isUnderline());
-        newLabeled.setLineSpacing(labeled.getLineSpacing());
-        newLabeled.setContentDisplay(labeled.getContentDisplay());
-        newLabeled.setGraphicTextGap(labeled.getGraphicTextGap());
-        newLabeled.setTextFill(labeled.getTextFill());
-        newLabeled.setMnemonicParsing(labeled.isMnemonicParsing());
+        if (!Objects.equals(labeled.getText(), newLabeled.getText())) newLabeled.setText(labeled.getText());
+        if (labeled.getAlignment() != newLabeled.getAlignment()) newLabeled.setAlignment(labeled.getAlignment());
+        if (labeled.getTextAlignment() != newLabeled.getTextAlignment()) newLabeled.setTextAlignment(labeled.getTextAlignment());
+        if (labeled.getTextOverrun() != newLabeled.getTextOverrun()) newLabeled.setTextOverrun(labeled.getTextOverrun());
+        if (!Objects.equals(labeled.getEllipsisString(), newLabeled.getEllipsisString())) newLabeled.setEllipsisString(labeled.getEllipsisString());
+        if (labeled.isWrapText() != newLabeled.isWrapText()) newLabeled.setWrapText(labeled.isWrapText());
+        if (labeled.getFont() != newLabeled.getFont()) newLabeled.setFont(labeled.getFont());
+        if (labeled.getGraphic() != newLabeled.getGraphic()) newLabeled.setGraphic(labeled.getGraphic());
+        if (labeled.isUnderline() != newLabeled.isUnderline()) newLabeled.setUnderline(labeled.isUnderline());
+        if (labeled.getLineSpacing() != newLabeled.getLineSpacing()) newLabeled.setLineSpacing(labeled.getLineSpacing());
+        if (labeled.getContentDisplay() != newLabeled.getContentDisplay()) newLabeled.setContentDisplay(labeled.getContentDisplay());
+        if (labeled.getGraphicTextGap() != newLabeled.getGraphicTextGap()) newLabeled.setGraphicTextGap(labeled.getGraphicTextGap());
+        if (labeled.getTextFill() != newLabeled.getTextFill()) newLabeled.setTextFill(labeled.getTextFill());
+        if (labeled.isMnemonicParsing() != newLabeled.isMnemonicParsing()) newLabeled.setMnemonicParsing(labeled.isMnemonicParsing());
 
         return newLabeled;
     }
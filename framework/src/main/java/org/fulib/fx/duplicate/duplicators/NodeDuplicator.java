@@ -3,102 +3,129 @@ package org.fulib.fx.duplicate.duplicators;
 import org.fulib.fx.duplicate.Duplicator;
 import javafx.scene.Node;
 
-import java.lang.reflect.InvocationTargetException;
-
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+
+/**
+ * Base duplicator for all nodes.
+ * <p>
+ * The new node is created using the public no-args constructor of the node's class, which is looked up once per class.
+ * Properties are only set if the value differs from the value of the new node. This avoids creating the lazily created
+ * properties of the new node for values which are still at their defaults. Values like images, fonts, effects or event handlers
+ * are shared between the original and the duplicate.
+ *
+ * @param <T> The type of the node
+ */
 public abstract class NodeDuplicator<T extends Node> implements Duplicator<T>
 {
 
+    // The public no-args constructor of each node class
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup()
+                        .findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+
     @Override
     public T duplicate(T node) {
         T newNode = newNode(node);
 
-        newNode.setAccessibleHelp(node.getAccessibleHelp());
-        newNode.setAccessibleRole(node.getAccessibleRole());
-        newNode.setAccessibleText(node.getAccessibleText());
-        newNode.setAccessibleRoleDescription(node.getAccessibleRoleDescription());
-
-        newNode.setBlendMode(node.getBlendMode());
-
-        newNode.setCache(node.isCache());
-        newNode.setClip(node.getClip());
-        newNode.setCursor(node.getCursor());
-        newNode.setCacheHint(node.getCacheHint());
-
-        newNode.setDepthTest(node.getDepthTest());
-        newNode.setDisable(node.isDisable());
-
-        newNode.setEffect(node.getEffect());
-        newNode.setEventDispatcher(node.getEventDispatcher());
-
-        newNode.setFocusTraversable(node.isFocusTraversable());
-
-        newNode.setId(node.getId());
-        newNode.setInputMethodRequests(node.getInputMethodRequests());
-
-        newNode.setLayoutX(node.getLayoutX());
-        newNode.setLayoutY(node.getLayoutY());
-
-        newNode.setManaged(node.isManaged());
-        newNode.setMouseTransparent(node.isMouseTransparent());
-
-        newNode.setNodeOrientation(node.getNodeOrientation());
-
-        newNode.setOnDragDetected(node.getOnDragDetected());
-        newNode.setOnDragDone(node.getOnDragDone());
-        newNode.setOnDragDropped(node.getOnDragDropped());
-        newNode.setOnDragEntered(node.getOnDragEntered());
-        newNode.setOnDragExited(node.getOnDragExited());
-        newNode.setOnDragOver(node.getOnDragOver());
-        newNode.setOnInputMethodTextChanged(node.getOnInputMethodTextChanged());
-        newNode.setOnKeyPressed(node.getOnKeyPressed());
-        newNode.setOnKeyReleased(node.getOnKeyReleased());
-        newNode.setOnKeyTyped(node.getOnKeyTyped());
-        newNode.setOnMouseClicked(node.getOnMouseClicked());
-        newNode.setOnMouseDragEntered(node.getOnMouseDragEntered());
-        newNode.setOnMouseDragExited(node.getOnMouseDragExited());
-        newNode.setOnMouseDragged(node.getOnMouseDragged());
-        newNode.setOnMouseDragOver(node.getOnMouseDragOver());
-        newNode.setOnMouseDragReleased(node.getOnMouseDragReleased());
-        newNode.setOnMouseEntered(node.getOnMouseEntered());
-        newNode.setOnMouseExited(node.getOnMouseExited());
-        newNode.setOnMouseMoved(node.getOnMouseMoved());
-        newNode.setOnMousePressed(node.getOnMousePressed());
-        newNode.setOnMouseReleased(node.getOnMouseReleased());
-        newNode.setOnRotate(node.getOnRotate());
-        newNode.setOnRotationFinished(node.getOnRotationFinished());
-        newNode.setOnRotationStarted(node.getOnRotationStarted());
-        newNode.setOnScroll(node.getOnScroll());
-        newNode.setOnScrollFinished(node.getOnScrollFinished());
-        newNode.setOnScrollStarted(node.getOnScrollStarted());
-        newNode.setOnSwipeDown(node.getOnSwipeDown());
-        newNode.setOnSwipeLeft(node.getOnSwipeLeft());
-        newNode.setOnSwipeRight(node.getOnSwipeRight());
-        newNode.setOnSwipeUp(node.getOnSwipeUp());
-        newNode.setOnTouchMoved(node.getOnTouchMoved());
-        newNode.setOnTouchPressed(node.getOnTouchPressed());
-        newNode.setOnTouchReleased(node.getOnTouchReleased());
-        newNode.setOnTouchStationary(node.getOnTouchStationary());
-        newNode.setOnZoom(node.getOnZoom());
-        newNode.setOnZoomFinished(node.getOnZoomFinished());
-        newNode.setOnZoomStarted(node.getOnZoomStarted());
-
-        newNode.setPickOnBounds(node.isPickOnBounds());
-
-        newNode.setRotate(node.getRotate());
-        newNode.setRotationAxis(node.getRotationAxis());
-        newNode.setScaleX(node.getScaleX());
-        newNode.setScaleY(node.getScaleY());
-        newNode.setScaleZ(node.getScaleZ());
-        newNode.setStyle(node.getStyle());
-
-        newNode.setTranslateX(node.getTranslateX());
-        newNode.setTranslateY(node.getTranslateY());
-        newNode.setTranslateZ(node.getTranslateZ());
-
-        newNode.setUserData(node.getUserData());
-
-        newNode.setViewOrder(node.getViewOrder());
-        newNode.setVisible(node.isVisible());
+        if (!Objects.equals(node.getAccessibleHelp(), newNode.getAccessibleHelp())) newNode.setAccessibleHelp(node.getAccessibleHelp());
+        if (node.getAccessibleRole() != newNode.getAccessibleRole()) newNode.setAccessibleRole(node.getAccessibleRole());
+        if (!Objects.equals(node.getAccessibleText(), newNode.getAccessibleText())) newNode.setAccessibleText(node.getAccessibleText());
+        if (!Objects.equals(node.getAccessibleRoleDescription(), newNode.getAccessibleRoleDescription())) newNode.setAccessibleRoleDescription(node.getAccessibleRoleDescription());
+
+        if (node.getBlendMode() != newNode.getBlendMode()) newNode.setBlendMode(node.getBlendMode());
+
+        if (node.isCache() != newNode.isCache()) newNode.setCache(node.isCache());
+        if (node.getClip() != newNode.getClip()) newNode.setClip(node.getClip());
+        if (node.getCursor() != newNode.getCursor()) newNode.setCursor(node.getCursor());
+        if (node.getCacheHint() != newNode.getCacheHint()) newNode.setCacheHint(node.getCacheHint());
+
+        if (node.getDepthTest() != newNode.getDepthTest()) newNode.setDepthTest(node.getDepthTest());
+        if (node.isDisable() != newNode.isDisable()) newNode.setDisable(node.isDisable());
+
+        if (node.getEffect() != newNode.getEffect()) newNode.setEffect(node.getEffect());
+        if (node.getEventDispatcher() != newNode.getEventDispatcher()) newNode.setEventDispatcher(node.getEventDispatcher());
+
+        if (node.isFocusTraversable() != newNode.isFocusTraversable()) newNode.setFocusTraversable(node.isFocusTraversable());
+
+        if (!Objects.equals(node.getId(), newNode.getId())) newNode.setId(node.getId());
+        if (node.getInputMethodRequests() != newNode.getInputMethodRequests()) newNode.setInputMethodRequests(node.getInputMethodRequests());
+
+        if (node.getLayoutX() != newNode.getLayoutX()) newNode.setLayoutX(node.getLayoutX());
+        if (node.getLayoutY() != newNode.getLayoutY()) newNode.setLayoutY(node.getLayoutY());
+
+        if (node.isManaged() != newNode.isManaged()) newNode.setManaged(node.isManaged());
+        if (node.isMouseTransparent() != newNode.isMouseTransparent()) newNode.setMouseTransparent(node.isMouseTransparent());
+
+        if (node.getNodeOrientation() != newNode.getNodeOrientation()) newNode.setNodeOrientation(node.getNodeOrientation());
+
+        if (node.getOnDragDetected() != newNode.getOnDragDetected()) newNode.setOnDragDetected(node.getOnDragDetected());
+        if (node.getOnDragDone() != newNode.getOnDragDone()) newNode.setOnDragDone(node.getOnDragDone());
+        if (node.getOnDragDropped() != newNode.getOnDragDropped()) newNode.setOnDragDropped(node.getOnDragDropped());
+        if (node.getOnDragEntered() != newNode.getOnDragEntered()) newNode.setOnDragEntered(node.getOnDragEntered());
+        if (node.getOnDragExited() != newNode.getOnDragExited()) newNode.setOnDragExited(node.getOnDragExited());
+        if (node.getOnDragOver() != newNode.getOnDragOver()) newNode.setOnDragOver(node.getOnDragOver());
+        if (node.getOnInputMethodTextChanged() != newNode.getOnInputMethodTextChanged()) newNode.setOnInputMethodTextChanged(node.getOnInputMethodTextChanged());
+        if (node.getOnKeyPressed() != newNode.getOnKeyPressed()) newNode.setOnKeyPressed(node.getOnKeyPressed());
+        if (node.getOnKeyReleased() != newNode.getOnKeyReleased()) newNode.setOnKeyReleased(node.getOnKeyReleased());
+        if (node.getOnKeyTyped() != newNode.getOnKeyTyped()) newNode.setOnKeyTyped(node.getOnKeyTyped());
+        if (node.getOnMouseClicked() != newNode.getOnMouseClicked()) newNode.setOnMouseClicked(node.getOnMouseClicked());
+        if (node.getOnMouseDragEntered() != newNode.getOnMouseDragEntered()) newNode.setOnMouseDragEntered(node.getOnMouseDragEntered());
+        if (node.getOnMouseDragExited() != newNode.getOnMouseDragExited()) newNode.setOnMouseDragExited(node.getOnMouseDragExited());
+        if (node.getOnMouseDragged() != newNode.getOnMouseDragged()) newNode.setOnMouseDragged(node.getOnMouseDragged());
+        if (node.getOnMouseDragOver() != newNode.getOnMouseDragOver()) newNode.setOnMouseDragOver(node.getOnMouseDragOver());
+        if (node.getOnMouseDragReleased() != newNode.getOnMouseDragReleased()) newNode.setOnMouseDragReleased(node.getOnMouseDragReleased());
+        if (node.getOnMouseEntered() != newNode.getOnMouseEntered()) newNode.setOnMouseEntered(node.getOnMouseEntered());
+        if (node.getOnMouseExited() != newNode.getOnMouseExited()) newNode.setOnMouseExited(node.getOnMouseExited());
+        if (node.getOnMouseMoved() != newNode.getOnMouseMoved()) newNode.setOnMouseMoved(node.getOnMouseMoved());
+        if (node.getOnMousePressed() != newNode.getOnMousePressed()) newNode.setOnMousePressed(node.getOnMousePressed());
+        if (node.getOnMouseReleased() != newNode.getOnMouseReleased()) newNode.setOnMouseReleased(node.getOnMouseReleased());
+        if (node.getOnRotate() != newNode.getOnRotate()) newNode.setOnRotate(node.getOnRotate());
+        if (node.getOnRotationFinished() != newNode.getOnRotationFinished()) newNode.setOnRotationFinished(node.getOnRotationFinished());
+        if (node.getOnRotationStarted() != newNode.getOnRotationStarted()) newNode.setOnRotationStarted(node.getOnRotationStarted());
+        if (node.getOnScroll() != newNode.getOnScroll()) newNode.setOnScroll(node.getOnScroll());
+        if (node.getOnScrollFinished() != newNode.getOnScrollFinished()) newNode.setOnScrollFinished(node.getOnScrollFinished());
+        if (node.getOnScrollStarted() != newNode.getOnScrollStarted()) newNode.setOnScrollStarted(node.getOnScrollStarted());
+        if (node.getOnSwipeDown() != newNode.getOnSwipeDown()) newNode.setOnSwipeDown(node.getOnSwipeDown());
+        if (node.getOnSwipeLeft() != newNode.getOnSwipeLeft()) newNode.setOnSwipeLeft(node.getOnSwipeLeft());
+        if (node.getOnSwipeRight() != newNode.getOnSwipeRight()) newNode.setOnSwipeRight(node.getOnSwipeRight());
+        if (node.getOnSwipeUp() != newNode.getOnSwipeUp()) newNode.setOnSwipeUp(node.getOnSwipeUp());
+        if (node.getOnTouchMoved() != newNode.getOnTouchMoved()) newNode.setOnTouchMoved(node.getOnTouchMoved());
+        if (node.getOnTouchPressed() != newNode.getOnTouchPressed()) newNode.setOnTouchPressed(node.getOnTouchPressed());
+        if (node.getOnTouchReleased() != newNode.getOnTouchReleased()) newNode.setOnTouchReleased(node.getOnTouchReleased());
+        if (node.getOnTouchStationary() != newNode.getOnTouchStationary()) newNode.setOnTouchStationary(node.getOnTouchStationary());
+        if (node.getOnZoom() != newNode.getOnZoom()) newNode.setOnZoom(node.getOnZoom());
+        if (node.getOnZoomFinished() != newNode.getOnZoomFinished()) newNode.setOnZoomFinished(node.getOnZoomFinished());
+        if (node.getOnZoomStarted() != newNode.getOnZoomStarted()) newNode.setOnZoomStarted(node.getOnZoomStarted());
+
+        if (node.isPickOnBounds() != newNode.isPickOnBounds()) newNode.setPickOnBounds(node.isPickOnBounds());
+
+        if (node.getRotate() != newNode.getRotate()) newNode.setRotate(node.getRotate());
+        if (node.getRotationAxis() != newNode.getRotationAxis()) newNode.setRotationAxis(node.getRotationAxis());
+        if (node.getScaleX() != newNode.getScaleX()) newNode.setScaleX(node.getScaleX());
+        if (node.getScaleY() != newNode.getScaleY()) newNode.setScaleY(node.getScaleY());
+        if (node.getScaleZ() != newNode.getScaleZ()) newNode.setScaleZ(node.getScaleZ());
+        if (!Objects.equals(node.getStyle(), newNode.getStyle())) newNode.setStyle(node.getStyle());
+
+        if (node.getTranslateX() != newNode.getTranslateX()) newNode.setTranslateX(node.getTranslateX());
+        if (node.getTranslateY() != newNode.getTranslateY()) newNode.setTranslateY(node.getTranslateY());
+        if (node.getTranslateZ() != newNode.getTranslateZ()) newNode.setTranslateZ(node.getTranslateZ());
+
+        if (node.getUserData() != newNode.getUserData()) newNode.setUserData(node.getUserData());
+
+        if (node.getViewOrder() != newNode.getViewOrder()) newNode.setViewOrder(node.getViewOrder());
+        if (node.isVisible() != newNode.isVisible()) newNode.setVisible(node.isVisible());
 
         return newNode;
     }
@@ -107,9 +134,10 @@ public abstract class NodeDuplicator<T extends Node> implements Duplicator<T>
     @SuppressWarnings("unchecked")
     private T newNode(Node node) {
         try {
-            return (T) node.getClass().getConstructor().newInstance();
-        } catch (InstantiationException | InvocationTargetException | NoSuchMethodException |
-                 IllegalAccessException e) {
+            return (T) (Object) CONSTRUCTORS.get(node.getClass()).invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
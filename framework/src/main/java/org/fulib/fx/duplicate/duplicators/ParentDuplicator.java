@@ -4,6 +4,10 @@ import org.fulib.fx.duplicate.Duplicators;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.scene.control.Control;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.fulib.fx.util.ReflectionUtil.getChildrenList;
 
@@ -13,12 +17,23 @@ public abstract class ParentDuplicator<T extends Parent> extends NodeDuplicator<
     public T duplicate(T parent) {
         T newParent = super.duplicate(parent);
 
-        ObservableList<Node> newChildren = getChildrenList(newParent.getClass(), newParent);
+        // The children of controls are created by their skin
+        if (parent instanceof Control) {
+            return newParent;
+        }
+
+        List<Node> children = parent.getChildrenUnmodifiable();
+        if (children.isEmpty()) {
+            return newParent;
+        }
 
-        for (Node child : parent.getChildrenUnmodifiable()) {
-            Node newChild = Duplicators.duplicate(child);
-            newChildren.add(newChild);
+        // Add all children at once, so the new parent only handles a single change
+        List<Node> newChildren = new ArrayList<>(children.size());
+        for (Node child : children) {
+            newChildren.add(Duplicators.duplicate(child));
         }
+        ObservableList<Node> childrenList = getChildrenList(newParent.getClass(), newParent);
+        childrenList.addAll(newChildren);
 
         return newParent;
     }
@@ -8,18 +8,17 @@ public abstract class ShapeDuplicator<T extends Shape> extends NodeDuplicator<T>
     public T duplicate(T shape) {
         T newShape = super.duplicate(shape);
 
-        newShape.setStrokeType(shape.getStrokeType());
-        newShape.setFill(shape.getFill());
-        newShape.setStroke(shape.getStroke());
-        newShape.setSmooth(shape.isSmooth());
-        newShape.setStrokeWidth(shape.getStrokeWidth());
-        newShape.setStrokeLineJoin(shape.getStrokeLineJoin());
-        newShape.setStrokeLineCap(shape.getStrokeLineCap());
-        newShape.setStrokeType(shape.getStrokeType());
-        newShape.setStrokeMiterLimit(shape.getStrokeMiterLimit());
-        newShape.setStrokeDashOffset(shape.getStrokeDashOffset());
-
-        shape.getStrokeDashArray().stream().filter(value -> !newShape.getStrokeDashArray().contains(value)).forEach(newShape.getStrokeDashArray()::add);
+        if (shape.getStrokeType() != newShape.getStrokeType()) newShape.setStrokeType(shape.getStrokeType());
+        if (shape.getFill() != newShape.getFill()) newShape.setFill(shape.getFill());
+        if (shape.getStroke() != newShape.getStroke()) newShape.setStroke(shape.getStroke());
+        if (shape.isSmooth() != newShape.isSmooth()) newShape.setSmooth(shape.isSmooth());
+        if (shape.getStrokeWidth() != newShape.getStrokeWidth()) newShape.setStrokeWidth(shape.getStrokeWidth());
+        if (shape.getStrokeLineJoin() != newShape.getStrokeLineJoin()) newShape.setStrokeLineJoin(shape.getStrokeLineJoin());
+        if (shape.getStrokeLineCap() != newShape.getStrokeLineCap()) newShape.setStrokeLineCap(shape.getStrokeLineCap());
+        if (shape.getStrokeMiterLimit() != newShape.getStrokeMiterLimit()) newShape.setStrokeMiterLimit(shape.getStrokeMiterLimit());
+        if (shape.getStrokeDashOffset() != newShape.getStrokeDashOffset()) newShape.setStrokeDashOffset(shape.getStrokeDashOffset());
+
+        if (!shape.getStrokeDashArray().isEmpty()) newShape.getStrokeDashArray().setAll(shape.getStrokeDashArray());
 
         return newShape;
     }
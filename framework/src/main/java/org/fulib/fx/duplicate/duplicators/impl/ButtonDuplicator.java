@@ -9,9 +9,9 @@ public class ButtonDuplicator<T extends Button> extends LabeledDuplicator<T> {
     public T duplicate(T button) {
         T newButton = super.duplicate(button);
 
-        newButton.setOnAction(button.getOnAction()); // ButtonBase
-        newButton.setDefaultButton(button.isDefaultButton());
-        newButton.setCancelButton(button.isCancelButton());
+        if (button.getOnAction() != newButton.getOnAction()) newButton.setOnAction(button.getOnAction());
+        if (button.isDefaultButton() != newButton.isDefaultButton()) newButton.setDefaultButton(button.isDefaultButton());
+        if (button.isCancelButton() != newButton.isCancelButton()) newButton.setCancelButton(button.isCancelButton());
 
         return newButton;
     }
@@ -8,7 +8,7 @@ public class HBoxDuplicator<T extends HBox> extends PaneDuplicator<T> {
     public T duplicate(T hBox) {
         T newHBox = super.duplicate(hBox);
 
-        newHBox.setSpacing(hBox.getSpacing());
+        if (hBox.getSpacing() != newHBox.getSpacing()) newHBox.setSpacing(hBox.getSpacing());
 
         return newHBox;
     }
@@ -10,14 +10,14 @@ public class ImageViewDuplicator<T extends ImageView> extends NodeDuplicator<T>
     public T duplicate(T imageView) {
         T newImageView = super.duplicate(imageView);
 
-        newImageView.setImage(imageView.getImage());
-        newImageView.setX(imageView.getX());
-        newImageView.setY(imageView.getY());
-        newImageView.setFitWidth(imageView.getFitWidth());
-        newImageView.setFitHeight(imageView.getFitHeight());
-        newImageView.setPreserveRatio(imageView.isPreserveRatio());
-        newImageView.setSmooth(imageView.isSmooth());
-        newImageView.setViewport(imageView.getViewport());
+        if (imageView.getImage() != newImageView.getImage()) newImageView.setImage(imageView.getImage());
+        if (imageView.getX() != newImageView.getX()) newImageView.setX(imageView.getX());
+        if (imageView.getY() != newImageView.getY()) newImageView.setY(imageView.getY());
+        if (imageView.getFitWidth() != newImageView.getFitWidth()) newImageView.setFitWidth(imageView.getFitWidth());
+        if (imageView.getFitHeight() != newImageView.getFitHeight()) newImageView.setFitHeight(imageView.getFitHeight());
+        if (imageView.isPreserveRatio() != newImageView.isPreserveRatio()) newImageView.setPreserveRatio(imageView.isPreserveRatio());
+        if (imageView.isSmooth() != newImageView.isSmooth()) newImageView.setSmooth(imageView.isSmooth());
+        if (imageView.getViewport() != newImageView.getViewport()) newImageView.setViewport(imageView.getViewport());
 
         return newImageView;
     }
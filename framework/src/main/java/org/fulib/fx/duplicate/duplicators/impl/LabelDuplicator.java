@@ -10,7 +10,7 @@ public class LabelDuplicator<T extends Label> extends LabeledDuplicator<T>
     public T duplicate(T label) {
         T newLabel = super.duplicate(label);
 
-        newLabel.setLabelFor(label.getLabelFor());
+        if (label.getLabelFor() != newLabel.getLabelFor()) newLabel.setLabelFor(label.getLabelFor());
 
         return newLabel;
     }
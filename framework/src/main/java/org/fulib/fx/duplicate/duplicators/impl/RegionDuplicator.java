@@ -10,21 +10,21 @@ public class RegionDuplicator<T extends Region> extends ParentDuplicator<T>
         public T duplicate(T region) {
             T newRegion = super.duplicate(region);
 
-            newRegion.setSnapToPixel(region.isSnapToPixel());
-            newRegion.setPadding(region.getPadding());
-            newRegion.setBackground(region.getBackground());
-            newRegion.setBorder(region.getBorder());
-            newRegion.setOpaqueInsets(region.getOpaqueInsets());
-            region.setMinWidth(region.getMinWidth());
-            region.setMinHeight(region.getMinHeight());
-            region.setPrefWidth(region.getPrefWidth());
-            region.setPrefHeight(region.getPrefHeight());
-            region.setMaxWidth(region.getMaxWidth());
-            region.setMaxHeight(region.getMaxHeight());
-            region.setShape(region.getShape());
-            region.setScaleShape(region.isScaleShape());
-            region.setCenterShape(region.isCenterShape());
-            region.setCacheShape(region.isCacheShape());
+            if (region.isSnapToPixel() != newRegion.isSnapToPixel()) newRegion.setSnapToPixel(region.isSnapToPixel());
+            if (region.getPadding() != newRegion.getPadding()) newRegion.setPadding(region.getPadding());
+            if (region.getBackground() != newRegion.getBackground()) newRegion.setBackground(region.getBackground());
+            if (region.getBorder() != newRegion.getBorder()) newRegion.setBorder(region.getBorder());
+            if (region.getOpaqueInsets() != newRegion.getOpaqueInsets()) newRegion.setOpaqueInsets(region.getOpaqueInsets());
+            if (region.getMinWidth() != newRegion.getMinWidth()) newRegion.setMinWidth(region.getMinWidth());
+            if (region.getMinHeight() != newRegion.getMinHeight()) newRegion.setMinHeight(region.getMinHeight());
+            if (region.getPrefWidth() != newRegion.getPrefWidth()) newRegion.setPrefWidth(region.getPrefWidth());
+            if (region.getPrefHeight() != newRegion.getPrefHeight()) newRegion.setPrefHeight(region.getPrefHeight());
+            if (region.getMaxWidth() != newRegion.getMaxWidth()) newRegion.setMaxWidth(region.getMaxWidth());
+            if (region.getMaxHeight() != newRegion.getMaxHeight()) newRegion.setMaxHeight(region.getMaxHeight());
+            if (region.getShape() != newRegion.getShape()) newRegion.setShape(region.getShape());
+            if (region.isScaleShape() != newRegion.isScaleShape()) newRegion.setScaleShape(region.isScaleShape());
+            if (region.isCenterShape() != newRegion.isCenterShape()) newRegion.setCenterShape(region.isCenterShape());
+            if (region.isCacheShape() != newRegion.isCacheShape()) newRegion.setCacheShape(region.isCacheShape());
 
             return newRegion;
         }
@@ -3,6 +3,8 @@ package org.fulib.fx.duplicate.duplicators.impl;
 import org.fulib.fx.duplicate.duplicators.ShapeDuplicator;
 import javafx.scene.text.Text;
 
+import java.util.Objects;
+
 public class TextDuplicator<T extends Text> extends ShapeDuplicator<T>
 {
 
@@ -10,24 +12,24 @@ public class TextDuplicator<T extends Text> extends ShapeDuplicator<T>
     public T duplicate(T text) {
         T newText = super.duplicate(text);
 
-        newText.setText(text.getText());
-        newText.setX(text.getX());
-        newText.setY(text.getY());
-        newText.setFont(text.getFont());
-        newText.setTextOrigin(text.getTextOrigin());
-        newText.setBoundsType(text.getBoundsType());
-        newText.setWrappingWidth(text.getWrappingWidth());
-        newText.setUnderline(text.isUnderline());
-        newText.setStrikethrough(text.isStrikethrough());
-        newText.setTextAlignment(text.getTextAlignment());
-        newText.setLineSpacing(text.getLineSpacing());
-        newText.setFontSmoothingType(text.getFontSmoothingType());
-        newText.setSelectionStart(text.getSelectionStart());
-        newText.setSelectionEnd(text.getSelectionEnd());
-        newText.setSelectionFill(text.getSelectionFill());
-        newText.setCaretPosition(text.getCaretPosition());
-        newText.setCaretBias(text.isCaretBias());
-        newText.setTabSize(text.getTabSize());
+        if (!Objects.equals(text.getText(), newText.getText())) newText.setText(text.getText());
+        if (text.getX() != newText.getX()) newText.setX(text.getX());
+        if (text.getY() != newText.getY()) newText.setY(text.getY());
+        if (text.getFont() != newText.getFont()) newText.setFont(text.getFont());
+        if (text.getTextOrigin() != newText.getTextOrigin()) newText.setTextOrigin(text.getTextOrigin());
+        if (text.getBoundsType() != newText.getBoundsType()) newText.setBoundsType(text.getBoundsType());
+        if (text.getWrappingWidth() != newText.getWrappingWidth()) newText.setWrappingWidth(text.getWrappingWidth());
+        if (text.isUnderline() != newText.isUnderline()) newText.setUnderline(text.isUnderline());
+        if (text.isStrikethrough() != newText.isStrikethrough()) newText.setStrikethrough(text.isStrikethrough());
+        if (text.getTextAlignment() != newText.getTextAlignment()) newText.setTextAlignment(text.getTextAlignment());
+        if (text.getLineSpacing() != newText.getLineSpacing()) newText.setLineSpacing(text.getLineSpacing());
+        if (text.getFontSmoothingType() != newText.getFontSmoothingType()) newText.setFontSmoothingType(text.getFontSmoothingType());
+        if (text.getSelectionStart() != newText.getSelectionStart()) newText.setSelectionStart(text.getSelectionStart());
+        if (text.getSelectionEnd() != newText.getSelectionEnd()) newText.setSelectionEnd(text.getSelectionEnd());
+        if (text.getSelectionFill() != newText.getSelectionFill()) newText.setSelectionFill(text.getSelectionFill());
+        if (text.getCaretPosition() != newText.getCaretPosition()) newText.setCaretPosition(text.getCaretPosition());
+        if (text.isCaretBias() != newText.isCaretBias()) newText.setCaretBias(text.isCaretBias());
+        if (text.getTabSize() != newText.getTabSize()) newText.setTabSize(text.getTabSize());
 
         return newText;
     }
@@ -8,7 +8,7 @@ public class VBoxDuplicator<T extends VBox> extends PaneDuplicator<T> {
     public T duplicate(T vBox) {
         T newVBox = super.duplicate(vBox);
 
-        newVBox.setSpacing(vBox.getSpacing());
+        if (vBox.getSpacing() != newVBox.getSpacing()) newVBox.setSpacing(vBox.getSpacing());
 
         return newVBox;
     }
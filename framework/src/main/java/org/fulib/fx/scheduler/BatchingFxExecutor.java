@@ -0,0 +1,477 @@
+package org.fulib.fx.scheduler;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.event.EventHandler;
+import javafx.scene.input.InputEvent;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An executor running tasks on the FX thread in batches instead of posting every task using {@link Platform#runLater(Runnable)}.
+ * <p>
+ * Tasks can be submitted from any thread and are added to a lock-free queue. The first task submitted to an empty queue
+ * posts a single wakeup to the FX thread, which drains all queued tasks at once. If draining the queue takes longer than
+ * the time budget, the remaining tasks are carried over to the next pulse, so that the scene can be laid out and rendered in between.
+ * While tasks are carried over, the queue is drained once per pulse until it is empty again.
+ * <p>
+ * Tasks are queued in one of the {@link FxPriority priority lanes}. Every batch executes the lanes from the highest to the lowest
+ * priority, each lane with its own budget. Interactive tasks submitted while waiting for the next pulse get their own wakeup,
+ * so they are never delayed by carried over work. Background tasks yield while the user is interacting with the application
+ * (see {@link #trackInput()}), but only for a limited amount of pulses, so they can't starve.
+ * <p>
+ * Tasks of the same lane are always executed in the order they have been submitted.
+ * At least one task is executed per lane and batch, even if it exceeds the budget.
+ * <p>
+ * Tasks submitted on the FX thread can be executed immediately instead of waiting for the next batch
+ * using {@link #executeImmediate(Runnable, FxPriority)} or {@link #immediateScheduler(FxPriority)}.
+ * <p>
+ * The executor can be used as a drop-in for {@link org.fulib.fx.FulibFxApp#FX_SCHEDULER} by using {@link #scheduler(FxPriority)}
+ * or by wrapping it using {@link Schedulers#from(Executor)}. The framework's own scheduler is backed by {@link org.fulib.fx.FulibFxApp#FX_EXECUTOR}.
+ */
+public class BatchingFxExecutor implements Executor {
+
+    // The time after an input event in which background tasks yield
+    private static final long INPUT_NANOS = 50_000_000;
+    // The maximum amount of consecutive batches in which background tasks yield
+    private static final int MAX_YIELDS = 30;
+    // The maximum nesting of tasks executed inline, further tasks are queued to avoid deep recursion
+    private static final int MAX_INLINE_DEPTH = 16;
+
+    private static final FxPriority[] PRIORITIES = FxPriority.values();
+
+    private final Lane[] lanes = new Lane[PRIORITIES.length];
+
+    // Whether a drain has been requested (either as a wakeup or for the next pulse)
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Whether the requested drain waits for the next pulse
+    private volatile boolean waitingForPulse;
+    // Whether an extra wakeup for interactive tasks has been posted
+    private final AtomicBoolean interactiveScheduled = new AtomicBoolean();
+
+    // Metrics, the queue size is counted separately as ConcurrentLinkedQueue#size() is not constant time
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger peakDepth = new AtomicInteger();
+    private volatile int lastBatchSize;
+    private volatile long batches;
+    private volatile long carryOvers;
+    private volatile long yields;
+
+    // Input tracking
+    private volatile long lastInput = System.nanoTime() - INPUT_NANOS;
+    private final EventHandler<InputEvent> inputFilter = event -> reportInput();
+    private boolean trackingInput;
+    private int consecutiveYields;
+
+    // The amount of nested tasks currently executed inline (only accessed on the FX thread)
+    private int inlineDepth;
+    private volatile long inlined;
+
+    // Tasks which are executed once at the start of the next pulse
+    private final Queue<Runnable> pulseTasks = new ConcurrentLinkedQueue<>();
+    // The amount of queued pulse tasks, incremented after a task has been queued
+    private final AtomicInteger pulseDepth = new AtomicInteger();
+    private final AtomicBoolean pulseRequested = new AtomicBoolean();
+
+    // Created lazily on the FX thread, as the toolkit might not be running when the executor is created
+    private AnimationTimer pulse;
+
+    /**
+     * Creates a new executor using the default budgets of the priorities.
+     */
+    public BatchingFxExecutor() {
+        for (FxPriority priority : PRIORITIES) {
+            this.lanes[priority.ordinal()] = new Lane(priority);
+        }
+    }
+
+    /**
+     * Executes the given task with {@link FxPriority#NORMAL normal} priority.
+     *
+     * @param task The task to execute
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        execute(task, FxPriority.NORMAL);
+    }
+
+    /**
+     * Executes the given task on the FX thread using the given priority.
+     *
+     * @param task     The task to execute
+     * @param priority The priority lane to queue the task in
+     */
+    public void execute(@NotNull Runnable task, @NotNull FxPriority priority) {
+        Lane lane = this.lanes[priority.ordinal()];
+        lane.queue.offer(task);
+        lane.depth.incrementAndGet();
+        this.peakDepth.accumulateAndGet(this.depth.incrementAndGet(), Math::max);
+
+        if (this.scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        } else if (priority == FxPriority.INTERACTIVE && this.waitingForPulse && this.interactiveScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                this.interactiveScheduled.set(false);
+                lane.drain();
+            });
+        }
+    }
+
+    /**
+     * Executes the given task immediately if this method is called on the FX thread and no tasks of the given priority are queued.
+     * Otherwise, the task is queued like using {@link #execute(Runnable, FxPriority)}.
+     * <p>
+     * This avoids the latency of waiting for the next batch for tasks submitted on the FX thread (e.g. items emitted synchronously by an observable),
+     * while still keeping the order of the tasks of the lane.
+     *
+     * @param task     The task to execute
+     * @param priority The priority lane to queue the task in if it can't be executed immediately
+     */
+    public void executeImmediate(@NotNull Runnable task, @NotNull FxPriority priority) {
+        if (Platform.isFxApplicationThread() && this.lanes[priority.ordinal()].depth.get() == 0 && this.inlineDepth < MAX_INLINE_DEPTH) {
+            this.inlined++;
+            this.inlineDepth++;
+            try {
+                run(task);
+            } finally {
+                this.inlineDepth--;
+            }
+        } else {
+            execute(task, priority);
+        }
+    }
+
+    /**
+     * Executes the given task on the FX thread in the next pulse, right before the scene is laid out and rendered.
+     * <p>
+     * In contrast to {@link #execute(Runnable)}, the task is never executed earlier, even if the FX thread is idle.
+     * Tasks submitted while the tasks of a pulse are executed are executed in the following pulse, so a task re-submitting
+     * itself runs at most once per frame.
+     * This is useful for tasks which only have to run once per frame, like applying the latest value of a fast stream.
+     *
+     * @param task The task to execute
+     */
+    public void executeOnPulse(@NotNull Runnable task) {
+        this.pulseTasks.offer(task);
+        this.pulseDepth.incrementAndGet();
+        if (this.pulseRequested.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                pulse().start();
+            } else {
+                Platform.runLater(() -> pulse().start());
+            }
+        }
+    }
+
+    /**
+     * Returns an executor executing all tasks with the given priority.
+     *
+     * @param priority The priority
+     * @return The executor
+     */
+    public @NotNull Executor executor(@NotNull FxPriority priority) {
+        return this.lanes[priority.ordinal()].executor;
+    }
+
+    /**
+     * Returns a scheduler executing all tasks on the FX thread with the given priority.
+     *
+     * @param priority The priority
+     * @return The scheduler
+     */
+    public @NotNull Scheduler scheduler(@NotNull FxPriority priority) {
+        return this.lanes[priority.ordinal()].scheduler;
+    }
+
+    /**
+     * Returns a scheduler executing tasks immediately if they are scheduled on the FX thread and no earlier tasks are queued.
+     * Tasks scheduled from other threads or with a delay are queued with the given priority.
+     *
+     * @param priority The priority
+     * @return The scheduler
+     * @see #executeImmediate(Runnable, FxPriority)
+     */
+    public @NotNull Scheduler immediateScheduler(@NotNull FxPriority priority) {
+        return this.lanes[priority.ordinal()].immediateScheduler;
+    }
+
+    /**
+     * Executes the queued tasks of all lanes until they are empty or their budget is exceeded.
+     * Remaining tasks are carried over to the next pulse.
+     */
+    private void drain() {
+        this.waitingForPulse = false;
+        int executed = 0;
+        boolean remaining = false;
+        for (Lane lane : this.lanes) {
+            if (lane.priority == FxPriority.BACKGROUND && !lane.queue.isEmpty() && shouldYield()) {
+                remaining = true;
+                continue;
+            }
+            executed += lane.drain();
+            remaining |= !lane.queue.isEmpty();
+        }
+        this.lastBatchSize = executed;
+        this.batches++;
+
+        if (remaining) {
+            this.carryOvers++;
+            this.waitingForPulse = true;
+            pulse().start();
+            return;
+        }
+
+        this.scheduled.set(false);
+        // A task might have been submitted after the queues have been checked but before the flag was reset
+        if (this.depth.get() > 0 && this.scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    /**
+     * Checks whether background tasks should yield because of recent input.
+     *
+     * @return True if the background lane should be skipped in this batch
+     */
+    private boolean shouldYield() {
+        if (System.nanoTime() - this.lastInput < INPUT_NANOS && this.consecutiveYields < MAX_YIELDS) {
+            this.consecutiveYields++;
+            this.yields++;
+            return true;
+        }
+        this.consecutiveYields = 0;
+        return false;
+    }
+
+    private AnimationTimer pulse() {
+        if (this.pulse == null) {
+            this.pulse = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    stop();
+                    if (pulseRequested.getAndSet(false)) {
+                        runPulseTasks();
+                    }
+                    if (waitingForPulse) {
+                        drain();
+                    }
+                }
+            };
+        }
+        return this.pulse;
+    }
+
+    /**
+     * Executes the pulse tasks which have been queued when the pulse started.
+     * Tasks queued by these tasks request the next pulse, as the request has been reset before.
+     */
+    private void runPulseTasks() {
+        int count = this.pulseDepth.get();
+        for (int i = 0; i < count; i++) {
+            Runnable task = this.pulseTasks.poll();
+            if (task == null) {
+                break;
+            }
+            this.pulseDepth.decrementAndGet();
+            run(task);
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable throwable) {
+            // Don't drop the remaining tasks of the batch, report the exception like an exception thrown in Platform#runLater
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+    }
+
+    /**
+     * Starts tracking input events of all windows, so that background tasks can yield to them.
+     * Calling this method multiple times has no effect. Has to be called on the FX thread.
+     * <p>
+     * The framework calls this method for {@link org.fulib.fx.FulibFxApp#FX_EXECUTOR} when the application is started.
+     */
+    public void trackInput() {
+        if (this.trackingInput) {
+            return;
+        }
+        this.trackingInput = true;
+        Window.getWindows().forEach(window -> window.addEventFilter(InputEvent.ANY, this.inputFilter));
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(window -> window.removeEventFilter(InputEvent.ANY, this.inputFilter));
+                change.getAddedSubList().forEach(window -> window.addEventFilter(InputEvent.ANY, this.inputFilter));
+            }
+        });
+    }
+
+    /**
+     * Reports that an input event has been received. Background tasks yield for a short time afterward.
+     * This is called automatically for all windows if {@link #trackInput()} has been called.
+     */
+    public void reportInput() {
+        this.lastInput = System.nanoTime();
+    }
+
+    /**
+     * Sets the maximum time spent executing tasks of the given lane per batch.
+     *
+     * @param priority The priority lane
+     * @param budget   The budget
+     */
+    public void setBudget(@NotNull FxPriority priority, @NotNull Duration budget) {
+        if (budget.lessThan(Duration.ZERO)) throw new IllegalArgumentException("Budget must not be negative");
+        this.lanes[priority.ordinal()].budgetNanos = (long) (budget.toMillis() * 1_000_000);
+    }
+
+    /**
+     * Returns the maximum time spent executing tasks of the given lane per batch.
+     *
+     * @param priority The priority lane
+     * @return The budget
+     */
+    public @NotNull Duration getBudget(@NotNull FxPriority priority) {
+        return Duration.millis(this.lanes[priority.ordinal()].budgetNanos / 1_000_000d);
+    }
+
+    /**
+     * Returns the amount of tasks which are currently waiting to be executed.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.depth.get();
+    }
+
+    /**
+     * Returns the amount of tasks of the given lane which are currently waiting to be executed.
+     *
+     * @param priority The priority lane
+     * @return The queue depth of the lane
+     */
+    public int getQueueDepth(@NotNull FxPriority priority) {
+        return this.lanes[priority.ordinal()].depth.get();
+    }
+
+    /**
+     * Returns the highest amount of tasks which have been waiting at once since the executor has been created
+     * or since the last call of {@link #resetMetrics()}.
+     *
+     * @return The peak queue depth
+     */
+    public int getPeakQueueDepth() {
+        return this.peakDepth.get();
+    }
+
+    /**
+     * Returns the amount of tasks executed in the last batch.
+     *
+     * @return The size of the last batch
+     */
+    public int getLastBatchSize() {
+        return this.lastBatchSize;
+    }
+
+    /**
+     * Returns the amount of batches which have been executed.
+     *
+     * @return The amount of batches
+     */
+    public long getBatchCount() {
+        return this.batches;
+    }
+
+    /**
+     * Returns the amount of batches which carried over tasks to the next pulse (because a budget was exceeded or background tasks yielded).
+     * A high value compared to {@link #getBatchCount()} indicates that more work is scheduled than the FX thread can handle.
+     *
+     * @return The amount of carry-overs
+     */
+    public long getCarryOverCount() {
+        return this.carryOvers;
+    }
+
+    /**
+     * Returns the amount of tasks which have been executed immediately instead of being queued.
+     *
+     * @return The amount of inlined tasks
+     */
+    public long getInlinedCount() {
+        return this.inlined;
+    }
+
+    /**
+     * Returns the amount of batches in which background tasks yielded to input events.
+     *
+     * @return The amount of yields
+     */
+    public long getYieldCount() {
+        return this.yields;
+    }
+
+    /**
+     * Resets the peak queue depth, the batch count, the carry-over count, the yield count and the inlined count.
+     */
+    public void resetMetrics() {
+        this.peakDepth.set(this.depth.get());
+        this.batches = 0;
+        this.carryOvers = 0;
+        this.yields = 0;
+        this.inlined = 0;
+    }
+
+    /**
+     * A priority lane with its own queue and budget.
+     */
+    private class Lane {
+
+        private final FxPriority priority;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final Executor executor;
+        private final Scheduler scheduler;
+        private final Scheduler immediateScheduler;
+        private volatile long budgetNanos;
+
+        private Lane(FxPriority priority) {
+            this.priority = priority;
+            this.budgetNanos = (long) (priority.getDefaultBudget().toMillis() * 1_000_000);
+            this.executor = task -> execute(task, priority);
+            this.scheduler = Schedulers.from(this.executor);
+            this.immediateScheduler = Schedulers.from(task -> executeImmediate(task, priority));
+        }
+
+        /**
+         * Executes the queued tasks until the queue is empty or the budget is exceeded.
+         *
+         * @return The amount of executed tasks
+         */
+        private int drain() {
+            long deadline = System.nanoTime() + this.budgetNanos;
+            int executed = 0;
+            Runnable task;
+            while ((task = this.queue.poll()) != null) {
+                this.depth.decrementAndGet();
+                BatchingFxExecutor.this.depth.decrementAndGet();
+                run(task);
+                executed++;
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            return executed;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.fulib.fx.scheduler;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.fulib.fx.FulibFxApp;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Provides the executor used by the framework for blocking background work (like I/O or database calls).
+ * <p>
+ * On Java 21 and newer, every task runs in its own virtual thread, so blocking a thread is cheap.
+ * On older versions, the tasks run on a bounded pool of daemon threads instead.
+ */
+public final class BlockingExecutors {
+
+    // The amount of threads of the fallback pool
+    private static final int POOL_SIZE = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+    private static volatile ExecutorService executor;
+    private static volatile Scheduler scheduler;
+    private static boolean virtual;
+
+    private BlockingExecutors() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the shared executor for blocking tasks. The executor must not be shut down.
+     *
+     * @return The executor
+     */
+    public static @NotNull ExecutorService executor() {
+        if (executor == null) {
+            synchronized (BlockingExecutors.class) {
+                if (executor == null) {
+                    executor = create();
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns a scheduler running tasks on the {@link #executor() shared executor}.
+     * Disposing a running task interrupts its thread.
+     *
+     * @return The scheduler
+     */
+    public static @NotNull Scheduler scheduler() {
+        if (scheduler == null) {
+            synchronized (BlockingExecutors.class) {
+                if (scheduler == null) {
+                    scheduler = Schedulers.from(executor(), true);
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Returns whether the shared executor uses virtual threads.
+     *
+     * @return True if tasks run in virtual threads
+     */
+    public static boolean isVirtual() {
+        executor();
+        return virtual;
+    }
+
+    private static ExecutorService create() {
+        // Virtual threads are only available on Java 21+, the framework is compiled against Java 17
+        try {
+            ExecutorService service = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtual = true;
+            return service;
+        } catch (ReflectiveOperationException e) {
+            FulibFxApp.LOGGER.log(Level.FINE, "Virtual threads are not available, falling back to a thread pool.", e);
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "fulibfx-blocking-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
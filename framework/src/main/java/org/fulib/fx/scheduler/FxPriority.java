@@ -0,0 +1,44 @@
+package org.fulib.fx.scheduler;
+
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The priority lanes of a {@link BatchingFxExecutor}.
+ * <p>
+ * Every batch executes the lanes in the order of their declaration, each lane with its own time budget.
+ * Tasks of the {@link #BACKGROUND} lane are deferred while the user is interacting with the application.
+ */
+public enum FxPriority {
+
+    /**
+     * Tasks directly reacting to user input, which should be executed as soon as possible.
+     */
+    INTERACTIVE(Duration.millis(4)),
+
+    /**
+     * The default priority used by {@link org.fulib.fx.FulibFxApp#FX_SCHEDULER}.
+     */
+    NORMAL(Duration.millis(8)),
+
+    /**
+     * Tasks which can be delayed without the user noticing (e.g. refreshes or prefetching).
+     * The lane yields to input events, so it doesn't slow down key and mouse handling.
+     */
+    BACKGROUND(Duration.millis(2));
+
+    private final Duration defaultBudget;
+
+    FxPriority(Duration defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    /**
+     * Returns the default time budget per batch of this lane.
+     *
+     * @return The default budget
+     */
+    public @NotNull Duration getDefaultBudget() {
+        return this.defaultBudget;
+    }
+}
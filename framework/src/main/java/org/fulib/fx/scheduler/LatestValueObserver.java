@@ -0,0 +1,109 @@
+package org.fulib.fx.scheduler;
+
+import io.reactivex.rxjava3.exceptions.Exceptions;
+import io.reactivex.rxjava3.functions.Consumer;
+import io.reactivex.rxjava3.observers.DisposableObserver;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An observer handing over only the latest emitted value to the FX thread once per pulse.
+ * <p>
+ * Every emitted value replaces the value in a single slot without blocking the emitting thread. The first value put into
+ * the empty slot schedules a drain for the next pulse, which takes the value out of the slot and passes it to the consumer.
+ * All values emitted in the meantime are dropped, so the consumer is called at most once per frame, no matter how
+ * fast the observable emits. Disposing the observer cancels the upstream and discards a pending value.
+ *
+ * @param <T> The type of the values
+ */
+public class LatestValueObserver<T> extends DisposableObserver<T> {
+
+    private static final Object EMPTY = new Object();
+
+    private final BatchingFxExecutor executor;
+    private final Consumer<? super T> onNext;
+    private final @Nullable Consumer<? super Throwable> onError;
+
+    private final AtomicReference<Object> slot = new AtomicReference<>(EMPTY);
+    private volatile long dropped;
+
+    /**
+     * Creates a new observer.
+     *
+     * @param executor The executor used for scheduling the drains
+     * @param onNext   The consumer to call with the latest value on the FX thread
+     * @param onError  The consumer to call on an error on the FX thread, or null to report errors to {@link RxJavaPlugins#onError(Throwable)}
+     */
+    public LatestValueObserver(@NotNull BatchingFxExecutor executor, @NotNull Consumer<? super T> onNext, @Nullable Consumer<? super Throwable> onError) {
+        this.executor = executor;
+        this.onNext = onNext;
+        this.onError = onError;
+    }
+
+    @Override
+    public void onNext(@NotNull T value) {
+        Object previous = this.slot.getAndSet(value);
+        if (previous == EMPTY) {
+            this.executor.executeOnPulse(this::drain);
+        } else {
+            this.dropped++; // Only written by the emitting thread, as observables emit sequentially
+        }
+    }
+
+    @Override
+    public void onError(@NotNull Throwable throwable) {
+        // Executed after a pending drain, so the last value is still delivered
+        this.executor.executeOnPulse(() -> {
+            if (isDisposed()) {
+                return;
+            }
+            dispose();
+            fail(throwable);
+        });
+    }
+
+    @Override
+    public void onComplete() {
+        // The pending value is still delivered by the scheduled drain
+    }
+
+    private void drain() {
+        @SuppressWarnings("unchecked") // Only values emitted by the observable are put into the slot
+        T value = (T) this.slot.getAndSet(EMPTY);
+        if (value == EMPTY || isDisposed()) {
+            return;
+        }
+        try {
+            this.onNext.accept(value);
+        } catch (Throwable throwable) {
+            Exceptions.throwIfFatal(throwable);
+            dispose();
+            fail(throwable);
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        if (this.onError == null) {
+            RxJavaPlugins.onError(throwable);
+            return;
+        }
+        try {
+            this.onError.accept(throwable);
+        } catch (Throwable inner) {
+            Exceptions.throwIfFatal(inner);
+            RxJavaPlugins.onError(inner);
+        }
+    }
+
+    /**
+     * Returns the amount of values which have been replaced by a newer value before they were handed over to the FX thread.
+     *
+     * @return The amount of dropped values
+     */
+    public long getDroppedCount() {
+        return this.dropped;
+    }
+}
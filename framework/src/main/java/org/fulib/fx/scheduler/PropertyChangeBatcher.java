@@ -0,0 +1,300 @@
+package org.fulib.fx.scheduler;
+
+import io.reactivex.rxjava3.disposables.Disposable;
+import javafx.application.Platform;
+import org.fulib.fx.FulibFxApp;
+import org.jetbrains.annotations.NotNull;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects property change events of models and delivers them to the registered listeners in batches on the FX thread.
+ * <p>
+ * Models (e.g. generated by fulib) fire an event for every change, so a single operation changing multiple objects
+ * triggers many separate UI updates. Instead of being forwarded immediately, the events are collected until the next pulse
+ * or until the current transaction ends. Multiple events of the same source and property are merged into a single event
+ * containing the first old value and the latest new value. Merged events whose old and new value are equal are dropped,
+ * like {@link PropertyChangeSupport#firePropertyChange(PropertyChangeEvent)} does.
+ * <p>
+ * Events are delivered in the order in which their source and property changed for the first time.
+ * Events fired by listeners during the delivery are delivered in the same pass. If listeners keep firing events,
+ * the pass ends after a limited amount of rounds and the remaining events are delivered in the next pulse, so the FX thread isn't blocked.
+ * <p>
+ * Events can be fired on any thread, the listeners are always called on the FX thread.
+ * Disposing the batcher removes all listeners and drops all pending events.
+ */
+public class PropertyChangeBatcher implements Disposable {
+
+    // The maximum amount of rounds in a pass, in case listeners keep firing new events
+    private static final int MAX_ROUNDS = 16;
+
+    private final BatchingFxExecutor executor;
+    private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+
+    // The pending events by registration and property (guarded by this)
+    private final Map<Key, PropertyChangeEvent> pending = new LinkedHashMap<>();
+    private int transactions;
+    private boolean scheduled;
+    private volatile boolean disposed;
+
+    // Metrics
+    private volatile long received;
+    private volatile long delivered;
+
+    /**
+     * Creates a new batcher delivering events using {@link FulibFxApp#FX_EXECUTOR}.
+     */
+    public PropertyChangeBatcher() {
+        this(FulibFxApp.FX_EXECUTOR);
+    }
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param executor The executor used for delivering events once per pulse
+     */
+    public PropertyChangeBatcher(@NotNull BatchingFxExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a listener for a single property to a property change support. The listener receives the events in batches.
+     *
+     * @param support  The property change support (e.g. a model)
+     * @param property The property to listen to
+     * @param listener The listener to add
+     * @return A disposable removing the listener
+     */
+    public @NotNull Disposable listen(@NotNull PropertyChangeSupport support, @NotNull String property, @NotNull PropertyChangeListener listener) {
+        Registration registration = new Registration(listener);
+        registration.remove = () -> support.removePropertyChangeListener(property, registration);
+        this.registrations.add(registration);
+        support.addPropertyChangeListener(property, registration);
+        return registration;
+    }
+
+    /**
+     * Adds a listener for all properties to a property change support. The listener receives the events in batches.
+     *
+     * @param support  The property change support (e.g. a model)
+     * @param listener The listener to add
+     * @return A disposable removing the listener
+     */
+    public @NotNull Disposable listen(@NotNull PropertyChangeSupport support, @NotNull PropertyChangeListener listener) {
+        Registration registration = new Registration(listener);
+        registration.remove = () -> support.removePropertyChangeListener(registration);
+        this.registrations.add(registration);
+        support.addPropertyChangeListener(registration);
+        return registration;
+    }
+
+    /**
+     * Runs the given action in a transaction. All events fired during the transaction are delivered together when it ends.
+     *
+     * @param action The action changing the models
+     * @see #beginTransaction()
+     */
+    public void transaction(@NotNull Runnable action) {
+        beginTransaction();
+        try {
+            action.run();
+        } finally {
+            endTransaction();
+        }
+    }
+
+    /**
+     * Starts a transaction. Until the transaction ends, no events are delivered.
+     * Transactions can be nested, the events are delivered when the outermost transaction ends.
+     * Every call has to be followed by a call of {@link #endTransaction()}.
+     */
+    public synchronized void beginTransaction() {
+        this.transactions++;
+    }
+
+    /**
+     * Ends a transaction. If it was the outermost transaction, the collected events are delivered immediately when called on the FX thread
+     * or in the next pulse otherwise.
+     */
+    public void endTransaction() {
+        synchronized (this) {
+            if (this.transactions == 0) {
+                throw new IllegalStateException("No transaction has been started");
+            }
+            this.transactions--;
+            if (this.transactions > 0 || this.pending.isEmpty()) {
+                return;
+            }
+            if (!Platform.isFxApplicationThread()) {
+                schedule();
+                return;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Delivers all pending events immediately, unless a transaction is running.
+     * When called on another thread than the FX thread, the events are delivered in the next pulse instead.
+     */
+    public void flush() {
+        if (!Platform.isFxApplicationThread()) {
+            synchronized (this) {
+                if (!this.pending.isEmpty() && this.transactions == 0) {
+                    schedule();
+                }
+            }
+            return;
+        }
+
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            List<Key> keys;
+            List<PropertyChangeEvent> events;
+            synchronized (this) {
+                this.scheduled = false;
+                if (this.pending.isEmpty() || this.disposed || this.transactions > 0) {
+                    return; // Transactions deliver their events when they end
+                }
+                keys = new ArrayList<>(this.pending.keySet());
+                events = new ArrayList<>(this.pending.values());
+                this.pending.clear();
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                deliver(keys.get(i).registration(), events.get(i));
+            }
+        }
+
+        // Listeners keep firing events, continue in the next pulse (pulse tasks queued during a pulse never run in the same pulse)
+        synchronized (this) {
+            if (!this.pending.isEmpty() && this.transactions == 0) {
+                schedule();
+            }
+        }
+    }
+
+    private void deliver(Registration registration, PropertyChangeEvent event) {
+        Object oldValue = event.getOldValue();
+        if (registration.isDisposed() || oldValue != null && Objects.equals(oldValue, event.getNewValue())) {
+            return; // The value has been changed back in the meantime
+        }
+        this.delivered++;
+        try {
+            registration.listener.propertyChange(event);
+        } catch (Throwable throwable) {
+            // Don't drop the remaining events of the batch
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+    }
+
+    private synchronized void enqueue(Registration registration, PropertyChangeEvent event) {
+        if (this.disposed) {
+            return;
+        }
+        this.received++;
+        Key key = new Key(registration, event.getPropertyName());
+        PropertyChangeEvent previous = this.pending.get(key);
+        if (previous == null) {
+            this.pending.put(key, event);
+        } else {
+            // Keep the position of the first event, but the latest value
+            PropertyChangeEvent merged = new PropertyChangeEvent(event.getSource(), event.getPropertyName(), previous.getOldValue(), event.getNewValue());
+            this.pending.put(key, merged);
+        }
+        if (this.transactions == 0) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.executor.executeOnPulse(this::flush);
+        }
+    }
+
+    /**
+     * Returns the amount of events which have been received from the models.
+     *
+     * @return The amount of received events
+     */
+    public long getReceivedCount() {
+        return this.received;
+    }
+
+    /**
+     * Returns the amount of (merged) events which have been delivered to the listeners.
+     *
+     * @return The amount of delivered events
+     */
+    public long getDeliveredCount() {
+        return this.delivered;
+    }
+
+    /**
+     * Removes all listeners and drops all pending events.
+     */
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            this.disposed = true;
+            this.pending.clear();
+        }
+        for (Registration registration : this.registrations) {
+            registration.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+
+    private record Key(Registration registration, String property) {
+    }
+
+    /**
+     * The listener registered at a property change support, which forwards the events to the batcher.
+     */
+    private final class Registration implements PropertyChangeListener, Disposable {
+
+        private final PropertyChangeListener listener;
+        // Removes the registration from its property change support, set after creating the registration
+        private Runnable remove;
+        private volatile boolean disposed;
+
+        private Registration(PropertyChangeListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent event) {
+            if (!this.disposed) {
+                enqueue(this, event);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!this.disposed) {
+                this.disposed = true;
+                this.remove.run();
+                registrations.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return this.disposed;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.fulib.fx.scheduler;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.fulib.fx.util.FrameworkUtil.error;
+
+/**
+ * An executor running tasks on a shared executor service, whose running tasks are cancelled when it is disposed.
+ * <p>
+ * This allows scoping background work to the lifetime of a controller: when the controller is destroyed,
+ * all of its pending tasks are cancelled and all of its running tasks are interrupted, even if they are not part of an Rx chain.
+ * By default, the tasks are executed using {@link BlockingExecutors#executor()} (virtual threads on Java 21+).
+ * <p>
+ * After the executor has been disposed, new tasks are rejected.
+ */
+public class ScopedExecutor implements Executor, Disposable {
+
+    private final ExecutorService service;
+    private final Set<Future<?>> tasks = ConcurrentHashMap.newKeySet();
+    private final Scheduler scheduler = Schedulers.from(this, true);
+    private volatile boolean disposed;
+
+    /**
+     * Creates a new scoped executor running its tasks using {@link BlockingExecutors#executor()}.
+     */
+    public ScopedExecutor() {
+        this(BlockingExecutors.executor());
+    }
+
+    /**
+     * Creates a new scoped executor.
+     *
+     * @param service The executor service to run the tasks on (not shut down when the scoped executor is disposed)
+     */
+    public ScopedExecutor(@NotNull ExecutorService service) {
+        this.service = service;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable task) {
+        if (this.disposed) {
+            throw new RejectedExecutionException(error(9009));
+        }
+        FutureTask<Void> future = new FutureTask<>(task, null) {
+            @Override
+            protected void done() {
+                tasks.remove(this);
+                if (isCancelled()) {
+                    return;
+                }
+                // Report exceptions of the task, as nobody waits for the future
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        this.tasks.add(future);
+        this.service.execute(future);
+
+        // The executor might have been disposed concurrently without seeing the task
+        if (this.disposed) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Returns a scheduler running tasks on this executor. Disposing a running task interrupts its thread.
+     *
+     * @return The scheduler
+     */
+    public @NotNull Scheduler scheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Returns the amount of tasks which are pending or running.
+     *
+     * @return The amount of active tasks
+     */
+    public int getActiveCount() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Cancels all pending tasks and interrupts all running tasks. Afterward, new tasks are rejected.
+     */
+    @Override
+    public void dispose() {
+        this.disposed = true;
+        for (Future<?> task : this.tasks) {
+            task.cancel(true);
+        }
+        this.tasks.clear();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+}
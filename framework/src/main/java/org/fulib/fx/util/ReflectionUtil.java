@@ -63,10 +63,29 @@ public class ReflectionUtil {
         return null;
     }
 
+    // The accessible getChildren method of each parent class, resolved through the class hierarchy (null if there is none)
+    private static final ClassValue<Method> CHILDREN_GETTERS = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                try {
+                    Method getChildren = clazz.getDeclaredMethod("getChildren");
+                    getChildren.setAccessible(true);
+                    return getChildren;
+                } catch (NoSuchMethodException | InaccessibleObjectException ignored) {
+                    // Try the superclass
+                }
+            }
+            return null;
+        }
+    };
+
     /**
      * Returns the children list of the given parent. This method is used to access the children list of a Parent class
      * even though the method is not public in the Parent class. This should be used with caution and is mainly used
      * for duplicating nodes.
+     * <p>
+     * The method used for accessing the children is looked up once per class.
      *
      * @param clazz  The class to get the children list from
      * @param parent The parent to get the children list from
@@ -74,16 +93,14 @@ public class ReflectionUtil {
      */
     @SuppressWarnings("unchecked")
     public static ObservableList<Node> getChildrenList(Class<?> clazz, Parent parent) {
+        Method getChildren = CHILDREN_GETTERS.get(clazz);
+        if (getChildren == null) {
+            throw new RuntimeException(error(9003).formatted(parent.getClass().getName()));
+        }
         try {
-            Method getChildren = clazz.getDeclaredMethod("getChildren");
-            getChildren.setAccessible(true);
-            Object childrenList = getChildren.invoke(parent);
-            return (ObservableList<Node>) childrenList;
-        } catch (Exception e) {
-            if (clazz.getSuperclass() == Object.class) {
-                throw new RuntimeException(error(9003).formatted(parent.getClass().getName()), e);
-            }
-            return getChildrenList(clazz.getSuperclass(), parent);
+            return (ObservableList<Node>) getChildren.invoke(parent);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(error(9003).formatted(parent.getClass().getName()), e);
         }
     }
 
@@ -1,13 +1,46 @@
 package org.fulib.fx.app;
 
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableIntegerArray;
 import javafx.collections.ObservableList;
+import javafx.event.Event;
 import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TreeCell;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableCell;
+import javafx.scene.control.TreeTableColumn;
+import javafx.scene.control.TreeTableRow;
+import javafx.scene.control.TreeTableView;
+import javafx.scene.control.TreeView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import org.fulib.fx.FulibFxApp;
 import org.fulib.fx.app.controller.InvalidParamController;
 import org.fulib.fx.app.controller.ModalComponent;
@@ -18,17 +51,50 @@ import org.fulib.fx.app.controller.history.BController;
 import org.fulib.fx.app.controller.history.CController;
 import org.fulib.fx.app.controller.subcomponent.basic.ButtonSubComponent;
 import org.fulib.fx.app.controller.types.BasicComponent;
+import org.fulib.fx.constructs.ComponentPool;
 import org.fulib.fx.constructs.Modals;
+import org.fulib.fx.constructs.canvas.CanvasItem;
+import org.fulib.fx.constructs.canvas.CanvasLayer;
+import org.fulib.fx.constructs.forloop.ArrayFor;
+import org.fulib.fx.constructs.forloop.For;
+import org.fulib.fx.constructs.forloop.FxFor;
+import org.fulib.fx.constructs.forloop.StreamingFor;
+import org.fulib.fx.constructs.listview.PooledComponentCellFactory;
+import org.fulib.fx.constructs.tableview.ComponentTableCell;
+import org.fulib.fx.constructs.tableview.ComponentTreeTableCell;
+import org.fulib.fx.constructs.treeview.ComponentTreeCell;
+import org.fulib.fx.controller.LeakDetector;
+import org.fulib.fx.controller.LifecycleScope;
+import org.fulib.fx.controller.Subscriber;
+import org.fulib.fx.data.ConcurrentObservableList;
+import org.fulib.fx.data.PagedList;
+import org.fulib.fx.data.ProjectionList;
+import org.fulib.fx.scheduler.BatchingFxExecutor;
+import org.fulib.fx.scheduler.FxPriority;
+import org.fulib.fx.scheduler.PropertyChangeBatcher;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.testfx.framework.junit5.ApplicationTest;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
 
 import static org.fulib.fx.FulibFxApp.FX_SCHEDULER;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.testfx.api.FxAssert.verifyThat;
+import static org.testfx.util.WaitForAsyncUtils.waitFor;
 import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
 
 public class FrameworkTest extends ApplicationTest {
@@ -146,6 +212,890 @@ public class FrameworkTest extends ApplicationTest {
 
     }
 
+    /**
+     * Tests if a For loop using a pool reuses the components of removed items.
+     */
+    @Test
+    public void pooledForTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("Hello", "World");
+        VBox container = new VBox();
+        List<ButtonSubComponent> created = new ArrayList<>();
+        ComponentPool<ButtonSubComponent> pool = new ComponentPool<>(app, () -> {
+            ButtonSubComponent component = new ButtonSubComponent();
+            created.add(component);
+            return component;
+        }, 5);
+
+        runAndWait(() -> new FxFor(app).of(container, list, pool));
+        assertEquals(2, container.getChildren().size());
+        assertEquals(2, created.size());
+
+        runAndWait(() -> list.remove("World"));
+        assertEquals(1, container.getChildren().size());
+        assertEquals(1, pool.size()); // The component should have been parked
+
+        runAndWait(() -> list.add("Everyone"));
+        assertEquals(2, container.getChildren().size());
+        assertEquals(2, created.size()); // The parked component should have been reused
+        assertEquals(0, pool.size());
+        assertEquals("Everyone", ((Button) container.getChildren().get(1)).getText());
+
+        runAndWait(() -> {
+            pool.setMaxSize(0);
+            list.clear();
+        });
+        assertEquals(0, pool.size()); // The pool is full, so the components should have been destroyed
+
+        // Components released before the pool created any should be parked as well
+        ComponentPool<ButtonSubComponent> fresh = new ComponentPool<>(app, ButtonSubComponent::new, 5);
+        runAndWait(() -> fresh.release(app.initAndRender(new ButtonSubComponent())));
+        assertEquals(1, fresh.size());
+    }
+
+    /**
+     * Tests if the pooled cell factory shows placeholders while scrolling fast and renders the components afterward.
+     */
+    @Test
+    public void pooledCellFactoryTest() throws TimeoutException {
+        ObservableList<String> items = FXCollections.observableArrayList();
+        for (int i = 0; i < 100; i++) {
+            items.add("Item " + i);
+        }
+        ListView<String> listView = new ListView<>(items);
+        List<PooledComponentCellFactory<String, ButtonSubComponent>> factory = new ArrayList<>();
+        List<ListCell<String>> cell = new ArrayList<>();
+
+        runAndWait(() -> {
+            factory.add(new PooledComponentCellFactory<>(app, ButtonSubComponent::new, 10, Map.of()));
+            factory.get(0).setFastScrollThreshold(5);
+            factory.get(0).setSettleDelay(Duration.millis(50));
+            factory.get(0).prewarm(3);
+        });
+        waitForFxEvents(5);
+        assertEquals(3, factory.get(0).getPool().size());
+
+        runAndWait(() -> {
+            cell.add(factory.get(0).call(listView));
+            cell.get(0).updateListView(listView);
+            cell.get(0).updateIndex(0);
+        });
+        assertInstanceOf(ButtonSubComponent.class, cell.get(0).getGraphic());
+        assertEquals("Item 0", ((Button) cell.get(0).getGraphic()).getText());
+        assertEquals(2, factory.get(0).getPool().size()); // The component has been taken from the pool
+
+        // Rebind the cell quickly
+        runAndWait(() -> {
+            for (int i = 1; i <= 20; i++) {
+                cell.get(0).updateIndex(i);
+            }
+        });
+        assertTrue(factory.get(0).isFastScrolling());
+        assertInstanceOf(Label.class, cell.get(0).getGraphic());
+
+        // Wait for scrolling to settle
+        waitFor(5, TimeUnit.SECONDS, () -> !factory.get(0).isFastScrolling());
+        waitForFxEvents();
+        assertFalse(factory.get(0).isFastScrolling());
+        assertEquals("Item 20", ((Button) cell.get(0).getGraphic()).getText());
+
+        // Cells discarded by the list view give their component back to the pool
+        runAndWait(() -> cell.get(0).updateListView(null));
+        assertNull(cell.get(0).getGraphic());
+        assertEquals(3, factory.get(0).getPool().size());
+
+        runAndWait(() -> factory.get(0).dispose());
+        assertNull(cell.get(0).getGraphic());
+        assertEquals(0, factory.get(0).getPool().size());
+    }
+
+    /**
+     * Tests if component tree cells reuse their components and release them when they are disposed.
+     */
+    @Test
+    public void componentTreeCellTest() {
+        TreeItem<String> root = new TreeItem<>("Root");
+        root.getChildren().addAll(new TreeItem<>("A"), new TreeItem<>("B"));
+        root.setExpanded(true);
+        TreeView<String> treeView = new TreeView<>(root);
+        ComponentPool<ButtonSubComponent> pool = new ComponentPool<>(app, ButtonSubComponent::new, 5);
+        CompositeDisposable cells = new CompositeDisposable();
+        List<TreeCell<String>> cell = new ArrayList<>();
+
+        runAndWait(() -> {
+            cell.add(ComponentTreeCell.<String, ButtonSubComponent>forTreeView(app, pool, Map.of(), cells).call(treeView));
+            cell.get(0).updateTreeView(treeView);
+            cell.get(0).updateIndex(1);
+        });
+        Node component = cell.get(0).getGraphic();
+        assertEquals("A", ((Button) component).getText());
+        assertEquals(1, cells.size());
+
+        runAndWait(() -> cell.get(0).updateIndex(2));
+        assertSame(component, cell.get(0).getGraphic()); // The component should have been reused
+        assertEquals("B", ((Button) component).getText());
+
+        runAndWait(cells::dispose);
+        assertNull(cell.get(0).getGraphic());
+        assertEquals(1, pool.size()); // The component should have been released
+
+        runAndWait(() -> cell.get(0).updateIndex(0));
+        assertNull(cell.get(0).getGraphic()); // Disposed cells stay empty
+    }
+
+    /**
+     * Tests if component table cells are only kept in the container while they belong to a table and release their component afterward.
+     */
+    @Test
+    public void componentTableCellTest() {
+        TableView<String> tableView = new TableView<>(FXCollections.observableArrayList("A", "B"));
+        TableColumn<String, String> column = new TableColumn<>();
+        column.setCellValueFactory(data -> new SimpleStringProperty(data.getValue()));
+        tableView.getColumns().add(column);
+        ComponentPool<ButtonSubComponent> pool = new ComponentPool<>(app, ButtonSubComponent::new, 5);
+        CompositeDisposable cells = new CompositeDisposable();
+        List<TableCell<String, String>> cell = new ArrayList<>();
+
+        runAndWait(() -> cell.add(ComponentTableCell.<String, String, ButtonSubComponent>forTableColumn(app, pool, Map.of(), cells).call(column)));
+        assertEquals(0, cells.size()); // The cell doesn't belong to a table yet
+
+        runAndWait(() -> {
+            TableRow<String> row = new TableRow<>();
+            row.updateTableView(tableView);
+            row.updateIndex(0);
+            cell.get(0).updateTableView(tableView);
+            cell.get(0).updateTableColumn(column);
+            cell.get(0).updateTableRow(row);
+            cell.get(0).updateIndex(0);
+        });
+        assertEquals("A", ((Button) cell.get(0).getGraphic()).getText());
+        assertEquals(1, cells.size());
+
+        runAndWait(() -> cell.get(0).updateTableView(null)); // The table discards the cell
+        assertNull(cell.get(0).getGraphic());
+        assertEquals(1, pool.size()); // The component should have been released
+        assertEquals(0, cells.size()); // The cell should have been removed from the container
+
+        runAndWait(cells::dispose);
+        runAndWait(pool::dispose);
+    }
+
+    /**
+     * Tests if component tree table cells are only kept in the container while they belong to a tree table and release their component afterward.
+     */
+    @Test
+    public void componentTreeTableCellTest() {
+        TreeItem<String> root = new TreeItem<>("Root");
+        root.getChildren().addAll(new TreeItem<>("A"), new TreeItem<>("B"));
+        root.setExpanded(true);
+        TreeTableView<String> treeTableView = new TreeTableView<>(root);
+        TreeTableColumn<String, String> column = new TreeTableColumn<>();
+        column.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getValue()));
+        treeTableView.getColumns().add(column);
+        ComponentPool<ButtonSubComponent> pool = new ComponentPool<>(app, ButtonSubComponent::new, 5);
+        CompositeDisposable cells = new CompositeDisposable();
+        List<TreeTableCell<String, String>> cell = new ArrayList<>();
+
+        runAndWait(() -> cell.add(ComponentTreeTableCell.<String, String, ButtonSubComponent>forTreeTableColumn(app, pool, Map.of(), cells).call(column)));
+        assertEquals(0, cells.size()); // The cell doesn't belong to a tree table yet
+
+        runAndWait(() -> {
+            TreeTableRow<String> row = new TreeTableRow<>();
+            row.updateTreeTableView(treeTableView);
+            row.updateIndex(1);
+            cell.get(0).updateTreeTableView(treeTableView);
+            cell.get(0).updateTableColumn(column);
+            cell.get(0).updateTableRow(row);
+            cell.get(0).updateIndex(1);
+        });
+        assertEquals("A", ((Button) cell.get(0).getGraphic()).getText());
+        assertEquals(1, cells.size());
+
+        runAndWait(() -> cell.get(0).updateTreeTableView(null)); // The tree table discards the cell
+        assertNull(cell.get(0).getGraphic());
+        assertEquals(1, pool.size()); // The component should have been released
+        assertEquals(0, cells.size()); // The cell should have been removed from the container
+
+        runAndWait(cells::dispose);
+        runAndWait(pool::dispose);
+    }
+
+    /**
+     * Tests if a For loop over a primitive array tracks the nodes by index and updates them in place.
+     */
+    @Test
+    public void arrayForTest() {
+        ObservableIntegerArray array = FXCollections.observableIntegerArray(1, 1, 2);
+        VBox container = new VBox();
+        List<ArrayFor<Button, ObservableIntegerArray>> loop = new ArrayList<>();
+
+        runAndWait(() -> loop.add(new FxFor(app).of(container, array, Button::new, Map.of(), (button, value) -> button.setText(String.valueOf(value)))));
+        assertEquals(List.of("1", "1", "2"), container.getChildren().stream().map(node -> ((Button) node).getText()).toList()); // Duplicates are allowed
+
+        Node first = container.getChildren().get(0);
+        runAndWait(() -> array.set(0, 5));
+        assertSame(first, container.getChildren().get(0)); // The node should have been updated
+        assertEquals("5", ((Button) first).getText());
+
+        runAndWait(() -> array.addAll(7, 8));
+        assertEquals(List.of("5", "1", "2", "7", "8"), container.getChildren().stream().map(node -> ((Button) node).getText()).toList());
+
+        runAndWait(() -> array.resize(2));
+        assertEquals(List.of("5", "1"), container.getChildren().stream().map(node -> ((Button) node).getText()).toList());
+
+        runAndWait(() -> loop.get(0).dispose());
+        assertEquals(0, container.getChildren().size());
+    }
+
+    /**
+     * Tests if a For loop over a sorted projection keeps the node of an item whose sort key changed.
+     */
+    @Test
+    public void projectionForTest() {
+        IntegerProperty a = new SimpleIntegerProperty(1);
+        IntegerProperty b = new SimpleIntegerProperty(2);
+        ObservableList<IntegerProperty> source = FXCollections.observableArrayList(property -> new javafx.beans.Observable[]{property});
+        source.addAll(a, b);
+        ProjectionList<IntegerProperty> projection = new ProjectionList<>(source, null, Comparator.comparingInt(IntegerProperty::get));
+        VBox container = new VBox();
+
+        runAndWait(() -> new FxFor(app).of(container, projection, Button::new, Map.of(), (button, item) -> button.setText(String.valueOf(item.get()))));
+        Node first = container.getChildren().get(0);
+
+        runAndWait(() -> a.set(3));
+        assertEquals(2, container.getChildren().size());
+        assertSame(first, container.getChildren().get(1)); // The node should have been moved instead of recreated
+    }
+
+    /**
+     * Tests if a canvas layer only repaints the items in the dirty region and hit-tests the items.
+     */
+    @Test
+    public void canvasLayerTest() throws TimeoutException {
+        Map<String, AtomicInteger> draws = new HashMap<>();
+        ObservableList<String> list = FXCollections.observableArrayList("A", "B");
+        CanvasLayer layer = new CanvasLayer();
+        List<Disposable> binding = new ArrayList<>();
+
+        runAndWait(() -> {
+            layer.resize(100, 100);
+            layer.layout();
+            binding.add(layer.bind(list, name -> {
+                AtomicInteger counter = draws.computeIfAbsent(name, key -> new AtomicInteger());
+                CanvasItem item = new CanvasItem() {
+                    @Override
+                    protected void draw(@NotNull GraphicsContext graphics) {
+                        counter.incrementAndGet();
+                        graphics.fillRect(getX(), getY(), getWidth(), getHeight());
+                    }
+                };
+                item.setBounds(name.equals("A") ? 0 : 50, name.equals("A") ? 0 : 50, 10, 10);
+                return item;
+            }));
+        });
+        // The items are drawn in the next pulse
+        waitFor(5, TimeUnit.SECONDS, () -> draws.get("A").get() > 0 && draws.get("B").get() > 0);
+        waitForFxEvents();
+        assertEquals(1, draws.get("A").get());
+        assertEquals(1, draws.get("B").get());
+        assertSame(layer.getItems().get(1), layer.itemAt(55, 55));
+        assertNull(layer.itemAt(30, 30));
+
+        runAndWait(() -> layer.getItems().get(0).relocate(5, 5));
+        waitFor(5, TimeUnit.SECONDS, () -> draws.get("A").get() > 1);
+        waitForFxEvents();
+        assertEquals(2, draws.get("A").get());
+        assertEquals(1, draws.get("B").get()); // B is outside the dirty region
+
+        // Items drawn on another layer are rejected before the list is modified
+        CanvasLayer other = new CanvasLayer();
+        CanvasItem drawn = layer.getItems().get(1);
+        List<Throwable> thrown = new ArrayList<>();
+        runAndWait(() -> {
+            try {
+                other.getItems().add(drawn);
+            } catch (IllegalArgumentException e) {
+                thrown.add(e);
+            }
+            try {
+                other.getItems().addAll(List.of(new CanvasItem() {
+                    @Override
+                    protected void draw(@NotNull GraphicsContext graphics) {
+                    }
+                }, drawn));
+            } catch (IllegalArgumentException e) {
+                thrown.add(e);
+            }
+        });
+        assertEquals(2, thrown.size());
+        assertTrue(other.getItems().isEmpty());
+        assertSame(layer, drawn.getLayer());
+
+        runAndWait(() -> list.remove("A"));
+        assertEquals(1, layer.getItems().size());
+
+        runAndWait(() -> binding.get(0).dispose());
+        assertEquals(0, layer.getItems().size());
+    }
+
+    @Test
+    public void progressiveForTest() {
+        ObservableList<String> list = FXCollections.observableArrayList();
+        for (int i = 0; i < 500; i++) {
+            list.add("Item " + i);
+        }
+        VBox container = new VBox();
+        List<For<Button, String>> loop = new ArrayList<>();
+
+        runAndWait(() -> loop.add(new FxFor(app).progressive(container, list, Button::new, Map.of(), Button::setText, Duration.millis(0.01))));
+        assertTrue(container.getChildren().size() < list.size()); // Not everything should be created in the first pulse
+
+        runAndWait(() -> {
+            list.add(0, "First");
+            list.remove("Item 499");
+            list.add("Last");
+            FXCollections.reverse(list);
+        });
+
+        assertTrue(loop.get(0).completion().blockingAwait(10, TimeUnit.SECONDS));
+        waitForFxEvents();
+        assertEquals(list, container.getChildren().stream().map(node -> ((Button) node).getText()).toList());
+    }
+
+    @Test
+    public void streamingForTest() throws TimeoutException {
+        VBox container = new VBox();
+        List<StreamingFor<Button, String>> loop = new ArrayList<>();
+
+        runAndWait(() -> loop.add(new FxFor(app).stream(container, Flowable.range(0, 100).map(String::valueOf), Button::new, Map.of(), Button::setText, 10)));
+        waitFor(5, TimeUnit.SECONDS, () -> container.getChildren().size() == 10 && ((Button) container.getChildren().get(9)).getText().equals("99"));
+
+        assertEquals(10, container.getChildren().size());
+        assertEquals(List.of("90", "91", "92", "93", "94", "95", "96", "97", "98", "99"), container.getChildren().stream().map(node -> ((Button) node).getText()).toList());
+
+        runAndWait(() -> loop.get(0).dispose());
+        assertEquals(0, container.getChildren().size());
+        assertEquals(80, loop.get(0).getDropped()); // Only the first and the last ten items were displayed
+
+        // Every update requests the next items, which are added in the next pulse, so the window shifts at most once per pulse
+        AtomicInteger frames = new AtomicInteger();
+        AnimationTimer counter = frameCounter(frames);
+        List<Integer> shifts = new ArrayList<>();
+        Flowable<String> source = Flowable.interval(100, TimeUnit.MICROSECONDS).take(2000).map(String::valueOf);
+        runAndWait(() -> {
+            counter.start();
+            loop.set(0, new FxFor(app).stream(container, source, Button::new, Map.of(), Button::setText, 10));
+            loop.get(0).getItems().addListener((ListChangeListener<String>) change -> shifts.add(frames.get()));
+        });
+        waitFor(10, TimeUnit.SECONDS, () -> container.getChildren().size() == 10 && ((Button) container.getChildren().get(9)).getText().equals("1999"));
+        runAndWait(counter::stop);
+
+        assertTrue(shifts.size() > 1);
+        assertEquals(shifts.size(), shifts.stream().distinct().count());
+
+        runAndWait(() -> loop.get(0).dispose());
+    }
+
+    /**
+     * Tests if a paged list loads the pages around the viewport and evicts pages which are too far away.
+     */
+    @Test
+    public void pagedListTest() throws TimeoutException {
+        List<Integer> loaded = Collections.synchronizedList(new ArrayList<>());
+        PagedList<String> list = new PagedList<>(1000, 50, page -> Single.fromCallable(() -> {
+            loaded.add(page);
+            List<String> items = new ArrayList<>();
+            for (int i = page * 50; i < page * 50 + 50; i++) {
+                items.add("Item " + i);
+            }
+            return items;
+        }), index -> "Placeholder " + index);
+        AtomicInteger changes = new AtomicInteger();
+        list.addListener((ListChangeListener<String>) change -> changes.incrementAndGet());
+
+        assertEquals(1000, list.size());
+        assertEquals("Placeholder 0", list.get(0));
+
+        runAndWait(() -> list.setViewport(0, 20));
+        waitFor(5, TimeUnit.SECONDS, () -> list.isLoaded(0) && list.isLoaded(50));
+        waitForFxEvents();
+        assertEquals("Item 0", list.get(0));
+        assertEquals("Item 50", list.get(50)); // The next page should have been prefetched
+        assertEquals("Placeholder 100", list.get(100));
+        assertEquals(2, changes.get()); // One change per page
+
+        runAndWait(() -> list.setViewport(500, 520));
+        waitFor(5, TimeUnit.SECONDS, () -> list.isLoaded(450) && list.isLoaded(500) && list.isLoaded(550));
+        waitForFxEvents();
+        assertFalse(list.isLoaded(0)); // The first pages should have been evicted
+        assertEquals("Placeholder 0", list.get(0));
+        assertEquals(1000, list.size());
+        assertEquals(List.of(0, 1, 9, 10, 11), loaded.stream().sorted().toList());
+
+        list.dispose();
+    }
+
+    /**
+     * Tests if the batching executor runs tasks submitted from another thread in order and in few batches
+     * and carries over tasks exceeding the budget to the next pulse.
+     */
+    @Test
+    public void batchingExecutorTest() throws TimeoutException {
+        BatchingFxExecutor executor = new BatchingFxExecutor();
+        List<Integer> executed = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                executor.execute(() -> {
+                    assertTrue(Platform.isFxApplicationThread());
+                    executed.add(value);
+                });
+            }
+        });
+        producer.start();
+        waitFor(5, TimeUnit.SECONDS, () -> !producer.isAlive() && executor.getQueueDepth() == 0);
+        waitForFxEvents();
+
+        assertEquals(1000, executed.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, executed.get(i)); // Tasks must be executed in order
+        }
+        assertTrue(executor.getBatchCount() < 1000); // Tasks should have been batched instead of posted one by one
+        assertTrue(executor.getPeakQueueDepth() > 0);
+
+        // Without a budget, only one task is executed per batch and the rest is carried over
+        executor.setBudget(FxPriority.NORMAL, Duration.ZERO);
+        executor.resetMetrics();
+        executed.clear();
+        runAndWait(() -> {
+            for (int i = 0; i < 5; i++) {
+                int value = i;
+                executor.execute(() -> executed.add(value));
+            }
+        });
+        waitFor(5, TimeUnit.SECONDS, () -> executor.getQueueDepth() == 0);
+        waitForFxEvents();
+
+        assertEquals(List.of(0, 1, 2, 3, 4), executed);
+        assertEquals(5, executor.getBatchCount());
+        assertEquals(4, executor.getCarryOverCount());
+        assertEquals(1, executor.getLastBatchSize());
+    }
+
+    /**
+     * Tests if the lanes of the batching executor are executed by priority and if background tasks yield to input.
+     */
+    @Test
+    public void priorityExecutorTest() throws TimeoutException {
+        BatchingFxExecutor executor = new BatchingFxExecutor();
+        List<String> executed = new ArrayList<>();
+
+        runAndWait(() -> {
+            executor.execute(() -> executed.add("background"), FxPriority.BACKGROUND);
+            executor.execute(() -> executed.add("normal"));
+            executor.execute(() -> executed.add("interactive"), FxPriority.INTERACTIVE);
+        });
+        waitFor(5, TimeUnit.SECONDS, () -> executor.getQueueDepth() == 0);
+        waitForFxEvents();
+        assertEquals(List.of("interactive", "normal", "background"), executed);
+
+        // Background tasks are deferred after input, but still executed eventually
+        executed.clear();
+        runAndWait(() -> {
+            executor.reportInput();
+            executor.execute(() -> executed.add("background"), FxPriority.BACKGROUND);
+            executor.execute(() -> executed.add("normal"));
+        });
+        waitFor(5, TimeUnit.SECONDS, () -> executor.getQueueDepth() == 0);
+        waitForFxEvents();
+        assertEquals(List.of("normal", "background"), executed);
+        assertTrue(executor.getYieldCount() > 0);
+    }
+
+    /**
+     * Tests if pulse tasks submitted while the tasks of a pulse are executed are deferred to the next pulse.
+     */
+    @Test
+    public void pulseExecutorTest() throws TimeoutException {
+        BatchingFxExecutor executor = new BatchingFxExecutor();
+        AtomicInteger frames = new AtomicInteger();
+        AnimationTimer counter = frameCounter(frames);
+        List<Integer> runs = Collections.synchronizedList(new ArrayList<>());
+
+        runAndWait(() -> {
+            counter.start();
+            executor.executeOnPulse(new Runnable() {
+                @Override
+                public void run() {
+                    runs.add(frames.get());
+                    if (runs.size() < 3) {
+                        executor.executeOnPulse(this); // Re-submits itself
+                    }
+                }
+            });
+        });
+        waitFor(5, TimeUnit.SECONDS, () -> runs.size() == 3);
+        runAndWait(counter::stop);
+
+        assertTrue(runs.get(0) < runs.get(1)); // Every run happens in a later frame
+        assertTrue(runs.get(1) < runs.get(2));
+    }
+
+    /**
+     * Creates a timer counting the pulses while it is running.
+     */
+    private static AnimationTimer frameCounter(AtomicInteger frames) {
+        return new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frames.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Tests if items emitted on the FX thread are delivered synchronously by the immediate scheduler and in the next batch by the queued scheduler.
+     * The latency between emitting and receiving an item is measured for both schedulers.
+     */
+    @Test
+    public void immediateSchedulerTest() throws TimeoutException {
+        int emissions = 10_000;
+        BatchingFxExecutor executor = new BatchingFxExecutor();
+
+        AtomicInteger queued = new AtomicInteger();
+        AtomicLong queuedLatency = new AtomicLong();
+        runAndWait(() -> {
+            for (int i = 0; i < emissions; i++) {
+                long emitted = System.nanoTime();
+                Observable.just(i).observeOn(executor.scheduler(FxPriority.NORMAL)).subscribe(value -> {
+                    queuedLatency.addAndGet(System.nanoTime() - emitted);
+                    queued.incrementAndGet();
+                });
+            }
+            assertEquals(0, queued.get()); // Nothing is delivered before the next batch
+        });
+        waitFor(5, TimeUnit.SECONDS, () -> executor.getQueueDepth() == 0);
+        waitForFxEvents();
+
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger synchronous = new AtomicInteger();
+        AtomicLong immediateLatency = new AtomicLong();
+        runAndWait(() -> {
+            for (int i = 0; i < emissions; i++) {
+                long emitted = System.nanoTime();
+                Observable.just(i).observeOn(executor.immediateScheduler(FxPriority.NORMAL)).subscribe(value -> {
+                    immediateLatency.addAndGet(System.nanoTime() - emitted);
+                    order.add(value);
+                });
+            }
+            synchronous.set(order.size());
+        });
+
+        assertEquals(emissions, queued.get());
+        assertEquals(emissions, synchronous.get()); // Everything is delivered synchronously
+        assertTrue(executor.getInlinedCount() >= emissions);
+        for (int i = 0; i < emissions; i++) {
+            assertEquals(i, order.get(i));
+        }
+
+        // Queued items wait for the next batch, immediate items are delivered while they are emitted
+        long queuedAverage = queuedLatency.get() / emissions;
+        long immediateAverage = immediateLatency.get() / emissions;
+        assertTrue(queuedAverage > 0, "No latency measured for the queued scheduler");
+        assertTrue(immediateAverage < queuedAverage, "Average latency of the immediate scheduler is " + immediateAverage + "ns, of the queued scheduler " + queuedAverage + "ns");
+
+        // Items emitted from other threads are still queued
+        List<Boolean> fxThread = Collections.synchronizedList(new ArrayList<>());
+        Observable.just(1).observeOn(executor.immediateScheduler(FxPriority.NORMAL)).subscribe(value -> fxThread.add(Platform.isFxApplicationThread()));
+        waitFor(5, TimeUnit.SECONDS, () -> !fxThread.isEmpty());
+        assertEquals(List.of(true), fxThread);
+    }
+
+    /**
+     * Tests if subscribing to the latest value conflates fast emissions and stops when the subscriber is disposed.
+     */
+    @Test
+    public void subscribeLatestTest() throws TimeoutException {
+        int emissions = 100_000;
+        Subscriber subscriber = new Subscriber();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        SimpleObjectProperty<Integer> property = new SimpleObjectProperty<>(-1);
+        PublishSubject<Integer> subject = PublishSubject.create();
+
+        subscriber.subscribeLatest(subject, value -> {
+            assertTrue(Platform.isFxApplicationThread());
+            received.add(value);
+        });
+        subscriber.bindLatest(property, subject);
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < emissions; i++) {
+                subject.onNext(i);
+            }
+        });
+        producer.start();
+        waitFor(5, TimeUnit.SECONDS, () -> !producer.isAlive() && !received.isEmpty() && received.get(received.size() - 1) == emissions - 1);
+        waitForFxEvents();
+
+        assertEquals(emissions - 1, property.get());
+        assertTrue(received.size() < emissions / 10); // Values should have been conflated
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(received.get(i - 1) < received.get(i)); // The order has to be kept
+        }
+
+        subscriber.dispose();
+        int size = received.size();
+        subject.onNext(emissions);
+        waitForFxEvents(3);
+        assertEquals(size, received.size());
+        assertEquals(emissions - 1, property.get());
+        assertFalse(subject.hasObservers());
+    }
+
+    /**
+     * Tests if the property change batcher merges events per property and delivers them together.
+     */
+    @Test
+    public void propertyChangeBatcherTest() throws TimeoutException {
+        PropertyChangeSupport support = new PropertyChangeSupport(this);
+        PropertyChangeBatcher batcher = new PropertyChangeBatcher();
+        List<PropertyChangeEvent> events = Collections.synchronizedList(new ArrayList<>());
+        batcher.listen(support, "a", events::add);
+        batcher.listen(support, "b", events::add);
+
+        runAndWait(() -> batcher.transaction(() -> {
+            support.firePropertyChange("a", 0, 1);
+            support.firePropertyChange("b", "x", "y");
+            support.firePropertyChange("a", 1, 2);
+            support.firePropertyChange("a", 2, 3);
+            assertTrue(events.isEmpty()); // Nothing is delivered during the transaction
+        }));
+
+        assertEquals(2, events.size()); // The events are delivered when the transaction ends
+        assertEquals("a", events.get(0).getPropertyName());
+        assertEquals(0, events.get(0).getOldValue());
+        assertEquals(3, events.get(0).getNewValue());
+        assertEquals("b", events.get(1).getPropertyName());
+        assertEquals(4, batcher.getReceivedCount());
+        assertEquals(2, batcher.getDeliveredCount());
+
+        // Events fired outside the FX thread are delivered on the FX thread in the next pulse
+        events.clear();
+        support.firePropertyChange("a", 3, 4);
+        support.firePropertyChange("a", 4, 3); // Changed back, so there is nothing to deliver
+        support.firePropertyChange("b", "y", "z");
+        waitFor(5, TimeUnit.SECONDS, () -> !events.isEmpty());
+        waitForFxEvents();
+
+        assertEquals(1, events.size());
+        assertEquals("z", events.get(0).getNewValue());
+
+        // Flushing outside the FX thread doesn't deliver the events on the calling thread
+        events.clear();
+        List<Boolean> fxThread = Collections.synchronizedList(new ArrayList<>());
+        batcher.listen(support, "c", event -> fxThread.add(Platform.isFxApplicationThread()));
+        batcher.beginTransaction();
+        support.firePropertyChange("c", 0, 1);
+        batcher.endTransaction();
+        batcher.flush();
+        waitFor(5, TimeUnit.SECONDS, () -> !fxThread.isEmpty());
+        assertEquals(List.of(true), fxThread);
+
+        // Listeners re-firing their own property are continued in the next pulse instead of blocking the FX thread
+        AtomicInteger frames = new AtomicInteger();
+        AnimationTimer counter = frameCounter(frames);
+        List<Integer> deliveries = Collections.synchronizedList(new ArrayList<>());
+        batcher.listen(support, "d", event -> {
+            deliveries.add(frames.get());
+            int value = (int) event.getNewValue();
+            if (value < 50) {
+                support.firePropertyChange("d", value, value + 1);
+            }
+        });
+        runAndWait(() -> {
+            counter.start();
+            support.firePropertyChange("d", 0, 1);
+        });
+        waitFor(5, TimeUnit.SECONDS, () -> deliveries.size() == 50);
+        runAndWait(counter::stop);
+        assertTrue(deliveries.get(0) < deliveries.get(49)); // The delivery spans multiple pulses
+
+        batcher.dispose();
+        assertEquals(0, support.getPropertyChangeListeners().length);
+    }
+
+    @Test
+    public void lifecycleScopeTest() {
+        ObservableList<String> list = FXCollections.observableArrayList("a", "b", "c");
+        runAndWait(() -> app.show("/controller/for", Map.of("list", list)));
+
+        LifecycleScope screen = app.frameworkComponent().controllerManager().getScreenScope();
+        assertEquals(1, screen.getChildren().size());
+        LifecycleScope controller = screen.getChildren().get(0);
+        assertEquals("ForController", controller.getName());
+        assertEquals(1, controller.getSubscriptionCount()); // The For loop added to the subscriber
+
+        // The For loop has been created while rendering the controller and contains the scopes of its components
+        assertEquals(1, controller.getChildren().size());
+        LifecycleScope loop = controller.getChildren().get(0);
+        assertEquals("For", loop.getName());
+        assertEquals(3, loop.getChildren().size());
+        assertEquals(5, controller.getScopeCount());
+
+        runAndWait(() -> list.remove("b"));
+        assertEquals(2, loop.getChildren().size());
+
+        // Components which have to be destroyed manually are not owned by the controller active while creating them
+        List<ButtonSubComponent> manual = new ArrayList<>();
+        runAndWait(() -> app.frameworkComponent().controllerManager().runInScope(controller, () -> manual.add(app.initAndRender(new ButtonSubComponent()))));
+        LifecycleScope manualScope = app.scope(manual.get(0));
+        assertNotNull(manualScope);
+        assertSame(app.rootScope(), manualScope.getParent());
+        assertEquals(2, loop.getChildren().size());
+
+        // Displaying a new controller disposes the subtree, children before their parents
+        List<LifecycleScope> disposed = new ArrayList<>();
+        screen.setDisposeListener(disposed::add);
+        runAndWait(() -> app.show("/controller/basic"));
+        screen.setDisposeListener(null);
+
+        assertTrue(controller.isDisposed());
+        assertTrue(loop.isDisposed());
+        assertNotNull(controller.getDisposeTime());
+        assertEquals(4, disposed.size());
+        assertEquals(loop, disposed.get(2));
+        assertEquals(controller, disposed.get(3));
+        assertEquals(1, screen.getChildren().size()); // Only the new controller
+
+        assertFalse(manualScope.isDisposed());
+        runAndWait(() -> app.destroy(manual.get(0)));
+        assertTrue(manualScope.isDisposed());
+    }
+
+    @Test
+    public void leakDetectorTest() throws InterruptedException {
+        LeakDetector detector = app.leakDetector();
+        detector.setEnabled(true);
+        try {
+            // The component is still referenced by the test after being destroyed
+            BasicComponent retained = new BasicComponent();
+            runAndWait(() -> app.show(retained));
+            runAndWait(() -> app.show("/controller/basic"));
+            assertTrue(detector.getTrackedCount() >= 1);
+
+            List<LeakDetector.Leak> leaks = new ArrayList<>();
+            for (int i = 0; i < 100 && leaks.isEmpty(); i++) {
+                System.gc();
+                Thread.sleep(20);
+                runAndWait(() -> detector.check().stream().filter(l -> l.className().equals(BasicComponent.class.getName())).forEach(leaks::add));
+            }
+
+            assertEquals(1, leaks.size());
+            LeakDetector.Leak leak = leaks.get(0);
+            assertEquals(BasicComponent.class.getName(), leak.className());
+            assertNull(leak.route()); // Shown without a route
+            assertTrue(leak.gcCount() >= LeakDetector.DEFAULT_GC_THRESHOLD);
+            assertTrue(leak.retainedSize() > 0);
+            assertFalse(leak.hint().isEmpty());
+
+            // Leaks are only reported once, but are still returned until the instance is collected
+            List<LeakDetector.Leak> checked = new ArrayList<>();
+            List<LeakDetector.Leak> all = new ArrayList<>();
+            runAndWait(() -> {
+                checked.addAll(detector.check());
+                all.addAll(detector.getLeaks());
+            });
+            assertTrue(checked.stream().noneMatch(l -> l.className().equals(leak.className())));
+            assertTrue(all.stream().anyMatch(l -> l.className().equals(leak.className())));
+            assertNotNull(retained);
+        } finally {
+            detector.setEnabled(false);
+        }
+    }
+
+    @Test
+    public void concurrentListTest() throws InterruptedException {
+        int updates = 50_000;
+
+        // Every update is its own runLater call and its own change
+        ObservableList<Integer> plain = FXCollections.observableArrayList();
+        AtomicInteger plainChanges = new AtomicInteger();
+        plain.addListener((ListChangeListener<Integer>) change -> plainChanges.incrementAndGet());
+        produce(updates, i -> Platform.runLater(() -> plain.add(i)), plain);
+
+        // Updates are queued and applied as one change per pulse
+        ConcurrentObservableList<Integer> concurrent = new ConcurrentObservableList<>();
+        AtomicInteger concurrentChanges = new AtomicInteger();
+        concurrent.addListener((ListChangeListener<Integer>) change -> concurrentChanges.incrementAndGet());
+        produce(updates, concurrent::add, concurrent);
+
+        assertEquals(updates, plainChanges.get());
+        assertTrue(concurrentChanges.get() > 1); // The producer runs for about a second, so it spans multiple pulses
+        assertTrue(concurrentChanges.get() < updates / 100);
+        for (int i = 0; i < updates; i++) {
+            assertEquals(i, concurrent.get(i)); // The order has to be kept
+        }
+    }
+
+    /**
+     * Produces the given amount of updates on a background thread, throttled to 50k updates per second, and waits until all of them have been applied.
+     */
+    private void produce(int updates, IntConsumer update, List<Integer> list) throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            long start = System.nanoTime();
+            for (int i = 0; i < updates; i++) {
+                long delay = start + i * 20_000L - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                update.accept(i);
+            }
+        });
+        producer.start();
+        producer.join();
+        while (list.size() < updates) {
+            waitForFxEvents();
+        }
+    }
+
+    /**
+     * Tests if navigating away from a screen with a large For loop destroys the components in reverse order,
+     * removes their key handlers and detaches pooled components.
+     */
+    @Test
+    public void teardownTest() {
+        ObservableList<String> items = FXCollections.observableArrayList();
+        for (int i = 0; i < 1000; i++) {
+            items.add("Item " + i);
+        }
+        ComponentPool<ButtonSubComponent> pool = new ComponentPool<>(app, ButtonSubComponent::new, items.size());
+        AtomicInteger pressed = new AtomicInteger();
+        List<String> destroyList = new ArrayList<>();
+        List<Node> pooled = new ArrayList<>();
+
+        runAndWait(() -> {
+            Parent parent = app.show("/controller/teardown", Map.of("items", items, "pool", pool, "pressed", pressed, "destroyList", destroyList));
+            pooled.addAll(((VBox) parent.lookup("#pooledContainer")).getChildren());
+        });
+        assertEquals(items.size(), pooled.size());
+
+        runAndWait(() -> Event.fireEvent(app.stage(), new KeyEvent(KeyEvent.KEY_PRESSED, "", "", KeyCode.K, false, false, false, false)));
+        assertEquals(items.size(), pressed.get()); // Every component should have received the event
+
+        runAndWait(() -> app.show("/controller/basic"));
+        List<String> reversed = new ArrayList<>(items);
+        Collections.reverse(reversed);
+        assertEquals(reversed, destroyList); // The components should have been destroyed in reverse order
+
+        runAndWait(() -> Event.fireEvent(app.stage(), new KeyEvent(KeyEvent.KEY_PRESSED, "", "", KeyCode.K, false, false, false, false)));
+        assertEquals(items.size(), pressed.get()); // The key handlers should have been removed
+
+        assertEquals(items.size(), pool.size());
+        for (Node node : pooled) {
+            assertNull(node.getParent()); // Pooled components have to be detached, as they will be added to other containers
+        }
+        runAndWait(pool::dispose);
+    }
+
     @Test
     public void testSubOrder() {
         List<String> initList = new ArrayList<>();
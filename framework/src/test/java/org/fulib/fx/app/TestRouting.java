@@ -39,6 +39,10 @@ public class TestRouting {
     @Route("controller/for")
     Provider<ForController> forControllerProvider;
 
+    @Inject
+    @Route("controller/teardown")
+    Provider<TeardownController> teardownControllerProvider;
+
     @Inject
     @Route("ordertest/main")
     Provider<MainController> mainControllerProvider;
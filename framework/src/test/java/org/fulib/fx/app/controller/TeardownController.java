@@ -0,0 +1,63 @@
+package org.fulib.fx.app.controller;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.Labeled;
+import javafx.scene.layout.VBox;
+import org.fulib.fx.annotation.controller.Controller;
+import org.fulib.fx.annotation.event.OnDestroy;
+import org.fulib.fx.annotation.event.OnRender;
+import org.fulib.fx.annotation.param.Param;
+import org.fulib.fx.app.controller.subcomponent.basic.ButtonSubComponent;
+import org.fulib.fx.app.controller.subcomponent.basic.KeyItemComponent;
+import org.fulib.fx.constructs.ComponentPool;
+import org.fulib.fx.constructs.forloop.FxFor;
+import org.fulib.fx.controller.Subscriber;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Controller(view = "#render")
+public class TeardownController {
+
+    @Inject
+    Provider<KeyItemComponent> keyItemProvider;
+
+    @Inject
+    FxFor fxFor;
+
+    @Inject
+    Subscriber subscriber;
+
+    private VBox keyContainer;
+    private VBox pooledContainer;
+
+    @Inject
+    public TeardownController() {
+    }
+
+    VBox render() {
+        this.keyContainer = new VBox();
+        this.keyContainer.setId("keyContainer");
+        this.pooledContainer = new VBox();
+        this.pooledContainer.setId("pooledContainer");
+
+        return new VBox(keyContainer, pooledContainer);
+    }
+
+    @OnRender
+    public void onRender(@Param("items") ObservableList<String> items, @Param("pool") ComponentPool<ButtonSubComponent> pool,
+                         @Param("pressed") AtomicInteger pressed, @Param("destroyList") List<String> destroyList) {
+        Map<String, Object> params = Map.of("pressed", pressed, "destroyList", destroyList);
+        subscriber.subscribe(fxFor.of(keyContainer, items, keyItemProvider, params, Labeled::setText).disposable());
+        subscriber.subscribe(fxFor.of(pooledContainer, items, pool).disposable());
+    }
+
+    @OnDestroy
+    public void onDestroy() {
+        subscriber.dispose();
+    }
+
+}
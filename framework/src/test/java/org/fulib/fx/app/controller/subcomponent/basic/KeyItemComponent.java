@@ -0,0 +1,37 @@
+package org.fulib.fx.app.controller.subcomponent.basic;
+
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyCode;
+import org.fulib.fx.annotation.controller.Component;
+import org.fulib.fx.annotation.event.OnDestroy;
+import org.fulib.fx.annotation.event.OnKey;
+import org.fulib.fx.annotation.param.Param;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class KeyItemComponent extends Button {
+
+    @Param("pressed")
+    AtomicInteger pressed;
+
+    @Param("destroyList")
+    List<String> destroyList;
+
+    @Inject
+    public KeyItemComponent() {
+    }
+
+    @OnKey(code = KeyCode.K)
+    public void onK() {
+        pressed.incrementAndGet();
+    }
+
+    @OnDestroy
+    public void destroy() {
+        destroyList.add(getText());
+    }
+
+}
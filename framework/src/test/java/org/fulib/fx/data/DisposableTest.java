@@ -4,10 +4,16 @@ import io.reactivex.rxjava3.disposables.Disposable;
 import org.fulib.fx.controller.Subscriber;
 import org.fulib.fx.data.disposable.ItemListDisposable;
 import org.fulib.fx.data.disposable.RefreshableCompositeDisposable;
+import org.fulib.fx.data.disposable.WeakListenerDisposable;
+import org.fulib.fx.scheduler.ScopedExecutor;
 import org.junit.jupiter.api.Test;
 
+import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -107,4 +113,67 @@ public class DisposableTest {
 
     }
 
+    @Test
+    public void scopedExecutorTest() throws InterruptedException {
+        Subscriber subscriber = new Subscriber();
+        ScopedExecutor executor = subscriber.executor();
+        assertSame(executor, subscriber.executor()); // The executor should be reused
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000); // Blocking call
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getActiveCount());
+
+        subscriber.dispose();
+
+        assertTrue(executor.isDisposed()); // The executor should be disposed with the subscriber
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS)); // The running task should have been interrupted
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+        assertNotSame(executor, subscriber.executor()); // A new executor should be created after disposing
+    }
+
+    @Test
+    public void weakListenerTest() throws InterruptedException {
+        PropertyChangeSupport support = new PropertyChangeSupport(this);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Disposed listeners are removed and not counted as collected
+        Subscriber disposed = new Subscriber();
+        disposed.listenWeak(support, "value", event -> calls.incrementAndGet());
+        support.firePropertyChange("value", 0, 1);
+        assertEquals(1, calls.get());
+        disposed.dispose();
+        assertEquals(0, support.getPropertyChangeListeners().length);
+
+        long collected = WeakListenerDisposable.getCollectedCount();
+
+        // Listeners of subscribers which are never disposed don't stay registered
+        Subscriber forgotten = new Subscriber();
+        forgotten.setWeakListeners(true);
+        forgotten.listen(support, "value", event -> calls.incrementAndGet());
+        support.firePropertyChange("value", 1, 2);
+        assertEquals(2, calls.get());
+
+        //noinspection UnusedAssignment
+        forgotten = null;
+        for (int i = 0; i < 100 && WeakListenerDisposable.getCollectedCount() == collected; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(collected + 1, WeakListenerDisposable.getCollectedCount());
+        assertEquals(0, support.getPropertyChangeListeners().length); // The stale wrapper should have been removed
+        support.firePropertyChange("value", 2, 3);
+        assertEquals(2, calls.get());
+    }
+
 }
@@ -2,12 +2,15 @@ package org.fulib.fx.data;
 
 import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -18,12 +21,16 @@ import org.fulib.fx.duplicate.Duplicators;
 import org.junit.jupiter.api.Test;
 import org.testfx.framework.junit5.ApplicationTest;
 
+import java.lang.management.ManagementFactory;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
 
 public class DuplicationTest extends ApplicationTest {
@@ -133,5 +140,218 @@ public class DuplicationTest extends ApplicationTest {
         assertEquals(original.getImage(), copied.getImage());
     }
 
+    @Test
+    public void region() {
+        VBox vBox = new VBox();
+        vBox.setPrefWidth(100);
+        vBox.setMaxHeight(50);
+
+        VBox duplicate = Duplicators.duplicate(vBox);
+
+        assertEquals(100, duplicate.getPrefWidth());
+        assertEquals(50, duplicate.getMaxHeight());
+        assertEquals(100, vBox.getPrefWidth());
+        assertEquals(50, vBox.getMaxHeight());
+    }
+
+    @Test
+    public void subclasses() {
+        // Subclasses use the duplicator of the closest registered superclass
+        CustomButton button = new CustomButton();
+        button.setText("Button");
+        StackPane stackPane = new StackPane(button);
+        stackPane.setPrefWidth(100);
+
+        StackPane duplicate = Duplicators.duplicate(stackPane);
+
+        assertEquals(StackPane.class, duplicate.getClass());
+        assertEquals(100, duplicate.getPrefWidth());
+        assertEquals(1, duplicate.getChildren().size());
+        assertEquals(CustomButton.class, duplicate.getChildren().get(0).getClass());
+        assertEquals("Button", ((Button) duplicate.getChildren().get(0)).getText());
+
+        // Registering a more specific duplicator replaces the resolved one.
+        // The duplicator is registered for a class only used here, as the registry is global.
+        RegisteredButton registered = new RegisteredButton();
+        registered.setText("Button");
+        assertEquals("Button", Duplicators.duplicate(registered).getText());
+        Duplicators.register(RegisteredButton.class, ignored -> new RegisteredButton());
+        assertEquals("", Duplicators.duplicate(registered).getText());
+    }
+
+    public static class CustomButton extends Button {
+    }
+
+    public static class RegisteredButton extends Button {
+    }
+
+    @Test
+    public void sharedValues() {
+        Font font = Font.font(20);
+        Label label = new Label("Label");
+        label.setFont(font);
+        label.setEffect(new DropShadow());
+
+        Label duplicate = Duplicators.duplicate(label);
+
+        assertSame(font, duplicate.getFont());
+        assertSame(label.getEffect(), duplicate.getEffect());
+    }
+
+    @Test
+    public void largeTree() throws ReflectiveOperationException {
+        // 100 rows with 99 labels each, 10000 nodes in total
+        VBox root = new VBox();
+        for (int i = 0; i < 100; i++) {
+            HBox row = new HBox();
+            row.setSpacing(5);
+            for (int j = 0; j < 99; j++) {
+                Label label = new Label("Label " + i + "/" + j);
+                label.setFont(Font.font(12));
+                row.getChildren().add(label);
+            }
+            root.getChildren().add(row);
+        }
+
+        VBox duplicate = Duplicators.duplicate(root);
+
+        assertEquals(100, duplicate.getChildren().size());
+        HBox row = (HBox) duplicate.getChildren().get(99);
+        assertEquals(99, row.getChildren().size());
+        assertEquals("Label 99/98", ((Label) row.getChildren().get(98)).getText());
+
+        // Compare the allocations with duplicating the tree like before default values were skipped
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+        // Warm up both variants so that class loading isn't measured
+        legacyDuplicate(root);
+        Duplicators.duplicate(root);
+
+        long thread = Thread.currentThread().getId();
+
+        long start = bean.getThreadAllocatedBytes(thread);
+        Node legacy = legacyDuplicate(root);
+        long legacyBytes = bean.getThreadAllocatedBytes(thread) - start;
+
+        start = bean.getThreadAllocatedBytes(thread);
+        duplicate = Duplicators.duplicate(root);
+        long duplicatedBytes = bean.getThreadAllocatedBytes(thread) - start;
+
+        assertTrue(legacyBytes > 0, "No allocations measured for the legacy duplication");
+        assertTrue(duplicatedBytes < legacyBytes, "Duplicating 10000 nodes allocated " + duplicatedBytes + " bytes, the legacy duplication " + legacyBytes + " bytes");
+        assertEquals(100, ((VBox) legacy).getChildren().size());
+        assertEquals(100, duplicate.getChildren().size());
+    }
+
+    /**
+     * Duplicates a tree of panes and labels like the duplicators did before default values were skipped:
+     * The constructor is looked up reflectively for every node and every property is set, creating all lazily created properties.
+     */
+    private static Node legacyDuplicate(Node node) throws ReflectiveOperationException {
+        Node newNode = node.getClass().getDeclaredConstructor().newInstance();
+
+        newNode.setAccessibleHelp(node.getAccessibleHelp());
+        newNode.setAccessibleRole(node.getAccessibleRole());
+        newNode.setAccessibleText(node.getAccessibleText());
+        newNode.setAccessibleRoleDescription(node.getAccessibleRoleDescription());
+        newNode.setBlendMode(node.getBlendMode());
+        newNode.setCache(node.isCache());
+        newNode.setClip(node.getClip());
+        newNode.setCursor(node.getCursor());
+        newNode.setCacheHint(node.getCacheHint());
+        newNode.setDepthTest(node.getDepthTest());
+        newNode.setDisable(node.isDisable());
+        newNode.setEffect(node.getEffect());
+        newNode.setEventDispatcher(node.getEventDispatcher());
+        newNode.setFocusTraversable(node.isFocusTraversable());
+        newNode.setId(node.getId());
+        newNode.setInputMethodRequests(node.getInputMethodRequests());
+        newNode.setLayoutX(node.getLayoutX());
+        newNode.setLayoutY(node.getLayoutY());
+        newNode.setManaged(node.isManaged());
+        newNode.setMouseTransparent(node.isMouseTransparent());
+        newNode.setNodeOrientation(node.getNodeOrientation());
+        newNode.setOnDragDetected(node.getOnDragDetected());
+        newNode.setOnDragDone(node.getOnDragDone());
+        newNode.setOnDragDropped(node.getOnDragDropped());
+        newNode.setOnDragEntered(node.getOnDragEntered());
+        newNode.setOnDragExited(node.getOnDragExited());
+        newNode.setOnDragOver(node.getOnDragOver());
+        newNode.setOnInputMethodTextChanged(node.getOnInputMethodTextChanged());
+        newNode.setOnKeyPressed(node.getOnKeyPressed());
+        newNode.setOnKeyReleased(node.getOnKeyReleased());
+        newNode.setOnKeyTyped(node.getOnKeyTyped());
+        newNode.setOnMouseClicked(node.getOnMouseClicked());
+        newNode.setOnMouseDragEntered(node.getOnMouseDragEntered());
+        newNode.setOnMouseDragExited(node.getOnMouseDragExited());
+        newNode.setOnMouseDragged(node.getOnMouseDragged());
+        newNode.setOnMouseDragOver(node.getOnMouseDragOver());
+        newNode.setOnMouseDragReleased(node.getOnMouseDragReleased());
+        newNode.setOnMouseEntered(node.getOnMouseEntered());
+        newNode.setOnMouseExited(node.getOnMouseExited());
+        newNode.setOnMouseMoved(node.getOnMouseMoved());
+        newNode.setOnMousePressed(node.getOnMousePressed());
+        newNode.setOnMouseReleased(node.getOnMouseReleased());
+        newNode.setOnRotate(node.getOnRotate());
+        newNode.setOnRotationFinished(node.getOnRotationFinished());
+        newNode.setOnRotationStarted(node.getOnRotationStarted());
+        newNode.setOnScroll(node.getOnScroll());
+        newNode.setOnScrollFinished(node.getOnScrollFinished());
+        newNode.setOnScrollStarted(node.getOnScrollStarted());
+        newNode.setOnSwipeDown(node.getOnSwipeDown());
+        newNode.setOnSwipeLeft(node.getOnSwipeLeft());
+        newNode.setOnSwipeRight(node.getOnSwipeRight());
+        newNode.setOnSwipeUp(node.getOnSwipeUp());
+        newNode.setOnTouchMoved(node.getOnTouchMoved());
+        newNode.setOnTouchPressed(node.getOnTouchPressed());
+        newNode.setOnTouchReleased(node.getOnTouchReleased());
+        newNode.setOnTouchStationary(node.getOnTouchStationary());
+        newNode.setOnZoom(node.getOnZoom());
+        newNode.setOnZoomFinished(node.getOnZoomFinished());
+        newNode.setOnZoomStarted(node.getOnZoomStarted());
+        newNode.setPickOnBounds(node.isPickOnBounds());
+        newNode.setRotate(node.getRotate());
+        newNode.setRotationAxis(node.getRotationAxis());
+        newNode.setScaleX(node.getScaleX());
+        newNode.setScaleY(node.getScaleY());
+        newNode.setScaleZ(node.getScaleZ());
+        newNode.setStyle(node.getStyle());
+        newNode.setTranslateX(node.getTranslateX());
+        newNode.setTranslateY(node.getTranslateY());
+        newNode.setTranslateZ(node.getTranslateZ());
+        newNode.setUserData(node.getUserData());
+        newNode.setViewOrder(node.getViewOrder());
+        newNode.setVisible(node.isVisible());
+
+        if (node instanceof Labeled labeled) {
+            Labeled newLabeled = (Labeled) newNode;
+            newLabeled.setText(labeled.getText());
+            newLabeled.setAlignment(labeled.getAlignment());
+            newLabeled.setTextAlignment(labeled.getTextAlignment());
+            newLabeled.setTextOverrun(labeled.getTextOverrun());
+            newLabeled.setEllipsisString(labeled.getEllipsisString());
+            newLabeled.setWrapText(labeled.isWrapText());
+            newLabeled.setFont(labeled.getFont());
+            newLabeled.setGraphic(labeled.getGraphic());
+            newLabeled.setUnderline(labeled.isUnderline());
+            newLabeled.setLineSpacing(labeled.getLineSpacing());
+            newLabeled.setContentDisplay(labeled.getContentDisplay());
+            newLabeled.setGraphicTextGap(labeled.getGraphicTextGap());
+            newLabeled.setTextFill(labeled.getTextFill());
+            newLabeled.setMnemonicParsing(labeled.isMnemonicParsing());
+        }
+        if (node instanceof HBox box) {
+            ((HBox) newNode).setSpacing(box.getSpacing());
+        }
+        if (node instanceof Pane pane) {
+            for (Node child : pane.getChildren()) {
+                ((Pane) newNode).getChildren().add(legacyDuplicate(child));
+            }
+        }
+        return newNode;
+    }
+
 
 }
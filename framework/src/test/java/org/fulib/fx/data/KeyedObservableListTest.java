@@ -0,0 +1,114 @@
+package org.fulib.fx.data;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableMap;
+import javafx.collections.ObservableSet;
+import org.junit.jupiter.api.Test;
+
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedObservableListTest {
+
+    @Test
+    public void map() {
+        ObservableMap<Integer, String> map = FXCollections.observableMap(new LinkedHashMap<>());
+        map.put(1, "B");
+        map.put(2, "A");
+
+        KeyedObservableList<Integer, String> list = KeyedObservableList.ofValues(map, Comparator.naturalOrder());
+        AtomicInteger changes = new AtomicInteger();
+        list.addListener((ListChangeListener<String>) change -> changes.incrementAndGet());
+        assertEquals(List.of("A", "B"), list);
+
+        map.put(3, "C");
+        assertEquals(List.of("A", "B", "C"), list);
+
+        map.put(1, "D"); // Moves the value to the end
+        assertEquals(List.of("A", "C", "D"), list);
+        assertEquals(2, list.indexOfKey(1));
+
+        map.remove(2);
+        assertEquals(List.of("C", "D"), list);
+        assertEquals(4, changes.get()); // One change per map change, moving a value is a replacement followed by a permutation
+
+        list.dispose();
+        map.put(4, "E");
+        assertEquals(List.of("C", "D"), list);
+        assertThrows(UnsupportedOperationException.class, () -> list.add("F"));
+    }
+
+    @Test
+    public void move() {
+        ObservableMap<Integer, String> map = FXCollections.observableMap(new LinkedHashMap<>());
+        map.put(1, "A");
+        map.put(2, "B");
+        map.put(3, "C");
+
+        KeyedObservableList<Integer, String> list = KeyedObservableList.ofValues(map, Comparator.naturalOrder());
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    changes.add("permutation " + change.getFrom() + "-" + change.getTo() + " " + change.getPermutation(change.getFrom()));
+                } else if (change.wasReplaced()) {
+                    changes.add("replace " + change.getRemoved() + " " + change.getAddedSubList());
+                } else {
+                    changes.add("other");
+                }
+            }
+        });
+
+        map.put(1, "D"); // Moves the value from the start to the end
+        assertEquals(List.of("B", "C", "D"), list);
+        assertEquals(List.of("replace [A] [D]", "permutation 0-3 2"), changes);
+
+        changes.clear();
+        map.put(1, "0"); // Moves the value back to the start
+        assertEquals(List.of("0", "B", "C"), list);
+        assertEquals(List.of("replace [D] [0]", "permutation 0-3 1"), changes);
+    }
+
+    @Test
+    public void set() {
+        ObservableSet<String> set = FXCollections.observableSet();
+        KeyedObservableList<String, String> list = KeyedObservableList.of(set, null);
+
+        set.add("B");
+        set.add("A");
+        assertEquals(List.of("B", "A"), list); // Insertion order
+
+        set.remove("B");
+        assertEquals(List.of("A"), list);
+    }
+
+    @Test
+    public void association() {
+        // Simulates a fulib to-many association
+        List<String> fields = new ArrayList<>(List.of("A", "B"));
+        PropertyChangeSupport support = new PropertyChangeSupport(this);
+        KeyedObservableList<String, String> list = KeyedObservableList.ofAssociation(support, "fields", fields, null);
+        AtomicInteger changes = new AtomicInteger();
+        list.addListener((ListChangeListener<String>) change -> changes.incrementAndGet());
+        assertEquals(List.of("A", "B"), list);
+
+        fields.add("C");
+        support.firePropertyChange("fields", null, "C");
+        fields.remove("A");
+        support.firePropertyChange("fields", "A", null);
+        support.firePropertyChange("other", null, "D"); // Other properties are ignored
+        assertEquals(fields, list);
+        assertEquals(2, changes.get());
+
+        list.dispose();
+        support.firePropertyChange("fields", null, "E");
+        assertEquals(List.of("B", "C"), list);
+    }
+}
@@ -0,0 +1,103 @@
+package org.fulib.fx.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class LayeredMapTest {
+
+    @Test
+    public void layering() {
+        Map<String, Object> base = new HashMap<>();
+        base.put("item", "base");
+        base.put("other", 1);
+        base.put("empty", null);
+
+        Map<String, Object> map = LayeredMap.of(base, "item", "layer", "list", List.of());
+        assertEquals("base", map.get("item")); // The base map takes precedence
+        assertEquals(List.of(), map.get("list"));
+        assertEquals(1, map.get("other"));
+        assertEquals(4, map.size());
+        assertTrue(map.containsKey("empty"));
+        assertNull(map.get("missing"));
+
+        // Same behaviour as copying and using putIfAbsent
+        Map<String, Object> copy = new HashMap<>(base);
+        copy.putIfAbsent("item", "layer");
+        copy.putIfAbsent("list", List.of());
+        assertEquals(copy, map);
+        assertEquals(map, copy);
+        assertEquals(copy.hashCode(), map.hashCode());
+
+        // Null values in the base map are replaced by layered values
+        assertEquals("value", LayeredMap.of(base, "empty", "value").get("empty"));
+        assertEquals(3, LayeredMap.of(base, "empty", "value").size());
+
+        // Changes to the base map are visible
+        base.remove("item");
+        assertEquals("layer", map.get("item"));
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("item", "other"));
+        assertThrows(IllegalArgumentException.class, () -> LayeredMap.of(base, "item", 1, "item", 2));
+    }
+
+    @Test
+    public void immutableBase() {
+        Map<String, Object> map = LayeredMap.of(Map.of("a", 1), "b", 2);
+        assertEquals(Map.of("a", 1, "b", 2), map);
+        assertFalse(map.containsKey(null)); // Map.of() would throw here
+        assertNull(map.get(null));
+    }
+
+    @Test
+    public void allocations() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < 8; i++) {
+            params.put("param" + i, i);
+        }
+        List<Object> list = List.of();
+        int items = 10_000;
+        Object[] results = new Object[items];
+
+        // Warm up both variants so that class loading isn't measured
+        for (int i = 0; i < items; i++) {
+            results[i] = copy(params, i, list);
+            results[i] = LayeredMap.of(params, "item", i, "list", list);
+        }
+
+        long thread = Thread.currentThread().getId();
+
+        long start = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < items; i++) {
+            results[i] = copy(params, i, list);
+        }
+        long copied = bean.getThreadAllocatedBytes(thread) - start;
+
+        start = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < items; i++) {
+            results[i] = LayeredMap.of(params, "item", i, "list", list);
+        }
+        long layered = bean.getThreadAllocatedBytes(thread) - start;
+
+        assertTrue(copied > 0, "No allocations measured for copied parameters");
+        assertTrue(layered < copied / 2, "Layered parameters allocated " + layered + " bytes, copied parameters " + copied + " bytes");
+        assertEquals(10, ((Map<?, ?>) results[items - 1]).size());
+    }
+
+    private static Map<String, Object> copy(Map<String, Object> params, Object item, Object list) {
+        Map<String, Object> copy = new HashMap<>(params);
+        copy.putIfAbsent("item", item);
+        copy.putIfAbsent("list", list);
+        return copy;
+    }
+}
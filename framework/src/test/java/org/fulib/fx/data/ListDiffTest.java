@@ -0,0 +1,67 @@
+package org.fulib.fx.data;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListDiffTest {
+
+    @Test
+    public void minimalChanges() {
+        ObservableList<String> list = FXCollections.observableArrayList("A", "B", "C", "D", "E");
+        List<String> removed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        list.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+                added.addAll(change.getAddedSubList());
+            }
+        });
+
+        ListDiff<String> diff = ListDiff.compute(List.copyOf(list), List.of("A", "C", "X", "Y", "D", "B"));
+        diff.applyTo(list);
+
+        assertEquals(List.of("A", "C", "X", "Y", "D", "B"), list);
+        assertEquals(List.of("B", "E"), removed.stream().sorted().toList()); // B moved, E removed
+        assertEquals(List.of("B", "X", "Y"), added.stream().sorted().toList());
+
+        assertTrue(ListDiff.compute(List.of("A", "B"), List.of("A", "B")).isEmpty());
+    }
+
+    @Test
+    public void keys() {
+        List<String> list = new ArrayList<>(List.of("1:a", "2:a", "3:a"));
+        ListDiff<String> diff = ListDiff.compute(list, List.of("1:a", "2:b", "3:a"), item -> item.split(":")[0]);
+        assertEquals(1, diff.size()); // Only the changed item is replaced
+        diff.applyTo(list);
+        assertEquals(List.of("1:a", "2:b", "3:a"), list);
+    }
+
+    @Test
+    public void random() {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            values.add(i);
+        }
+
+        for (int run = 0; run < 1000; run++) {
+            Collections.shuffle(values, random);
+            List<Integer> oldList = new ArrayList<>(values.subList(0, random.nextInt(20)));
+            Collections.shuffle(values, random);
+            List<Integer> newList = new ArrayList<>(values.subList(0, random.nextInt(20)));
+
+            List<Integer> list = new ArrayList<>(oldList);
+            ListDiff.compute(oldList, newList).applyTo(list);
+            assertEquals(newList, list);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.fulib.fx.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStatisticTreeTest {
+
+    @Test
+    public void positions() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>();
+        OrderStatisticTree.Handle<String> b = tree.insert(0, "B");
+        OrderStatisticTree.Handle<String> a = tree.insert(0, "A");
+        OrderStatisticTree.Handle<String> c = tree.insert(2, "C");
+
+        assertEquals(3, tree.size());
+        assertEquals("A", tree.get(0));
+        assertEquals(1, tree.indexOf(b));
+        assertEquals(2, tree.indexOf(c));
+
+        tree.remove(a);
+        assertFalse(a.isPresent());
+        assertEquals(0, tree.indexOf(b));
+        assertThrows(IllegalArgumentException.class, () -> tree.indexOf(a));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(2));
+    }
+
+    @Test
+    public void random() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+        List<OrderStatisticTree.Handle<Integer>> expected = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, tree.insert(index, i));
+            } else {
+                OrderStatisticTree.Handle<Integer> handle = expected.remove(random.nextInt(expected.size()));
+                tree.remove(handle);
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        int index = 0;
+        for (Integer value : tree) {
+            assertEquals(expected.get(index).value(), value);
+            assertEquals(index, tree.indexOf(expected.get(index)));
+            assertEquals(value, tree.get(index));
+            index++;
+        }
+    }
+
+    @Test
+    public void sorted() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(100);
+            tree.insert(value, Comparator.naturalOrder());
+            expected.add(value);
+        }
+        Collections.sort(expected);
+
+        List<Integer> actual = new ArrayList<>();
+        tree.forEach(actual::add);
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,117 @@
+package org.fulib.fx.data;
+
+import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectionListTest {
+
+    @Test
+    public void filterAndSort() {
+        ObservableList<Integer> source = FXCollections.observableArrayList(5, 2, 8, 1, 9);
+        ProjectionList<Integer> projection = new ProjectionList<>(source, item -> item > 1, null);
+        assertEquals(List.of(5, 2, 8, 9), projection);
+
+        List<String> changes = new ArrayList<>();
+        projection.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                changes.add(change.wasPermutated() ? "permutated" : change.wasAdded() ? "added" : "removed");
+            }
+        });
+
+        projection.setComparator(Comparator.naturalOrder());
+        assertEquals(List.of(2, 5, 8, 9), projection);
+        assertEquals(List.of("permutated"), changes); // Sorting only moves the items
+
+        source.add(7);
+        source.remove(Integer.valueOf(5));
+        assertEquals(List.of(2, 7, 8, 9), projection);
+
+        changes.clear();
+        projection.setPredicate(item -> item % 2 == 0);
+        assertEquals(List.of(2, 8), projection);
+        assertEquals(List.of("removed", "removed"), changes); // Only the hidden items are removed
+
+        projection.setComparator(null);
+        assertEquals(List.of(2, 8), projection);
+
+        FXCollections.sort(source, Comparator.reverseOrder());
+        assertEquals(List.of(8, 2), projection);
+
+        projection.dispose();
+        source.add(4);
+        assertEquals(List.of(8, 2), projection);
+    }
+
+    @Test
+    public void updatedKey() {
+        IntegerProperty a = new SimpleIntegerProperty(1);
+        IntegerProperty b = new SimpleIntegerProperty(2);
+        IntegerProperty c = new SimpleIntegerProperty(3);
+        ObservableList<IntegerProperty> source = FXCollections.observableArrayList(property -> new Observable[]{property});
+        source.addAll(a, b, c);
+        ProjectionList<IntegerProperty> projection = new ProjectionList<>(source, null, Comparator.comparingInt(IntegerProperty::get));
+
+        List<String> changes = new ArrayList<>();
+        projection.addListener((ListChangeListener<IntegerProperty>) change -> {
+            while (change.next()) {
+                changes.add(change.wasPermutated() ? "permutated" : change.wasUpdated() ? "updated" : change.wasAdded() ? "added" : "removed");
+            }
+        });
+
+        a.set(4); // Moves the item from the start to the end
+        assertEquals(List.of(b, c, a), projection);
+        assertTrue(changes.contains("permutated"));
+        assertFalse(changes.contains("added") || changes.contains("removed")); // The item has to be moved, not removed and added again
+
+        changes.clear();
+        c.set(0); // Moves the item from the middle to the start
+        assertEquals(List.of(c, b, a), projection);
+        assertTrue(changes.contains("permutated"));
+        assertFalse(changes.contains("added") || changes.contains("removed"));
+    }
+
+    @Test
+    public void random() {
+        Random random = new Random(42);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        ProjectionList<Integer> projection = new ProjectionList<>(source, item -> item % 3 != 0, Comparator.naturalOrder());
+        List<Integer> mirror = new ArrayList<>(projection);
+        projection.addListener((ListChangeListener<Integer>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    List<Integer> copy = new ArrayList<>(mirror);
+                    for (int i = change.getFrom(); i < change.getTo(); i++) {
+                        mirror.set(change.getPermutation(i), copy.get(i));
+                    }
+                } else {
+                    mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                    mirror.addAll(change.getFrom(), change.getAddedSubList());
+                }
+            }
+        });
+
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 6 || source.isEmpty()) {
+                source.add(random.nextInt(source.size() + 1), random.nextInt(1000));
+            } else if (operation < 9) {
+                source.remove(random.nextInt(source.size()));
+            } else {
+                projection.setComparator(random.nextBoolean() ? null : Comparator.reverseOrder());
+            }
+            assertEquals(mirror, projection); // The changes have to describe the projection correctly
+        }
+    }
+}
@@ -4,7 +4,6 @@ import de.uniks.ludo.Constants;
 import de.uniks.ludo.LudoUtil;
 import de.uniks.ludo.controller.sub.DiceSubComponent;
 import de.uniks.ludo.model.*;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -103,7 +102,7 @@ public class IngameController extends BaseController {
     void rollDice() {
         if (!this.diceSubComponent.isEnabled()) return;
         LudoUtil.playSound(Constants.SOUND_ROLL_DICES);
-        this.subscriber.subscribe(this.diceSubComponent.roll(), Schedulers.computation(),
+        this.subscriber.subscribe(this.diceSubComponent.roll(), this.subscriber.backgroundScheduler(),
                 eyes -> {
                     this.eyes.set(eyes);
                     if (this.gameService.stuck(this.currentPlayer.get(), eyes)) {
@@ -137,7 +136,7 @@ public class IngameController extends BaseController {
     void setupPieceMovements() {
         this.game.getPlayers().forEach(player ->
                 player.getPieces().forEach(piece ->
-                        this.subscriber.listen(
+                        this.subscriber.listenBatched(
                                 piece.listeners(),
                                 Piece.PROPERTY_ON,
                                 evt -> {
@@ -163,7 +162,14 @@ public class IngameController extends BaseController {
                     // When the circle is clicked, the piece is moved to the field
                     circle.setOnMouseClicked(click -> {
                         if (player == this.currentPlayer.get() && this.eyes.get() != 0) {
-                            boolean won = this.gameService.movePiece(piece, field);
+                            // Moving a piece can send another piece home, update both circles at once
+                            boolean won;
+                            this.subscriber.batcher().beginTransaction();
+                            try {
+                                won = this.gameService.movePiece(piece, field);
+                            } finally {
+                                this.subscriber.batcher().endTransaction();
+                            }
                             LudoUtil.playSound(Constants.SOUND_PLACE_PIECE);
                             // If the player won, the game over screen is shown
                             if (won) {